@@ -0,0 +1,100 @@
+package org.bitbucket.pablo127.gpigvalidator.processor;
+
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+
+/**
+ * Constraints of a single field collected from its annotations.
+ */
+final class ConstrainedFieldModel {
+
+    private final String name;
+    private final TypeMirror type;
+
+    private boolean charSequence;
+    private String accessExpression;
+    private boolean notNull;
+    private boolean size;
+    private int sizeMin;
+    private int sizeMax;
+    private boolean email;
+
+    /**
+     * @param type - type of the field as a member of the validated class
+     */
+    ConstrainedFieldModel(VariableElement field, TypeMirror type) {
+        this.name = field.getSimpleName().toString();
+        this.type = type;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    TypeMirror getType() {
+        return type;
+    }
+
+    boolean isPrimitive() {
+        return type.getKind().isPrimitive();
+    }
+
+    boolean isArray() {
+        return type.getKind() == TypeKind.ARRAY;
+    }
+
+    boolean isCharSequence() {
+        return charSequence;
+    }
+
+    void setCharSequence() {
+        this.charSequence = true;
+    }
+
+    boolean isConstrained() {
+        return notNull || size || email;
+    }
+
+    String getAccessExpression() {
+        return accessExpression;
+    }
+
+    void setAccessExpression(String accessExpression) {
+        this.accessExpression = accessExpression;
+    }
+
+    boolean isNotNull() {
+        return notNull;
+    }
+
+    void setNotNull() {
+        this.notNull = true;
+    }
+
+    boolean isSize() {
+        return size;
+    }
+
+    int getSizeMin() {
+        return sizeMin;
+    }
+
+    int getSizeMax() {
+        return sizeMax;
+    }
+
+    void setSize(int min, int max) {
+        this.size = true;
+        this.sizeMin = min;
+        this.sizeMax = max;
+    }
+
+    boolean isEmail() {
+        return email;
+    }
+
+    void setEmail() {
+        this.email = true;
+    }
+}
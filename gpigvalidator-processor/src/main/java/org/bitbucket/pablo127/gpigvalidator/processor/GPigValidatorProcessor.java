@@ -0,0 +1,357 @@
+package org.bitbucket.pablo127.gpigvalidator.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates {@code GeneratedValidator} implementations for classes with fields annotated with
+ * {@code @NotNull}, {@code @Size} or {@code @Email}. Usage of these annotations on fields of types
+ * they can never accept is reported as a compilation error.
+ * <p>
+ * Class is skipped (with a note) when its constrained fields cannot be read directly from the generated class,
+ * which is in the package of the class, or when a field carries another annotation kept at runtime, because
+ * only validators known at runtime can check it. Such classes are validated with reflection as before.
+ * <p>
+ * Fields inherited from superclasses are checked too, except fields hidden by a field with the same name
+ * in a subclass. Wrong usage of annotations is reported only on the class which declares the field.
+ * {@code @Valid} does not prevent generation, because cascaded objects are validated by their own validators.
+ * Classes with {@code @Utf8} fields are validated at runtime, where bytes of the fields are read as text.
+ */
+@SupportedAnnotationTypes({
+        GPigValidatorProcessor.NOT_NULL,
+        GPigValidatorProcessor.SIZE,
+        GPigValidatorProcessor.EMAIL,
+        GPigValidatorProcessor.UTF8
+})
+public class GPigValidatorProcessor extends AbstractProcessor {
+
+    static final String NOT_NULL = "javax.validation.constraints.NotNull";
+    static final String SIZE = "javax.validation.constraints.Size";
+    static final String EMAIL = "org.hibernate.validator.constraints.Email";
+    static final String VALID = "javax.validation.Valid";
+    static final String UTF8 = "org.bitbucket.pablo127.gpigvalidator.Utf8";
+
+    private static final String CHAR_SEQUENCE = "java.lang.CharSequence";
+    private static final String ITERABLE = "java.lang.Iterable";
+    private static final String MAP = "java.util.Map";
+
+    private static final String GENERATED_VALIDATOR_SUFFIX = "GPigValidator";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        Set<TypeElement> classes = new LinkedHashSet<>();
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() == ElementKind.FIELD)
+                    classes.add((TypeElement) element.getEnclosingElement());
+            }
+        }
+
+        for (TypeElement clazz : classes)
+            processClass(clazz);
+
+        return false;
+    }
+
+    private void processClass(TypeElement clazz) {
+        List<ConstrainedFieldModel> constrainedFields = new ArrayList<>();
+        boolean generatable = isAccessibleClass(clazz);
+        boolean correct = true;
+
+        for (VariableElement field : getVisibleFields(clazz)) {
+            boolean declared = field.getEnclosingElement().equals(clazz);
+            TypeMirror fieldType = getFieldType(clazz, field);
+            ConstrainedFieldModel constrainedField = new ConstrainedFieldModel(field, fieldType);
+            if (isAssignableToErasure(fieldType, CHAR_SEQUENCE))
+                constrainedField.setCharSequence();
+
+            boolean utf8 = hasAnnotation(field, UTF8);
+
+            for (AnnotationMirror annotation : field.getAnnotationMirrors()) {
+                String annotationName = getQualifiedName(annotation);
+                switch (annotationName) {
+                    case NOT_NULL:
+                        constrainedField.setNotNull();
+                        break;
+                    case SIZE:
+                        correct &= !declared || checkSizeUsage(field, annotation);
+                        generatable &= isSizeGeneratable(fieldType);
+                        constrainedField.setSize(
+                                getIntValue(annotation, "min"),
+                                getIntValue(annotation, "max"));
+                        break;
+                    case EMAIL:
+                        correct &= !declared || utf8 || checkEmailUsage(field, annotation);
+                        generatable &= constrainedField.isCharSequence();
+                        constrainedField.setEmail();
+                        break;
+                    case VALID:
+                        // objects in the field are validated by the runtime, next to the generated checks
+                        break;
+                    case UTF8:
+                        correct &= !declared || checkUtf8Usage(field, annotation);
+                        note(field, "Field with @Utf8 is checked only at runtime.");
+                        generatable = false;
+                        break;
+                    default:
+                        if (isKeptAtRuntime(annotation)) {
+                            note(field, "Annotation " + annotationName + " is checked only at runtime.");
+                            generatable = false;
+                        }
+                }
+            }
+
+            if (constrainedField.isConstrained()) {
+                String accessExpression = getAccessExpression(clazz, field);
+                if (accessExpression == null) {
+                    note(field, "Field cannot be read from the generated validator.");
+                    generatable = false;
+                } else if (fieldType.getKind() == TypeKind.TYPEVAR) {
+                    note(field, "Type of the field is a type variable.");
+                    generatable = false;
+                }
+                constrainedField.setAccessExpression(accessExpression);
+                constrainedFields.add(constrainedField);
+            }
+        }
+
+        if (correct && generatable)
+            writeGeneratedValidator(clazz, constrainedFields);
+    }
+
+    private boolean checkSizeUsage(VariableElement field, AnnotationMirror annotation) {
+        TypeMirror type = field.asType();
+        if (type.getKind().isPrimitive() || isFinalClassNotAssignableTo(type, CHAR_SEQUENCE, ITERABLE, MAP)) {
+            error(field, annotation, "@Size is supported only on CharSequence, arrays, Iterable and Map.");
+            return false;
+        }
+        return true;
+    }
+
+    private boolean checkEmailUsage(VariableElement field, AnnotationMirror annotation) {
+        TypeMirror type = field.asType();
+        if (type.getKind().isPrimitive() || type.getKind() == TypeKind.ARRAY
+                || isFinalClassNotAssignableTo(type, CHAR_SEQUENCE)) {
+            error(field, annotation, "@Email is supported only on CharSequence.");
+            return false;
+        }
+        return true;
+    }
+
+    private boolean checkUtf8Usage(VariableElement field, AnnotationMirror annotation) {
+        TypeMirror type = field.asType();
+        boolean bytes = type.getKind() == TypeKind.ARRAY
+                && ((ArrayType) type).getComponentType().getKind() == TypeKind.BYTE;
+        if (!bytes && !isAssignableToErasure(type, "java.nio.ByteBuffer")) {
+            error(field, annotation, "@Utf8 is supported only on byte[] and ByteBuffer.");
+            return false;
+        }
+        return true;
+    }
+
+    private boolean isSizeGeneratable(TypeMirror type) {
+        boolean map = isAssignableToErasure(type, MAP);
+        boolean iterable = isAssignableToErasure(type, ITERABLE);
+        return isAssignableToErasure(type, CHAR_SEQUENCE)
+                || type.getKind() == TypeKind.ARRAY
+                || map != iterable;
+    }
+
+    private boolean isAccessibleClass(TypeElement clazz) {
+        Element element = clazz;
+        while (element.getKind().isClass() || element.getKind().isInterface()) {
+            TypeElement typeElement = (TypeElement) element;
+            if (typeElement.getModifiers().contains(Modifier.PRIVATE)
+                    || !typeElement.getTypeParameters().isEmpty()) {
+                note(clazz, "Validator can be generated only for non-private, non-generic classes.");
+                return false;
+            }
+            if (typeElement.getNestingKind().isNested() && !typeElement.getModifiers().contains(Modifier.STATIC)) {
+                note(clazz, "Validator can be generated only for top-level and static nested classes.");
+                return false;
+            }
+            element = element.getEnclosingElement();
+        }
+        return true;
+    }
+
+    /**
+     * @return expression reading the field in the generated validator, or null if the field cannot be read there;
+     * getters are not used, because they can return something else than the field checked at runtime
+     */
+    private String getAccessExpression(TypeElement clazz, VariableElement field) {
+        if (!isAccessible(clazz, field))
+            return null;
+
+        String receiver = field.getModifiers().contains(Modifier.STATIC)
+                ? clazz.getQualifiedName().toString()
+                : "object";
+        return receiver + "." + field.getSimpleName();
+    }
+
+    /**
+     * @return fields of the class and its superclasses not hidden by a field of a subclass, from the topmost
+     * superclass down
+     */
+    private List<VariableElement> getVisibleFields(TypeElement clazz) {
+        List<TypeElement> hierarchy = new ArrayList<>();
+        for (TypeElement type = clazz; type != null && !type.getQualifiedName().contentEquals("java.lang.Object");
+             type = getSuperclass(type))
+            hierarchy.add(type);
+
+        Set<String> fieldNames = new HashSet<>();
+        List<List<VariableElement>> fieldsOfTypes = new ArrayList<>(hierarchy.size());
+        for (TypeElement type : hierarchy) {
+            List<VariableElement> fieldsOfType = new ArrayList<>();
+            for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+                if (fieldNames.add(field.getSimpleName().toString()))
+                    fieldsOfType.add(field);
+            }
+            fieldsOfTypes.add(fieldsOfType);
+        }
+
+        List<VariableElement> fields = new ArrayList<>();
+        for (int i = fieldsOfTypes.size() - 1; i >= 0; i--)
+            fields.addAll(fieldsOfTypes.get(i));
+        return fields;
+    }
+
+    private TypeElement getSuperclass(TypeElement clazz) {
+        TypeMirror superclass = clazz.getSuperclass();
+        return superclass.getKind() == TypeKind.DECLARED
+                ? (TypeElement) processingEnv.getTypeUtils().asElement(superclass)
+                : null;
+    }
+
+    private TypeMirror getFieldType(TypeElement clazz, VariableElement field) {
+        return processingEnv.getTypeUtils().asMemberOf((DeclaredType) clazz.asType(), field);
+    }
+
+    /**
+     * @return true if the member can be used from the generated validator, which is in the package of the class
+     */
+    private boolean isAccessible(TypeElement clazz, Element member) {
+        Set<Modifier> modifiers = member.getModifiers();
+        if (modifiers.contains(Modifier.PUBLIC))
+            return true;
+        if (modifiers.contains(Modifier.PRIVATE))
+            return false;
+
+        Elements elements = processingEnv.getElementUtils();
+        return elements.getPackageOf(member).equals(elements.getPackageOf(clazz));
+    }
+
+    private void writeGeneratedValidator(TypeElement clazz, List<ConstrainedFieldModel> constrainedFields) {
+        Elements elements = processingEnv.getElementUtils();
+        String packageName = elements.getPackageOf(clazz).getQualifiedName().toString();
+        String generatedSimpleName = getNestedSimpleName(clazz) + GENERATED_VALIDATOR_SUFFIX;
+        String generatedName = packageName.isEmpty()
+                ? generatedSimpleName
+                : packageName + "." + generatedSimpleName;
+
+        try {
+            JavaFileObject sourceFile = processingEnv.getFiler().createSourceFile(generatedName, clazz);
+            try (Writer writer = sourceFile.openWriter()) {
+                new GeneratedValidatorWriter(packageName, generatedSimpleName, clazz.getQualifiedName().toString(),
+                        constrainedFields)
+                        .write(writer);
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Cannot write " + generatedName + ": " + e.getMessage(), clazz);
+        }
+    }
+
+    private String getNestedSimpleName(TypeElement clazz) {
+        String simpleName = clazz.getSimpleName().toString();
+        Element enclosingElement = clazz.getEnclosingElement();
+        return enclosingElement instanceof TypeElement
+                ? getNestedSimpleName((TypeElement) enclosingElement) + "_" + simpleName
+                : simpleName;
+    }
+
+    private boolean isKeptAtRuntime(AnnotationMirror annotation) {
+        Retention retention = annotation.getAnnotationType().asElement().getAnnotation(Retention.class);
+        return retention != null && retention.value() == RetentionPolicy.RUNTIME;
+    }
+
+    /**
+     * @return true if values of the type can never be instances of the given classes
+     */
+    private boolean isFinalClassNotAssignableTo(TypeMirror type, String... classNames) {
+        if (type.getKind() != TypeKind.DECLARED)
+            return false;
+        for (String className : classNames) {
+            if (isAssignableToErasure(type, className))
+                return false;
+        }
+
+        Element element = processingEnv.getTypeUtils().asElement(type);
+        return element.getModifiers().contains(Modifier.FINAL);
+    }
+
+    private boolean isAssignableToErasure(TypeMirror type, String className) {
+        Types types = processingEnv.getTypeUtils();
+        TypeElement typeElement = processingEnv.getElementUtils().getTypeElement(className);
+        return typeElement != null
+                && types.isAssignable(types.erasure(type), types.erasure(typeElement.asType()));
+    }
+
+    private static boolean hasAnnotation(Element element, String annotationName) {
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            if (getQualifiedName(annotation).equals(annotationName))
+                return true;
+        }
+        return false;
+    }
+
+    private static String getQualifiedName(AnnotationMirror annotation) {
+        return ((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().toString();
+    }
+
+    private int getIntValue(AnnotationMirror annotation, String name) {
+        Map<? extends ExecutableElement, ? extends AnnotationValue> values =
+                processingEnv.getElementUtils().getElementValuesWithDefaults(annotation);
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : values.entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name))
+                return (Integer) entry.getValue().getValue();
+        }
+        throw new IllegalArgumentException("No attribute " + name + " in " + getQualifiedName(annotation));
+    }
+
+    private void note(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                "GPigValidator is not generated: " + message, element);
+    }
+
+    private void error(Element element, AnnotationMirror annotation, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element, annotation);
+    }
+}
@@ -0,0 +1,127 @@
+package org.bitbucket.pablo127.gpigvalidator.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Writes source of a {@code GeneratedValidator} with straight-line checks of all constrained fields.
+ */
+final class GeneratedValidatorWriter {
+
+    private static final String GENERATED_VALIDATOR = "org.bitbucket.pablo127.gpigvalidator.GeneratedValidator";
+    private static final String CONSTRAINT_CHECKS = "org.bitbucket.pablo127.gpigvalidator.constraint.ConstraintChecks";
+
+    private final String packageName;
+    private final String simpleName;
+    private final String validatedClassName;
+    private final List<ConstrainedFieldModel> constrainedFields;
+
+    private final StringBuilder source = new StringBuilder();
+
+    GeneratedValidatorWriter(String packageName, String simpleName, String validatedClassName,
+                             List<ConstrainedFieldModel> constrainedFields) {
+        this.packageName = packageName;
+        this.simpleName = simpleName;
+        this.validatedClassName = validatedClassName;
+        this.constrainedFields = constrainedFields;
+    }
+
+    void write(Writer writer) throws IOException {
+        if (!packageName.isEmpty())
+            line("package " + packageName + ";").line("");
+
+        line("/**");
+        line(" * Generated by gpigvalidator-processor from {@link " + validatedClassName + "}. Do not edit.");
+        line(" */");
+        line("public final class " + simpleName + " implements " + GENERATED_VALIDATOR
+                + "<" + validatedClassName + "> {");
+        line("");
+        writeConstrainedFieldNames();
+        line("");
+        writeGetFieldValue();
+        line("");
+        writeIsCorrect();
+        line("}");
+
+        writer.write(source.toString());
+    }
+
+    private void writeConstrainedFieldNames() {
+        line("    private static final java.util.List<java.lang.String> CONSTRAINED_FIELD_NAMES =");
+        StringBuilder names = new StringBuilder();
+        for (ConstrainedFieldModel constrainedField : constrainedFields) {
+            if (names.length() > 0)
+                names.append(", ");
+            names.append('"').append(constrainedField.getName()).append('"');
+        }
+        line("            java.util.Collections.unmodifiableList(java.util.Arrays.<java.lang.String>asList("
+                + names + "));");
+        line("");
+        line("    @Override");
+        line("    public java.util.List<java.lang.String> getConstrainedFieldNames() {");
+        line("        return CONSTRAINED_FIELD_NAMES;");
+        line("    }");
+    }
+
+    private void writeGetFieldValue() {
+        line("    @Override");
+        line("    public java.lang.Object getFieldValue(" + validatedClassName + " object, int fieldIndex) {");
+        line("        switch (fieldIndex) {");
+        for (int i = 0; i < constrainedFields.size(); i++) {
+            line("            case " + i + ":");
+            line("                return " + constrainedFields.get(i).getAccessExpression() + ";");
+        }
+        line("            default:");
+        line("                throw new java.lang.IndexOutOfBoundsException(\"Field index: \" + fieldIndex);");
+        line("        }");
+        line("    }");
+    }
+
+    private void writeIsCorrect() {
+        line("    @Override");
+        line("    public boolean isCorrect(" + validatedClassName + " object) {");
+        for (int i = 0; i < constrainedFields.size(); i++)
+            writeChecks(constrainedFields.get(i), "value" + i);
+        line("        return true;");
+        line("    }");
+    }
+
+    private void writeChecks(ConstrainedFieldModel constrainedField, String variable) {
+        if (constrainedField.isPrimitive())
+            return;
+
+        line("        " + constrainedField.getType() + " " + variable + " = "
+                + constrainedField.getAccessExpression() + ";");
+
+        if (constrainedField.isNotNull())
+            returnFalseIf(variable + " == null");
+        if (constrainedField.isSize()) {
+            String size = variable + "Size";
+            returnFalseIf(variable + " == null");
+            line("        int " + size + " = " + getSizeExpression(constrainedField, variable) + ";");
+            returnFalseIf(size + " < " + constrainedField.getSizeMin() + " || " + size + " > "
+                    + constrainedField.getSizeMax());
+        }
+        if (constrainedField.isEmail())
+            returnFalseIf(variable + " == null || !" + CONSTRAINT_CHECKS + ".isEmail(" + variable + ")");
+    }
+
+    private String getSizeExpression(ConstrainedFieldModel constrainedField, String variable) {
+        if (constrainedField.isArray())
+            return variable + ".length";
+        if (constrainedField.isCharSequence())
+            return variable + ".length()";
+        return CONSTRAINT_CHECKS + ".getSize(" + variable + ", " + constrainedField.getSizeMax() + ")";
+    }
+
+    private void returnFalseIf(String condition) {
+        line("        if (" + condition + ")");
+        line("            return false;");
+    }
+
+    private GeneratedValidatorWriter line(String line) {
+        source.append(line).append('\n');
+        return this;
+    }
+}
@@ -0,0 +1,369 @@
+package org.bitbucket.pablo127.gpigvalidator.processor;
+
+import com.google.common.base.Joiner;
+import org.bitbucket.pablo127.gpigvalidator.GeneratedValidator;
+import org.bitbucket.pablo127.gpigvalidator.Validator;
+import org.hibernate.validator.constraints.Email;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.tools.*;
+import javax.validation.constraints.NotNull;
+import java.io.File;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class GPigValidatorProcessorTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File outputDirectory;
+    private DiagnosticCollector<JavaFileObject> diagnostics;
+
+    @Before
+    public void setUp() throws Exception {
+        outputDirectory = temporaryFolder.newFolder();
+        diagnostics = new DiagnosticCollector<>();
+    }
+
+    @Test
+    public void validatorForPackagePrivateFields() throws Exception {
+        assertTrue(compile("sample.Person",
+                "package sample;",
+                "public class Person {",
+                "    @javax.validation.constraints.NotNull",
+                "    @javax.validation.constraints.Size(min = 1, max = 3)",
+                "    String name;",
+                "    @org.hibernate.validator.constraints.Email",
+                "    protected String email;",
+                "    private int age;",
+                "    public Person(String name, String email) { this.name = name; this.email = email; }",
+                "}"));
+
+        ClassLoader classLoader = createClassLoader();
+        GeneratedValidator<Object> generatedValidator = loadGeneratedValidator(classLoader, "sample.PersonGPigValidator");
+        Class<?> personClass = classLoader.loadClass("sample.Person");
+
+        Object correctPerson = personClass.getConstructor(String.class, String.class).newInstance("ab", "a@as.pl");
+        Object personWithLongName = personClass.getConstructor(String.class, String.class).newInstance("abcd", "a@as.pl");
+        Object personWithWrongEmail = personClass.getConstructor(String.class, String.class).newInstance("ab", "a@aspl");
+
+        assertEquals(Arrays.asList("name", "email"), generatedValidator.getConstrainedFieldNames());
+        assertEquals("ab", generatedValidator.getFieldValue(correctPerson, 0));
+        assertEquals("a@as.pl", generatedValidator.getFieldValue(correctPerson, 1));
+        assertTrue(generatedValidator.isCorrect(correctPerson));
+        assertFalse(generatedValidator.isCorrect(personWithLongName));
+        assertFalse(generatedValidator.isCorrect(personWithWrongEmail));
+
+        assertTrue(Validator.isCorrectObject(correctPerson));
+        assertFalse(Validator.isCorrectObject(personWithLongName));
+        assertEquals(
+                Collections.singleton("name"),
+                Validator.validateWithErrorMessages(personWithLongName).keySet());
+    }
+
+    @Test
+    public void validatorForNestedClassWithCollections() throws Exception {
+        assertTrue(compile("sample.Order",
+                "package sample;",
+                "public class Order {",
+                "    public static class Lines {",
+                "        @javax.validation.constraints.Size(max = 2)",
+                "        java.util.List<String> lines = new java.util.ArrayList<>();",
+                "        @javax.validation.constraints.Size(min = 1)",
+                "        String[] codes = new String[1];",
+                "        @javax.validation.constraints.Size(max = 1)",
+                "        java.util.Map<String, String> attributes = new java.util.HashMap<>();",
+                "    }",
+                "}"));
+
+        ClassLoader classLoader = createClassLoader();
+        GeneratedValidator<Object> generatedValidator =
+                loadGeneratedValidator(classLoader, "sample.Order_LinesGPigValidator");
+
+        assertTrue(generatedValidator.isCorrect(classLoader.loadClass("sample.Order$Lines").newInstance()));
+    }
+
+    @Test
+    public void validatorWithFieldsOfSuperclasses() throws Exception {
+        assertTrue(compile(Arrays.asList(
+                new SourceFile("base.Named",
+                        "package base;",
+                        "public class Named<T> {",
+                        "    @javax.validation.constraints.NotNull",
+                        "    public T name;",
+                        "    @javax.validation.constraints.NotNull",
+                        "    private String hidden = \"hidden\";",
+                        "    public Named(T name) { this.name = name; }",
+                        "}"),
+                new SourceFile("sample.Person",
+                        "package sample;",
+                        "public class Person extends base.Named<String> {",
+                        "    @org.hibernate.validator.constraints.Email",
+                        "    String email;",
+                        "    String hidden;",
+                        "    public Person(String name, String email) { super(name); this.email = email; }",
+                        "}"))));
+
+        ClassLoader classLoader = createClassLoader();
+        GeneratedValidator<Object> generatedValidator = loadGeneratedValidator(classLoader, "sample.PersonGPigValidator");
+        Class<?> personClass = classLoader.loadClass("sample.Person");
+
+        Object correctPerson = personClass.getConstructor(String.class, String.class).newInstance("ab", "a@as.pl");
+        Object personWithoutName = personClass.getConstructor(String.class, String.class).newInstance(null, "a@as.pl");
+
+        assertEquals(Arrays.asList("name", "email"), generatedValidator.getConstrainedFieldNames());
+        assertTrue(generatedValidator.isCorrect(correctPerson));
+        assertFalse(generatedValidator.isCorrect(personWithoutName));
+        assertFalse(Validator.isCorrectObject(personWithoutName));
+    }
+
+    @Test
+    public void noValidatorForPackagePrivateFieldOfSuperclassInOtherPackage() {
+        assertTrue(compile(Arrays.asList(
+                new SourceFile("base.Named",
+                        "package base;",
+                        "public class Named {",
+                        "    @javax.validation.constraints.NotNull",
+                        "    String name;",
+                        "}"),
+                new SourceFile("sample.Person",
+                        "package sample;",
+                        "public class Person extends base.Named {",
+                        "    @javax.validation.constraints.NotNull",
+                        "    String email;",
+                        "}"))));
+
+        assertTrue(new File(outputDirectory, "base/NamedGPigValidator.class").exists());
+        assertFalse(new File(outputDirectory, "sample/PersonGPigValidator.class").exists());
+    }
+
+    @Test
+    public void validatorForClassWithCascadedField() throws Exception {
+        assertTrue(compile("sample.Order",
+                "package sample;",
+                "public class Order {",
+                "    @javax.validation.constraints.NotNull",
+                "    String number = \"1\";",
+                "    @javax.validation.Valid",
+                "    Order parent;",
+                "}"));
+
+        GeneratedValidator<Object> generatedValidator =
+                loadGeneratedValidator(createClassLoader(), "sample.OrderGPigValidator");
+
+        assertEquals(Collections.singletonList("number"), generatedValidator.getConstrainedFieldNames());
+    }
+
+    @Test
+    public void validatorForPrimitiveArrays() throws Exception {
+        assertTrue(compile("sample.Payload",
+                "package sample;",
+                "public class Payload {",
+                "    @javax.validation.constraints.Size(max = 2)",
+                "    byte[] bytes = new byte[2];",
+                "    @javax.validation.constraints.Size(min = 1)",
+                "    long[] values = new long[0];",
+                "}"));
+
+        ClassLoader classLoader = createClassLoader();
+        GeneratedValidator<Object> generatedValidator = loadGeneratedValidator(classLoader, "sample.PayloadGPigValidator");
+
+        assertFalse(generatedValidator.isCorrect(classLoader.loadClass("sample.Payload").newInstance()));
+    }
+
+    @Test
+    public void validatorWithBoundedSizeOfIterables() throws Exception {
+        assertTrue(compile("sample.Queues",
+                "package sample;",
+                "public class Queues {",
+                "    @javax.validation.constraints.Size(max = 2)",
+                "    java.util.concurrent.ConcurrentLinkedQueue<String> queue = new java.util.concurrent.ConcurrentLinkedQueue<>(",
+                "            java.util.Collections.nCopies(3, \"a\"));",
+                "    @javax.validation.constraints.Size(max = 2)",
+                "    Iterable<String> iterable = java.util.Collections.nCopies(2, \"a\");",
+                "}"));
+
+        ClassLoader classLoader = createClassLoader();
+        GeneratedValidator<Object> generatedValidator = loadGeneratedValidator(classLoader, "sample.QueuesGPigValidator");
+
+        assertFalse(generatedValidator.isCorrect(classLoader.loadClass("sample.Queues").newInstance()));
+    }
+
+    @Test
+    public void validatorForCharSequences() throws Exception {
+        assertTrue(compile("sample.Message",
+                "package sample;",
+                "public class Message {",
+                "    @javax.validation.constraints.Size(max = 3)",
+                "    StringBuilder body = new StringBuilder(\"abc\");",
+                "    @org.hibernate.validator.constraints.Email",
+                "    CharSequence sender;",
+                "    public Message(String sender) { this.sender = java.nio.CharBuffer.wrap(sender); }",
+                "}"));
+
+        ClassLoader classLoader = createClassLoader();
+        GeneratedValidator<Object> generatedValidator = loadGeneratedValidator(classLoader, "sample.MessageGPigValidator");
+        Class<?> messageClass = classLoader.loadClass("sample.Message");
+
+        assertTrue(generatedValidator.isCorrect(messageClass.getConstructor(String.class).newInstance("a@as.pl")));
+        assertFalse(generatedValidator.isCorrect(messageClass.getConstructor(String.class).newInstance("a@aspl")));
+    }
+
+    @Test
+    public void noValidatorForUtf8Fields() {
+        assertTrue(compile("sample.Packet",
+                "package sample;",
+                "public class Packet {",
+                "    @org.bitbucket.pablo127.gpigvalidator.Utf8",
+                "    @org.hibernate.validator.constraints.Email",
+                "    byte[] email;",
+                "    @org.bitbucket.pablo127.gpigvalidator.Utf8",
+                "    @javax.validation.constraints.Size(max = 2)",
+                "    java.nio.ByteBuffer name;",
+                "}"));
+
+        assertFalse(new File(outputDirectory, "sample/PacketGPigValidator.class").exists());
+    }
+
+    @Test
+    public void utf8OnString() {
+        assertFalse(compile("sample.Packet",
+                "package sample;",
+                "public class Packet {",
+                "    @org.bitbucket.pablo127.gpigvalidator.Utf8",
+                "    String name;",
+                "}"));
+
+        assertError("@Utf8 is supported only on byte[] and ByteBuffer.");
+    }
+
+    @Test
+    public void emailOnInteger() {
+        assertFalse(compile("sample.Person",
+                "package sample;",
+                "public class Person {",
+                "    @org.hibernate.validator.constraints.Email",
+                "    Integer email;",
+                "}"));
+
+        assertError("@Email is supported only on CharSequence.");
+    }
+
+    @Test
+    public void sizeOnPrimitive() {
+        assertFalse(compile("sample.Person",
+                "package sample;",
+                "public class Person {",
+                "    @javax.validation.constraints.Size(max = 2)",
+                "    int age;",
+                "}"));
+
+        assertError("@Size is supported only on CharSequence, arrays, Iterable and Map.");
+    }
+
+    @Test
+    public void noValidatorForPrivateFieldWithGetter() {
+        assertTrue(compile("sample.Person",
+                "package sample;",
+                "public class Person {",
+                "    @javax.validation.constraints.NotNull",
+                "    private String name;",
+                "    public String getName() { return name == null ? \"unknown\" : name; }",
+                "}"));
+
+        assertFalse(new File(outputDirectory, "sample/PersonGPigValidator.class").exists());
+    }
+
+    @Test
+    public void noValidatorForOtherRuntimeAnnotation() {
+        assertTrue(compile("sample.Person",
+                "package sample;",
+                "public class Person {",
+                "    @javax.validation.constraints.NotNull",
+                "    @javax.validation.constraints.Max(2)",
+                "    Long number;",
+                "}"));
+
+        assertFalse(new File(outputDirectory, "sample/PersonGPigValidator.class").exists());
+    }
+
+    @Test
+    public void noValidatorForPrivateClass() {
+        assertTrue(compile("sample.Outer",
+                "package sample;",
+                "public class Outer {",
+                "    private static class Inner {",
+                "        @javax.validation.constraints.NotNull",
+                "        String name;",
+                "    }",
+                "}"));
+
+        assertFalse(new File(outputDirectory, "sample/Outer_InnerGPigValidator.class").exists());
+    }
+
+    private boolean compile(String className, String... sourceLines) {
+        return compile(Collections.singletonList(new SourceFile(className, sourceLines)));
+    }
+
+    private boolean compile(List<SourceFile> sourceFiles) {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        List<String> options = Arrays.asList(
+                "-d", outputDirectory.getPath(),
+                "-classpath", getClasspath());
+
+        JavaCompiler.CompilationTask task = compiler.getTask(null, null, diagnostics, options, null, sourceFiles);
+        task.setProcessors(Collections.singletonList(new GPigValidatorProcessor()));
+        return task.call();
+    }
+
+    private String getClasspath() {
+        List<String> entries = new ArrayList<>();
+        for (Class<?> clazz : Arrays.asList(GeneratedValidator.class, NotNull.class, Email.class, Joiner.class))
+            entries.add(clazz.getProtectionDomain().getCodeSource().getLocation().getPath());
+        return Joiner.on(File.pathSeparator).join(entries);
+    }
+
+    private ClassLoader createClassLoader() throws Exception {
+        return new URLClassLoader(new URL[]{outputDirectory.toURI().toURL()}, getClass().getClassLoader());
+    }
+
+    @SuppressWarnings("unchecked")
+    private GeneratedValidator<Object> loadGeneratedValidator(ClassLoader classLoader, String className)
+            throws Exception {
+        return (GeneratedValidator<Object>) classLoader.loadClass(className).newInstance();
+    }
+
+    private void assertError(String message) {
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            if (diagnostic.getKind() == Diagnostic.Kind.ERROR && diagnostic.getMessage(null).equals(message))
+                return;
+        }
+        fail("No error: " + message + " in " + diagnostics.getDiagnostics());
+    }
+
+    private static class SourceFile extends SimpleJavaFileObject {
+
+        private final String source;
+
+        SourceFile(String className, String... sourceLines) {
+            super(URI.create("string:///" + className.replace('.', '/') + Kind.SOURCE.extension), Kind.SOURCE);
+            this.source = Joiner.on('\n').join(sourceLines);
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return source;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package org.bitbucket.pablo127.gpigvalidator;
+
+import org.openjdk.jmh.annotations.*;
+
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validation of 100k beans, 30% of them incorrect, on pools of 1 to 8 threads compared to a loop over
+ * {@link Validator#validateWithResult(Object)}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BatchValidationBenchmark {
+
+    private static final int BEAN_COUNT = 100000;
+
+    @Param({"1", "2", "4", "8"})
+    private int threads;
+
+    private List<Bean> beans;
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setUp() {
+        beans = new ArrayList<>(BEAN_COUNT);
+        for (int i = 0; i < BEAN_COUNT; i++) {
+            beans.add(i % 10 < 3
+                    ? new Bean("name" + i, "a@aspl")
+                    : new Bean("name" + i, "name" + i + "@example.com"));
+        }
+        pool = new ForkJoinPool(threads);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public BatchValidationResult validateAll() {
+        return Validator.validateAll(beans, pool);
+    }
+
+    @Benchmark
+    public int loop() {
+        int failedCount = 0;
+        for (Bean bean : beans) {
+            if (!Validator.validateWithResult(bean).isValid())
+                failedCount++;
+        }
+        return failedCount;
+    }
+
+    private static class Bean {
+
+        @NotNull
+        @Size(min = 1, max = 20)
+        private final String name;
+
+        @org.hibernate.validator.constraints.Email
+        private final String email;
+
+        Bean(String name, String email) {
+            this.name = name;
+            this.email = email;
+        }
+    }
+}
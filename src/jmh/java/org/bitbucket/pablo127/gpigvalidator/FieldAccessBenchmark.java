@@ -0,0 +1,73 @@
+package org.bitbucket.pablo127.gpigvalidator;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading all fields of a 20-field bean with {@link Field#get(Object)} compared to the method handle
+ * getters held by {@link ConstrainedField}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FieldAccessBenchmark {
+
+    private TwentyFieldsBean bean;
+    private Field[] fields;
+    private ConstrainedField[] constrainedFields;
+
+    @Setup
+    public void setUp() {
+        bean = new TwentyFieldsBean();
+        fields = TwentyFieldsBean.class.getDeclaredFields();
+        constrainedFields = new ConstrainedField[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            fields[i].setAccessible(true);
+            constrainedFields[i] = new ConstrainedField(fields[i], Collections.<FieldConstraint>emptyList());
+        }
+    }
+
+    @Benchmark
+    public void fieldGet(Blackhole blackhole) throws IllegalAccessException {
+        for (Field field : fields)
+            blackhole.consume(field.get(bean));
+    }
+
+    @Benchmark
+    public void methodHandleGetter(Blackhole blackhole) {
+        for (ConstrainedField constrainedField : constrainedFields)
+            blackhole.consume(constrainedField.getValue(bean));
+    }
+
+    private static class TwentyFieldsBean {
+        private String field1 = "value";
+        private String field2 = "value";
+        private String field3 = "value";
+        private String field4 = "value";
+        private String field5 = "value";
+        private String field6 = "value";
+        private String field7 = "value";
+        private String field8 = "value";
+        private List<String> field9 = new ArrayList<>();
+        private List<String> field10 = new ArrayList<>();
+        private Object field11 = new Object();
+        private Object field12 = new Object();
+        private String[] field13 = new String[3];
+        private String[] field14 = new String[3];
+        private int field15 = 15;
+        private int field16 = 16;
+        private long field17 = 17L;
+        private long field18 = 18L;
+        private boolean field19 = true;
+        private double field20 = 20.0;
+    }
+}
@@ -0,0 +1,117 @@
+package org.bitbucket.pablo127.gpigvalidator;
+
+import org.openjdk.jmh.annotations.*;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validation of a catalog with 200k nested items, 30% of them incorrect, split into fork-join tasks on pools
+ * of 1 to 8 threads compared to the sequential traversal. The nested store holds the same number of items
+ * in 400 catalogs of 500 items and is validated with parallel threshold of 100, so both levels of collections
+ * are split.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GraphValidationBenchmark {
+
+    private static final int ITEM_COUNT = 200000;
+    private static final int NESTED_CATALOG_SIZE = 500;
+    private static final int NESTED_THRESHOLD = 100;
+
+    @Param({"1", "2", "4", "8"})
+    private int threads;
+
+    private Catalog catalog;
+    private Store store;
+    private ValidatorEngine engine;
+    private ValidatorEngine nestedEngine;
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setUp() {
+        List<Item> items = new ArrayList<>(ITEM_COUNT);
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            items.add(i % 10 < 3
+                    ? new Item("name" + i, "a@aspl")
+                    : new Item("name" + i, "name" + i + "@example.com"));
+        }
+        catalog = new Catalog(items);
+        List<Catalog> catalogs = new ArrayList<>(ITEM_COUNT / NESTED_CATALOG_SIZE);
+        for (int i = 0; i < ITEM_COUNT; i += NESTED_CATALOG_SIZE)
+            catalogs.add(new Catalog(items.subList(i, i + NESTED_CATALOG_SIZE)));
+        store = new Store(catalogs);
+        engine = ValidatorEngine.builder().build();
+        nestedEngine = ValidatorEngine.builder().parallelThreshold(NESTED_THRESHOLD).build();
+        pool = new ForkJoinPool(threads);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public ValidationResult validateInParallel() {
+        return engine.validateInParallel(catalog, pool);
+    }
+
+    @Benchmark
+    public ValidationResult validateSequentially() {
+        return engine.validateWithResult(catalog);
+    }
+
+    @Benchmark
+    public ValidationResult validateNestedInParallel() {
+        return nestedEngine.validateInParallel(store, pool);
+    }
+
+    @Benchmark
+    public ValidationResult validateNestedSequentially() {
+        return nestedEngine.validateWithResult(store);
+    }
+
+    private static class Store {
+
+        @Valid
+        private final List<Catalog> catalogs;
+
+        Store(List<Catalog> catalogs) {
+            this.catalogs = catalogs;
+        }
+    }
+
+    private static class Catalog {
+
+        @Valid
+        private final List<Item> items;
+
+        Catalog(List<Item> items) {
+            this.items = items;
+        }
+    }
+
+    private static class Item {
+
+        @NotNull
+        @Size(min = 1, max = 20)
+        private final String name;
+
+        @org.hibernate.validator.constraints.Email
+        private final String email;
+
+        Item(String name, String email) {
+            this.name = name;
+            this.email = email;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package org.bitbucket.pablo127.gpigvalidator;
+
+import org.bitbucket.pablo127.gpigvalidator.exception.Stackless;
+import org.bitbucket.pablo127.gpigvalidator.exception.ValidationException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creating a custom ValidationException reflectively, through the cached constructor handle and without
+ * stack trace.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidationExceptionBenchmark {
+
+    private static final String MESSAGE = "Field 'email' with value 'a@aspl' should be email but it is not.";
+
+    @Benchmark
+    public ValidationException reflectiveConstructor() throws ReflectiveOperationException {
+        return BenchmarkValidationException.class.getDeclaredConstructor(String.class).newInstance(MESSAGE);
+    }
+
+    @Benchmark
+    public ValidationException cachedConstructor() {
+        return ConstructorValidationExceptionFactory.INSTANCE.create(BenchmarkValidationException.class, MESSAGE);
+    }
+
+    @Benchmark
+    public ValidationException cachedConstructorStackless() {
+        return ConstructorValidationExceptionFactory.INSTANCE.create(StacklessBenchmarkValidationException.class, MESSAGE);
+    }
+
+    public static class BenchmarkValidationException extends ValidationException {
+        public BenchmarkValidationException(String message) {
+            super(message);
+        }
+    }
+
+    @Stackless
+    public static class StacklessBenchmarkValidationException extends ValidationException {
+        public StacklessBenchmarkValidationException(String message) {
+            super(message);
+        }
+    }
+}
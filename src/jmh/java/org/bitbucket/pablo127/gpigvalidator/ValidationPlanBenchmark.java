@@ -0,0 +1,103 @@
+package org.bitbucket.pablo127.gpigvalidator;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import org.bitbucket.pablo127.gpigvalidator.constraint.ConstraintValidator;
+import org.bitbucket.pablo127.gpigvalidator.constraint.EmailValidator;
+import org.bitbucket.pablo127.gpigvalidator.constraint.NotNullValidator;
+import org.bitbucket.pablo127.gpigvalidator.constraint.SizeValidator;
+import org.hibernate.validator.constraints.Email;
+import org.openjdk.jmh.annotations.*;
+
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Steady-state cost of validating a correct object with the cached validation plan compared to
+ * reflection repeated on every call, as it was done before plans were introduced.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidationPlanBenchmark {
+
+    private Person person;
+
+    @Setup
+    public void setUp() {
+        person = new Person("John", "Smith", "john.smith@example.com", "Main Street 1");
+    }
+
+    @Benchmark
+    public boolean isCorrectObjectWithPlan() {
+        return Validator.isCorrectObject(person);
+    }
+
+    @Benchmark
+    public Map<String, String> validateWithErrorMessagesWithPlan() {
+        return Validator.validateWithErrorMessages(person);
+    }
+
+    @Benchmark
+    public Map<String, String> validateWithErrorMessagesWithReflectionPerCall() throws IllegalAccessException {
+        Map<String, String> errors = new HashMap<>();
+        for (Field field : person.getClass().getDeclaredFields()) {
+            for (Annotation annotation : field.getAnnotations()) {
+                field.setAccessible(true);
+                Optional<String> errorOpt = findValidator(annotation.annotationType())
+                        .getErrorMessage(field.get(person), annotation);
+                if (errorOpt.isPresent())
+                    errors.put(field.getName(), errorOpt.get());
+            }
+        }
+        return errors;
+    }
+
+    private static ConstraintValidator findValidator(Class<? extends Annotation> annotationType) {
+        List<ConstraintValidator> validators = ImmutableList.of(
+                new NotNullValidator(),
+                new EmailValidator(),
+                new SizeValidator());
+        for (ConstraintValidator validator : validators) {
+            if (annotationType.equals(validator.getAnnotationType()))
+                return validator;
+        }
+        throw new IllegalStateException();
+    }
+
+    public static class Person {
+
+        @NotNull
+        @Size(min = 1, max = 50)
+        private final String firstName;
+
+        @NotNull
+        @Size(min = 1, max = 50)
+        private final String lastName;
+
+        @NotNull
+        @Email
+        private final String email;
+
+        @Size(max = 100)
+        private final String address;
+
+        private final int age = 30;
+
+        public Person(String firstName, String lastName, String email, String address) {
+            this.firstName = firstName;
+            this.lastName = lastName;
+            this.email = email;
+            this.address = address;
+        }
+    }
+}
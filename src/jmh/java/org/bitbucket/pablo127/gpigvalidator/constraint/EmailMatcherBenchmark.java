@@ -0,0 +1,40 @@
+package org.bitbucket.pablo127.gpigvalidator.constraint;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Throughput of {@link EmailMatcher} compared to precompiled {@link EmailValidator#EMAIL_PATTERN}
+ * on correct and incorrect emails.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmailMatcherBenchmark {
+
+    private static final Pattern EMAIL_REGEX = Pattern.compile(EmailValidator.EMAIL_PATTERN);
+
+    @Param({
+            "john.smith@example.com",
+            "very.long.local.part.with.many.segments@mail.server.example.com",
+            "john.smith@example",
+            "john.smith.example.com",
+            "aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa@a.a.a.a.a.a.a.a.a.a.a.a.a.a.a1"
+    })
+    private String email;
+
+    @Benchmark
+    public boolean emailMatcher() {
+        return EmailMatcher.matches(email);
+    }
+
+    @Benchmark
+    public boolean precompiledRegex() {
+        return EMAIL_REGEX.matcher(email).matches();
+    }
+}
@@ -0,0 +1,63 @@
+package org.bitbucket.pablo127.gpigvalidator.constraint;
+
+import com.google.common.base.Strings;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of matching with {@link java.util.regex.Pattern} and with {@link LinearPattern}: a pattern which
+ * backtracks catastrophically on values of given length which do not match, and a typical pattern on a value
+ * which matches.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LinearPatternBenchmark {
+
+    private static final String NESTED_REPETITION = "(a+)+b";
+    private static final String CODE = "[A-Z]{2}-\\d+(-[a-z]+)?";
+    private static final String CODE_VALUE = "PL-127-gpig";
+
+    @Param({"8", "16", "24"})
+    private int length;
+
+    private String value;
+
+    private CompiledPattern jdkNestedRepetition;
+    private CompiledPattern linearNestedRepetition;
+    private CompiledPattern jdkCode;
+    private CompiledPattern linearCode;
+
+    @Setup
+    public void setUp() {
+        value = Strings.repeat("a", length);
+        jdkNestedRepetition = new JdkPattern(NESTED_REPETITION, 0, Integer.MAX_VALUE);
+        linearNestedRepetition = LinearPattern.compile(NESTED_REPETITION, 0).get();
+        jdkCode = new JdkPattern(CODE, 0, Integer.MAX_VALUE);
+        linearCode = LinearPattern.compile(CODE, 0).get();
+    }
+
+    @Benchmark
+    public boolean jdkNestedRepetition() {
+        return jdkNestedRepetition.matches(value);
+    }
+
+    @Benchmark
+    public boolean linearNestedRepetition() {
+        return linearNestedRepetition.matches(value);
+    }
+
+    @Benchmark
+    public boolean jdkCode() {
+        return jdkCode.matches(CODE_VALUE);
+    }
+
+    @Benchmark
+    public boolean linearCode() {
+        return linearCode.matches(CODE_VALUE);
+    }
+}
@@ -0,0 +1,109 @@
+package org.bitbucket.pablo127.gpigvalidator.constraint;
+
+import org.openjdk.jmh.annotations.*;
+
+import javax.validation.Payload;
+import javax.validation.constraints.Pattern;
+import java.lang.annotation.Annotation;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of checking a value with {@link PatternValidator} when fields use given number of distinct patterns:
+ * through the validator, which looks the pattern up in the shared cache, through the check compiled
+ * for the field, and with the pattern compiled on every call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PatternValidatorBenchmark {
+
+    private static final String VALUE = "PL-127";
+
+    @Param({"1", "10", "1000"})
+    private int patterns;
+
+    private final PatternValidator patternValidator = new PatternValidator();
+
+    private Pattern[] annotations;
+    private ConstraintCheck[] checks;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        annotations = new Pattern[patterns];
+        checks = new ConstraintCheck[patterns];
+        for (int i = 0; i < patterns; i++) {
+            annotations[i] = new PatternAnnotation("[A-Z]{2}-\\d+(-" + i + ")?");
+            checks[i] = ConstraintChecks.compile(patternValidator, annotations[i]).get();
+        }
+    }
+
+    @Benchmark
+    public boolean validator() {
+        return patternValidator.isCorrect(VALUE, nextAnnotation());
+    }
+
+    @Benchmark
+    public boolean compiledCheck() {
+        return checks[nextIndex()].isCorrect(VALUE);
+    }
+
+    @Benchmark
+    public boolean compileOnEveryCall() {
+        return java.util.regex.Pattern.compile(nextAnnotation().regexp()).matcher(VALUE).matches();
+    }
+
+    private Pattern nextAnnotation() {
+        return annotations[nextIndex()];
+    }
+
+    private int nextIndex() {
+        int current = index;
+        index = current + 1 == patterns ? 0 : current + 1;
+        return current;
+    }
+
+    @SuppressWarnings("ClassExplicitlyAnnotation")
+    private static final class PatternAnnotation implements Pattern {
+
+        private final String regexp;
+
+        private PatternAnnotation(String regexp) {
+            this.regexp = regexp;
+        }
+
+        @Override
+        public String regexp() {
+            return regexp;
+        }
+
+        @Override
+        public Flag[] flags() {
+            return new Flag[0];
+        }
+
+        @Override
+        public String message() {
+            return "{javax.validation.constraints.Pattern.message}";
+        }
+
+        @Override
+        public Class<?>[] groups() {
+            return new Class<?>[0];
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Class<? extends Payload>[] payload() {
+            return new Class[0];
+        }
+
+        @Override
+        public Class<? extends Annotation> annotationType() {
+            return Pattern.class;
+        }
+    }
+}
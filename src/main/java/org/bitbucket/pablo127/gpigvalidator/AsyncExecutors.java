@@ -0,0 +1,71 @@
+package org.bitbucket.pablo127.gpigvalidator;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Default executor of asynchronous validation: a virtual thread per task when the JVM has virtual threads
+ * (JDK 21+), otherwise a pool with one daemon thread per processor and a bounded queue of waiting tasks.
+ * When the queue is full, the thread which submits a task runs it itself, so submitting faster than validating
+ * slows down the caller instead of filling the memory with waiting tasks.
+ */
+final class AsyncExecutors {
+
+    private static final String VIRTUAL_THREAD_FACTORY_METHOD = "newVirtualThreadPerTaskExecutor";
+    private static final int QUEUED_TASKS_PER_THREAD = 256;
+
+    private AsyncExecutors() {
+    }
+
+    static Executor getDefaultExecutor() {
+        return DefaultExecutorHolder.EXECUTOR;
+    }
+
+    static ExecutorService createDefaultExecutor() {
+        try {
+            Method factoryMethod = Executors.class.getMethod(VIRTUAL_THREAD_FACTORY_METHOD);
+            return (ExecutorService) factoryMethod.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            int threads = Runtime.getRuntime().availableProcessors();
+            return createBoundedPool(threads, threads * QUEUED_TASKS_PER_THREAD);
+        }
+    }
+
+    /**
+     * @param threads - maximal number of threads
+     * @param queueCapacity - maximal number of tasks waiting for a thread; further tasks run in the submitting thread
+     */
+    static ThreadPoolExecutor createBoundedPool(int threads, int queueCapacity) {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<Runnable>(queueCapacity), new DaemonThreadFactory(),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    private static final class DaemonThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger threadNumber = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "gpigvalidator-async-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+    /**
+     * Executor is created when an object is validated asynchronously with the default executor for the first time.
+     */
+    private static final class DefaultExecutorHolder {
+        private static final ExecutorService EXECUTOR = createDefaultExecutor();
+    }
+}
@@ -0,0 +1,70 @@
+package org.bitbucket.pablo127.gpigvalidator;
+
+import com.google.common.base.Preconditions;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Results of validation of a list of objects. Only results of incorrect objects are kept, together with
+ * a bitset of their indices.
+ */
+public final class BatchValidationResult {
+
+    private final int size;
+    private final BitSet failedIndices;
+    private final int[] failedIndexArray;
+    private final ValidationResult[] failedResults;
+
+    BatchValidationResult(int size, int[] failedIndexArray, ValidationResult[] failedResults) {
+        this.size = size;
+        this.failedIndexArray = failedIndexArray;
+        this.failedResults = failedResults;
+
+        this.failedIndices = new BitSet(size);
+        for (int failedIndex : failedIndexArray)
+            failedIndices.set(failedIndex);
+    }
+
+    /**
+     * @return number of validated objects
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isValid() {
+        return failedIndexArray.length == 0;
+    }
+
+    public int getFailedCount() {
+        return failedIndexArray.length;
+    }
+
+    /**
+     * @return copy of set of indices of incorrect objects
+     */
+    public BitSet getFailedIndices() {
+        return (BitSet) failedIndices.clone();
+    }
+
+    public boolean isValid(int index) {
+        Preconditions.checkElementIndex(index, size);
+        return !failedIndices.get(index);
+    }
+
+    /**
+     * @return result of object with given index; shared result without violations if object is correct
+     */
+    public ValidationResult getResult(int index) {
+        if (isValid(index))
+            return ValidationResult.valid();
+
+        return failedResults[Arrays.binarySearch(failedIndexArray, index)];
+    }
+
+    @Override
+    public String toString() {
+        return "BatchValidationResult{size=" + size + ", failedIndices=" + failedIndices + "}";
+    }
+}
@@ -0,0 +1,161 @@
+package org.bitbucket.pablo127.gpigvalidator;
+
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.Uninterruptibles;
+import org.bitbucket.pablo127.gpigvalidator.exception.InternalException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Validates a list in contiguous chunks. Every chunk is validated by one task, which keeps only results
+ * of incorrect objects; the caller validates the last chunk itself and merges results in index order.
+ * <p>
+ * The caller does not wait for chunks which no thread of the executor has started, but validates them itself.
+ * So a batch validated from inside a task of a bounded executor, with all its threads busy, cannot deadlock
+ * waiting for its own queued chunks. When any chunk fails, chunks not started yet are cancelled.
+ */
+final class BatchValidator {
+
+    private static final int MIN_CHUNK_SIZE = 256;
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private BatchValidator() {
+    }
+
+    static ForkJoinPool getDefaultExecutor() {
+        return DefaultPoolHolder.POOL;
+    }
+
+    static BatchValidationResult validateAll(ValidatorEngine engine, List<?> objects, Executor executor) {
+        final List<?> randomAccessObjects = objects instanceof RandomAccess
+                ? objects
+                : new ArrayList<>(objects);
+        int size = randomAccessObjects.size();
+
+        int chunkCount = Math.max(1, Math.min(
+                size / MIN_CHUNK_SIZE,
+                getParallelism(executor) * CHUNKS_PER_THREAD));
+        List<FutureTask<ChunkResult>> chunkTasks = new ArrayList<>(chunkCount - 1);
+        try {
+            for (int i = 0; i < chunkCount - 1; i++) {
+                FutureTask<ChunkResult> chunkTask = createChunkTask(engine, randomAccessObjects,
+                        getChunkStart(size, chunkCount, i), getChunkStart(size, chunkCount, i + 1));
+                chunkTasks.add(chunkTask);
+                executor.execute(chunkTask);
+            }
+            ChunkResult lastChunkResult = validateChunk(engine, randomAccessObjects,
+                    getChunkStart(size, chunkCount, chunkCount - 1), size);
+
+            List<ChunkResult> chunkResults = new ArrayList<>(chunkCount);
+            for (FutureTask<ChunkResult> chunkTask : chunkTasks) {
+                // does nothing if a thread of the executor has already taken the task
+                chunkTask.run();
+                chunkResults.add(getChunkResult(chunkTask));
+            }
+            chunkResults.add(lastChunkResult);
+
+            return merge(size, chunkResults);
+        } catch (RuntimeException | Error e) {
+            cancel(chunkTasks);
+            throw e;
+        }
+    }
+
+    private static int getParallelism(Executor executor) {
+        return executor instanceof ForkJoinPool
+                ? ((ForkJoinPool) executor).getParallelism()
+                : Runtime.getRuntime().availableProcessors();
+    }
+
+    private static int getChunkStart(int size, int chunkCount, int chunkIndex) {
+        return (int) ((long) size * chunkIndex / chunkCount);
+    }
+
+    private static FutureTask<ChunkResult> createChunkTask(final ValidatorEngine engine, final List<?> objects,
+                                                           final int start, final int end) {
+        return new FutureTask<>(new Callable<ChunkResult>() {
+            @Override
+            public ChunkResult call() {
+                return validateChunk(engine, objects, start, end);
+            }
+        });
+    }
+
+    private static ChunkResult validateChunk(ValidatorEngine engine, List<?> objects, int start, int end) {
+        ChunkResult chunkResult = new ChunkResult();
+        for (int i = start; i < end; i++) {
+            ValidationResult result = engine.validateWithResult(objects.get(i));
+            if (!result.isValid())
+                chunkResult.add(i, result);
+        }
+        return chunkResult;
+    }
+
+    private static ChunkResult getChunkResult(FutureTask<ChunkResult> chunkTask) {
+        try {
+            return Uninterruptibles.getUninterruptibly(chunkTask);
+        } catch (ExecutionException e) {
+            Throwables.propagateIfPossible(e.getCause());
+            throw new InternalException(e.getCause());
+        }
+    }
+
+    /**
+     * Chunks which are not started yet are never validated; running ones are left to finish on their own,
+     * because validation does not respond to interruption.
+     */
+    private static void cancel(List<FutureTask<ChunkResult>> chunkTasks) {
+        for (FutureTask<ChunkResult> chunkTask : chunkTasks)
+            chunkTask.cancel(false);
+    }
+
+    private static BatchValidationResult merge(int size, List<ChunkResult> chunkResults) {
+        int failedCount = 0;
+        for (ChunkResult chunkResult : chunkResults)
+            failedCount += chunkResult.count;
+
+        int[] failedIndices = new int[failedCount];
+        ValidationResult[] failedResults = new ValidationResult[failedCount];
+        int position = 0;
+        for (ChunkResult chunkResult : chunkResults) {
+            System.arraycopy(chunkResult.indices, 0, failedIndices, position, chunkResult.count);
+            System.arraycopy(chunkResult.results, 0, failedResults, position, chunkResult.count);
+            position += chunkResult.count;
+        }
+
+        return new BatchValidationResult(size, failedIndices, failedResults);
+    }
+
+    private static final class ChunkResult {
+
+        private int[] indices = new int[0];
+        private ValidationResult[] results = new ValidationResult[0];
+        private int count;
+
+        void add(int index, ValidationResult result) {
+            if (count == indices.length) {
+                int capacity = Math.max(8, count * 2);
+                indices = Arrays.copyOf(indices, capacity);
+                results = Arrays.copyOf(results, capacity);
+            }
+            indices[count] = index;
+            results[count] = result;
+            count++;
+        }
+    }
+
+    /**
+     * Pool is created when a batch or a graph is validated with the default pool for the first time.
+     */
+    private static final class DefaultPoolHolder {
+        private static final ForkJoinPool POOL = new ForkJoinPool();
+    }
+}
@@ -0,0 +1,375 @@
+package org.bitbucket.pablo127.gpigvalidator;
+
+import com.google.common.base.Function;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
+
+/**
+ * Walks the validated object and objects reachable from it through fields annotated with
+ * {@link javax.validation.Valid}. Values of such fields are validated as objects; if a value is a {@link Map},
+ * an {@link Iterable} or an array of objects, its values or elements are validated instead. Values of types
+ * of the Java platform, like strings or boxed numbers, are not visited.
+ * <p>
+ * Traversal is depth-first, with fields in order of the validation plan and elements in iteration order.
+ * It uses an explicit stack, so depth of the graph is not limited by the stack of the thread. Each object is
+ * visited once, at the first path it is found, which also stops cycles. Nothing is allocated for objects
+ * without cascaded values.
+ * <p>
+ * Large collections and arrays can be handed to a {@link Splitter}, which walks parts of them in other threads.
+ */
+final class CascadingTraversal {
+
+    private CascadingTraversal() {
+    }
+
+    interface ObjectVisitor {
+
+        /**
+         * @param path - path of the object; null for the validated object
+         * @return false to stop the traversal
+         */
+        boolean visit(Object object, ValidationPlan validationPlan, PropertyPath path);
+    }
+
+    /**
+     * Walks elements of large collections and arrays, e.g. in parallel.
+     */
+    interface Splitter<V extends ObjectVisitor> {
+
+        /**
+         * @return minimal number of elements of a collection or an array handed to the splitter
+         */
+        int getThreshold();
+
+        /**
+         * Walk elements and objects reachable from them, skipping visited objects, as
+         * {@link #traverseElements(List, int, PropertyPath, String, Function, ObjectVisitor, Splitter, VisitedObjects)}
+         * does. Results of the walk are passed to the visitor and objects it visited are added to visited objects,
+         * as a sequential walk would have visited them, before the method returns.
+         * @return false if the walk was stopped; true otherwise
+         */
+        boolean visitElements(List<?> elements, PropertyPath parent, String fieldName, VisitedObjects visitedObjects,
+                              V visitor);
+    }
+
+    /**
+     * @return false if the visitor stopped the traversal; true otherwise
+     */
+    static boolean traverse(Object objectToValidate, Function<Object, ValidationPlan> validationPlanProvider,
+                            ObjectVisitor visitor) {
+        return traverse(objectToValidate, validationPlanProvider, visitor, null);
+    }
+
+    /**
+     * @param splitter - walks large collections and arrays; null to walk them as other values
+     * @return false if the visitor stopped the traversal; true otherwise
+     */
+    static <V extends ObjectVisitor> boolean traverse(Object objectToValidate,
+                                                       Function<Object, ValidationPlan> validationPlanProvider,
+                                                       V visitor, Splitter<V> splitter) {
+        ValidationPlan validationPlan = validationPlanProvider.apply(objectToValidate);
+        if (!visitor.visit(objectToValidate, validationPlan, null))
+            return false;
+
+        Deque<Cascade> cascades = pushCascades(null, objectToValidate, validationPlan, null, splitter);
+        if (cascades == null)
+            return true;
+
+        VisitedObjects visitedObjects = new VisitedObjects(null);
+        visitedObjects.add(objectToValidate);
+        return traverse(cascades, validationPlanProvider, visitor, splitter, visitedObjects);
+    }
+
+    /**
+     * Walk part of elements of a collection or an array and objects reachable from them.
+     * @param elements - part of elements
+     * @param firstIndex - index of the first element of the part in the whole collection or array
+     * @param visitedObjects - objects of the part, created with objects visited before it; objects visited
+     * by the part are added to them
+     * @return false if the visitor stopped the traversal; true otherwise
+     */
+    static <V extends ObjectVisitor> boolean traverseElements(List<?> elements, int firstIndex, PropertyPath parent,
+                                                               String fieldName,
+                                                               Function<Object, ValidationPlan> validationPlanProvider,
+                                                               V visitor, Splitter<V> splitter,
+                                                               VisitedObjects visitedObjects) {
+        Deque<Cascade> cascades = new ArrayDeque<>();
+        cascades.push(new ElementsCascade(elements.iterator(), firstIndex, parent, fieldName));
+        return traverse(cascades, validationPlanProvider, visitor, splitter, visitedObjects);
+    }
+
+    private static <V extends ObjectVisitor> boolean traverse(Deque<Cascade> cascades,
+                                                              Function<Object, ValidationPlan> validationPlanProvider,
+                                                              V visitor, Splitter<V> splitter,
+                                                              VisitedObjects visitedObjects) {
+        while (!cascades.isEmpty()) {
+            Cascade top = cascades.peek();
+            if (top instanceof SplitCascade) {
+                cascades.pop();
+                SplitCascade splitCascade = (SplitCascade) top;
+                if (!splitter.visitElements(splitCascade.elements, splitCascade.parent, splitCascade.fieldName,
+                        visitedObjects, visitor))
+                    return false;
+                continue;
+            }
+
+            IteratedCascade cascade = (IteratedCascade) top;
+            if (!cascade.hasNext()) {
+                cascades.pop();
+                continue;
+            }
+
+            Object object = cascade.next();
+            if (object == null || ValidationPlan.isPlatformType(object.getClass()) || !visitedObjects.add(object))
+                continue;
+
+            PropertyPath path = cascade.getPath();
+            ValidationPlan validationPlan = validationPlanProvider.apply(object);
+            if (!visitor.visit(object, validationPlan, path))
+                return false;
+            pushCascades(cascades, object, validationPlan, path, splitter);
+        }
+        return true;
+    }
+
+    /**
+     * Pushes cascades of fields in reverse order, so the first field is walked first.
+     * @param cascades - stack of cascades; null if it is not created yet
+     * @return stack of cascades; null if it is not created yet and there was nothing to push
+     */
+    private static Deque<Cascade> pushCascades(Deque<Cascade> cascades, Object object, ValidationPlan validationPlan,
+                                               PropertyPath path, Splitter<?> splitter) {
+        List<ConstrainedField> cascadedFields = validationPlan.getCascadedFields();
+        for (int i = cascadedFields.size() - 1; i >= 0; i--) {
+            ConstrainedField field = cascadedFields.get(i);
+            Object fieldValue = field.getValue(object);
+            if (fieldValue == null)
+                continue;
+
+            if (cascades == null)
+                cascades = new ArrayDeque<>();
+            cascades.push(splitter != null && isSplit(fieldValue, splitter.getThreshold())
+                    ? new SplitCascade(toList(fieldValue), path, field.getName())
+                    : createCascade(fieldValue, path, field.getName()));
+        }
+        return cascades;
+    }
+
+    private static boolean isSplit(Object fieldValue, int threshold) {
+        if (fieldValue instanceof Collection)
+            return ((Collection<?>) fieldValue).size() >= threshold;
+        return fieldValue instanceof Object[] && ((Object[]) fieldValue).length >= threshold;
+    }
+
+    /**
+     * @return elements of a collection or an array as a list with fast access by index
+     */
+    private static List<?> toList(Object fieldValue) {
+        if (fieldValue instanceof List && fieldValue instanceof RandomAccess)
+            return (List<?>) fieldValue;
+        if (fieldValue instanceof Collection)
+            return Arrays.asList(((Collection<?>) fieldValue).toArray());
+        return Arrays.asList((Object[]) fieldValue);
+    }
+
+    private static IteratedCascade createCascade(Object fieldValue, PropertyPath parent, String fieldName) {
+        if (fieldValue instanceof Map)
+            return new MapValuesCascade(((Map<?, ?>) fieldValue).entrySet().iterator(), parent, fieldName);
+        if (fieldValue instanceof Iterable)
+            return new ElementsCascade(((Iterable<?>) fieldValue).iterator(), 0, parent, fieldName);
+        if (fieldValue instanceof Object[])
+            return new ElementsCascade(Arrays.asList((Object[]) fieldValue).iterator(), 0, parent, fieldName);
+        return new ObjectCascade(fieldValue, parent, fieldName);
+    }
+
+    /**
+     * Objects visited by a traversal. A part of a split collection has its own objects and sees objects visited
+     * before the split, which are not changed while parts are walked. When parts are joined, objects of a later part
+     * are added to objects of an earlier one, and objects of all parts to objects visited before the split.
+     * <p>
+     * Parts of one split see the same objects visited before, so there is one level of objects visited before
+     * for each split collection the part is nested in, not for each join. Joins move the smaller set into
+     * the larger one, so a set of a large part is not copied again at every join above it.
+     */
+    static final class VisitedObjects {
+
+        private final VisitedObjects visitedBefore;
+        private Set<Object> objects = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+
+        /**
+         * @param visitedBefore - objects visited before; null if there are none
+         */
+        VisitedObjects(VisitedObjects visitedBefore) {
+            this.visitedBefore = visitedBefore;
+        }
+
+        /**
+         * @return true if the object was not visited before
+         */
+        boolean add(Object object) {
+            if (objects.contains(object))
+                return false;
+            for (VisitedObjects visited = visitedBefore; visited != null; visited = visited.visitedBefore) {
+                if (visited.objects.contains(object))
+                    return false;
+            }
+            return objects.add(object);
+        }
+
+        /**
+         * @return true if the object was added to these objects, not to objects visited before them
+         */
+        boolean contains(Object object) {
+            return objects.contains(object);
+        }
+
+        /**
+         * Add objects of a joined part. The part must not be used afterwards, its set may be taken over.
+         */
+        void addAll(VisitedObjects visitedObjects) {
+            Set<Object> added = visitedObjects.objects;
+            if (added.size() > objects.size()) {
+                added = objects;
+                objects = visitedObjects.objects;
+            }
+            objects.addAll(added);
+        }
+    }
+
+    /**
+     * Objects of a single cascaded field which are still to be visited: either an {@link IteratedCascade}, walked
+     * by the traversal itself, or a {@link SplitCascade}, handed to the splitter.
+     */
+    private interface Cascade {
+    }
+
+    private interface IteratedCascade extends Cascade {
+
+        boolean hasNext();
+
+        Object next();
+
+        /**
+         * @return path of the object returned by the last {@link #next()}
+         */
+        PropertyPath getPath();
+    }
+
+    private static final class ObjectCascade implements IteratedCascade {
+
+        private final PropertyPath parent;
+        private final String fieldName;
+        private Object object;
+
+        ObjectCascade(Object object, PropertyPath parent, String fieldName) {
+            this.object = object;
+            this.parent = parent;
+            this.fieldName = fieldName;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return object != null;
+        }
+
+        @Override
+        public Object next() {
+            Object next = object;
+            object = null;
+            return next;
+        }
+
+        @Override
+        public PropertyPath getPath() {
+            return PropertyPath.property(parent, fieldName);
+        }
+    }
+
+    private static final class ElementsCascade implements IteratedCascade {
+
+        private final Iterator<?> elements;
+        private final PropertyPath parent;
+        private final String fieldName;
+        private int index;
+
+        ElementsCascade(Iterator<?> elements, int firstIndex, PropertyPath parent, String fieldName) {
+            this.elements = elements;
+            this.index = firstIndex - 1;
+            this.parent = parent;
+            this.fieldName = fieldName;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return elements.hasNext();
+        }
+
+        @Override
+        public Object next() {
+            index++;
+            return elements.next();
+        }
+
+        @Override
+        public PropertyPath getPath() {
+            return PropertyPath.element(parent, fieldName, index);
+        }
+    }
+
+    private static final class MapValuesCascade implements IteratedCascade {
+
+        private final Iterator<? extends Map.Entry<?, ?>> entries;
+        private final PropertyPath parent;
+        private final String fieldName;
+        private Object key;
+
+        MapValuesCascade(Iterator<? extends Map.Entry<?, ?>> entries, PropertyPath parent, String fieldName) {
+            this.entries = entries;
+            this.parent = parent;
+            this.fieldName = fieldName;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return entries.hasNext();
+        }
+
+        @Override
+        public Object next() {
+            Map.Entry<?, ?> entry = entries.next();
+            key = entry.getKey();
+            return entry.getValue();
+        }
+
+        @Override
+        public PropertyPath getPath() {
+            return PropertyPath.mapValue(parent, fieldName, key);
+        }
+    }
+
+    /**
+     * Elements walked by a {@link Splitter}. Traversal hands them to the splitter instead of iterating them.
+     */
+    private static final class SplitCascade implements Cascade {
+
+        private final List<?> elements;
+        private final PropertyPath parent;
+        private final String fieldName;
+
+        SplitCascade(List<?> elements, PropertyPath parent, String fieldName) {
+            this.elements = elements;
+            this.parent = parent;
+            this.fieldName = fieldName;
+        }
+    }
+}
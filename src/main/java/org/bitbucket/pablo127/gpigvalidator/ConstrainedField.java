@@ -0,0 +1,65 @@
+package org.bitbucket.pablo127.gpigvalidator;
+
+import com.google.common.collect.ImmutableList;
+import org.bitbucket.pablo127.gpigvalidator.exception.InternalException;
+import org.bitbucket.pablo127.gpigvalidator.exception.WrongAnnotationTypeException;
+
+import java.lang.reflect.Field;
+import java.util.List;
+
+/**
+ * Field with at least one annotation, kept together with its constraints and an accessor created once
+ * when the plan is built.
+ */
+final class ConstrainedField {
+
+    private final String name;
+    private final FieldAccessor accessor;
+    private final ImmutableList<FieldConstraint> constraints;
+    private final boolean allConstraintsSupported;
+
+    ConstrainedField(Field field, List<FieldConstraint> constraints) {
+        this(field.getName(), new MethodHandleFieldAccessor(field), constraints);
+    }
+
+    ConstrainedField(String name, FieldAccessor accessor, List<FieldConstraint> constraints) {
+        this.name = name;
+        this.accessor = accessor;
+        this.constraints = ImmutableList.copyOf(constraints);
+
+        boolean allConstraintsSupported = true;
+        for (FieldConstraint constraint : constraints)
+            allConstraintsSupported &= constraint.isSupported();
+        this.allConstraintsSupported = allConstraintsSupported;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    List<FieldConstraint> getConstraints() {
+        return constraints;
+    }
+
+    boolean hasOnlySupportedConstraints() {
+        return allConstraintsSupported;
+    }
+
+    /**
+     * @throws WrongAnnotationTypeException if some annotation of the field is not supported by any validator
+     */
+    void checkConstraintsSupported() {
+        if (allConstraintsSupported)
+            return;
+
+        for (FieldConstraint constraint : constraints)
+            constraint.getValidator();
+    }
+
+    /**
+     * @throws InternalException if the value cannot be read from given object
+     */
+    Object getValue(Object object) {
+        return accessor.getValue(object);
+    }
+}
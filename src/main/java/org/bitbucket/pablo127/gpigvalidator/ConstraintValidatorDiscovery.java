@@ -0,0 +1,50 @@
+package org.bitbucket.pablo127.gpigvalidator;
+
+import com.google.common.collect.ImmutableList;
+import org.bitbucket.pablo127.gpigvalidator.constraint.ConstraintValidator;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Finds {@link ConstraintValidator} implementations listed in
+ * {@code META-INF/services/org.bitbucket.pablo127.gpigvalidator.constraint.ConstraintValidator}.
+ * <p>
+ * Validators which cannot be loaded or created are logged and skipped. Default engine of {@link Validator} is
+ * built when the class is loaded, so one broken entry of any library on the class path must not break it.
+ */
+final class ConstraintValidatorDiscovery {
+
+    private static final Logger LOGGER = Logger.getLogger(ConstraintValidatorDiscovery.class.getName());
+
+    private ConstraintValidatorDiscovery() {
+    }
+
+    static List<ConstraintValidator> discover(ClassLoader classLoader) {
+        ImmutableList.Builder<ConstraintValidator> validatorsBuilder = ImmutableList.builder();
+        Iterator<ConstraintValidator> validators = ServiceLoader.load(ConstraintValidator.class, classLoader)
+                .iterator();
+        while (true) {
+            try {
+                if (!validators.hasNext())
+                    break;
+                validatorsBuilder.add(validators.next());
+            } catch (ServiceConfigurationError | LinkageError e) {
+                // the iterator moves past the failed entry, so the remaining validators are still found
+                LOGGER.log(Level.WARNING, "Constraint validator cannot be loaded and is skipped.", e);
+            }
+        }
+        return validatorsBuilder.build();
+    }
+
+    static ClassLoader getDefaultClassLoader() {
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        return contextClassLoader != null
+                ? contextClassLoader
+                : ConstraintValidatorDiscovery.class.getClassLoader();
+    }
+}
@@ -0,0 +1,49 @@
+package org.bitbucket.pablo127.gpigvalidator;
+
+import com.google.common.base.Optional;
+import org.bitbucket.pablo127.gpigvalidator.constraint.ConstraintValidator;
+import org.bitbucket.pablo127.gpigvalidator.constraint.EmailValidator;
+import org.bitbucket.pablo127.gpigvalidator.constraint.NotNullValidator;
+import org.bitbucket.pablo127.gpigvalidator.constraint.PatternValidator;
+import org.bitbucket.pablo127.gpigvalidator.constraint.SizeValidator;
+
+import java.lang.annotation.Annotation;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Validators indexed by type of annotation they support. Lookups read an immutable map without locking,
+ * registration publishes a modified copy of it.
+ */
+final class ConstraintValidatorRegistry {
+
+    private volatile Map<Class<? extends Annotation>, ConstraintValidator> validators =
+            Collections.emptyMap();
+
+    private ConstraintValidatorRegistry() {
+    }
+
+    static ConstraintValidatorRegistry withDefaultValidators() {
+        ConstraintValidatorRegistry registry = new ConstraintValidatorRegistry();
+        registry.register(new NotNullValidator());
+        registry.register(new EmailValidator());
+        registry.register(new SizeValidator());
+        registry.register(new PatternValidator());
+        return registry;
+    }
+
+    Optional<ConstraintValidator> getValidator(Class<? extends Annotation> annotationType) {
+        return Optional.fromNullable(validators.get(annotationType));
+    }
+
+    /**
+     * Register validator for its annotation type. Validator already registered for the same type is replaced.
+     */
+    @SuppressWarnings("unchecked")
+    synchronized void register(ConstraintValidator validator) {
+        Map<Class<? extends Annotation>, ConstraintValidator> newValidators = new IdentityHashMap<>(validators);
+        newValidators.put((Class<? extends Annotation>) validator.getAnnotationType(), validator);
+        validators = Collections.unmodifiableMap(newValidators);
+    }
+}
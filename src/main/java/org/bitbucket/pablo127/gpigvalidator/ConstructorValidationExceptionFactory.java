@@ -0,0 +1,78 @@
+package org.bitbucket.pablo127.gpigvalidator;
+
+import com.google.common.base.Throwables;
+import org.bitbucket.pablo127.gpigvalidator.exception.InternalException;
+import org.bitbucket.pablo127.gpigvalidator.exception.ValidationException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+
+/**
+ * Creates ValidationExceptions through constructor handles looked up once per exception class.
+ * Constructors which are not public, or are declared in classes which are not public, are made accessible
+ * through reflection, the same way as they were before the handles were used.
+ */
+final class ConstructorValidationExceptionFactory implements ValidationExceptionFactory {
+
+    static final ConstructorValidationExceptionFactory INSTANCE = new ConstructorValidationExceptionFactory();
+
+    private static final String INCORRECT_CLASS_MESSAGE =
+            "ValidationException class is incorrect. It has to be public outer class.";
+
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(void.class, String.class);
+    private static final MethodType FACTORY_TYPE = MethodType.methodType(ValidationException.class, String.class);
+
+    /**
+     * Failed lookups are not cached, they are repeated when the exception is about to be thrown again.
+     */
+    private static final ClassValue<MethodHandle> CONSTRUCTORS = new ClassValue<MethodHandle>() {
+        @Override
+        protected MethodHandle computeValue(Class<?> type) {
+            if (Modifier.isAbstract(type.getModifiers()))
+                throw new InternalException(INCORRECT_CLASS_MESSAGE, new InstantiationException(type.getName()));
+
+            try {
+                return MethodHandles.publicLookup()
+                        .findConstructor(type, CONSTRUCTOR_TYPE)
+                        .asType(FACTORY_TYPE);
+            } catch (IllegalAccessException e) {
+                return findNotPublicConstructor(type);
+            } catch (ReflectiveOperationException e) {
+                throw new InternalException(INCORRECT_CLASS_MESSAGE, e);
+            }
+        }
+    };
+
+    private static MethodHandle findNotPublicConstructor(Class<?> type) {
+        try {
+            Constructor<?> constructor = type.getDeclaredConstructor(String.class);
+            constructor.setAccessible(true);
+            return MethodHandles.lookup()
+                    .unreflectConstructor(constructor)
+                    .asType(FACTORY_TYPE);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // RuntimeException covers SecurityException and InaccessibleObjectException of not opened modules
+            throw new InternalException(INCORRECT_CLASS_MESSAGE, e);
+        }
+    }
+
+    private ConstructorValidationExceptionFactory() {
+    }
+
+    /**
+     * @throws InternalException if the class has no constructor with message or the constructor fails
+     */
+    @Override
+    public ValidationException create(Class<? extends ValidationException> exceptionClass, String message) {
+        MethodHandle constructor = CONSTRUCTORS.get(exceptionClass);
+        try {
+            return (ValidationException) constructor.invokeExact(message);
+        } catch (Throwable e) {
+            Throwables.propagateIfInstanceOf(e, Error.class);
+            throw new InternalException(INCORRECT_CLASS_MESSAGE, e);
+        }
+    }
+}
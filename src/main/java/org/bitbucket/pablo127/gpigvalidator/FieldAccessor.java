@@ -0,0 +1,11 @@
+package org.bitbucket.pablo127.gpigvalidator;
+
+import org.bitbucket.pablo127.gpigvalidator.exception.InternalException;
+
+interface FieldAccessor {
+
+    /**
+     * @throws InternalException if the value cannot be read from given object
+     */
+    Object getValue(Object object);
+}
@@ -0,0 +1,73 @@
+package org.bitbucket.pablo127.gpigvalidator;
+
+import com.google.common.base.Optional;
+import org.bitbucket.pablo127.gpigvalidator.constraint.ConstraintCheck;
+import org.bitbucket.pablo127.gpigvalidator.constraint.ConstraintChecks;
+import org.bitbucket.pablo127.gpigvalidator.constraint.ConstraintValidator;
+import org.bitbucket.pablo127.gpigvalidator.exception.WrongAnnotationTypeException;
+
+import java.lang.annotation.Annotation;
+
+/**
+ * Annotation placed on a field together with the validator resolved for it when the plan was built.
+ * Constraints of built-in validators also get a {@link ConstraintCheck} with attributes of the annotation
+ * resolved in advance, which is used to accept correct values without going through the annotation and
+ * the validator. The check is an instance of a hand-written class; no code is generated at runtime.
+ */
+final class FieldConstraint {
+
+    private final Annotation annotation;
+    private final Optional<ConstraintValidator> validatorOpt;
+    private final ConstraintCheck compiledCheck;
+
+    /**
+     * @param fieldType - declared type of the field, for which the compiled check is specialized
+     */
+    FieldConstraint(Annotation annotation, Optional<ConstraintValidator> validatorOpt, Class<?> fieldType) {
+        this.annotation = annotation;
+        this.validatorOpt = validatorOpt;
+        this.compiledCheck = validatorOpt.isPresent()
+                ? ConstraintChecks.compile(validatorOpt.get(), annotation, fieldType).orNull()
+                : null;
+    }
+
+    Annotation getAnnotation() {
+        return annotation;
+    }
+
+    /**
+     * @throws WrongAnnotationTypeException if no validator supports the annotation
+     */
+    ConstraintValidator getValidator() {
+        if (validatorOpt.isPresent())
+            return validatorOpt.get();
+
+        throw new WrongAnnotationTypeException("Currently no such an annotation is supported.");
+    }
+
+    boolean isSupported() {
+        return validatorOpt.isPresent();
+    }
+
+    boolean isCompiled() {
+        return compiledCheck != null;
+    }
+
+    /**
+     * @return true if compiled check accepts the value; false if the value is incorrect or there is no compiled
+     * check and the validator has to decide
+     */
+    boolean isAcceptedByCompiledCheck(Object fieldValue) {
+        return compiledCheck != null && compiledCheck.isCorrect(fieldValue);
+    }
+
+    /**
+     * Checks the value without creating an error message. Values rejected by the compiled check are checked
+     * again by the validator, so that it can reject wrong field type in its own way.
+     * @throws WrongAnnotationTypeException if no validator supports the annotation
+     */
+    boolean isCorrect(Object fieldValue) {
+        return isAcceptedByCompiledCheck(fieldValue)
+                || getValidator().isCorrect(fieldValue, annotation);
+    }
+}
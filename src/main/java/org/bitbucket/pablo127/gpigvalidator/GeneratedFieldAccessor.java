@@ -0,0 +1,26 @@
+package org.bitbucket.pablo127.gpigvalidator;
+
+import org.bitbucket.pablo127.gpigvalidator.exception.InternalException;
+
+/**
+ * Reads field through {@link GeneratedValidator#getFieldValue(Object, int)}.
+ */
+final class GeneratedFieldAccessor implements FieldAccessor {
+
+    private final GeneratedValidator<Object> generatedValidator;
+    private final int fieldIndex;
+
+    GeneratedFieldAccessor(GeneratedValidator<Object> generatedValidator, int fieldIndex) {
+        this.generatedValidator = generatedValidator;
+        this.fieldIndex = fieldIndex;
+    }
+
+    @Override
+    public Object getValue(Object object) {
+        try {
+            return generatedValidator.getFieldValue(object, fieldIndex);
+        } catch (ClassCastException e) {
+            throw new InternalException(e);
+        }
+    }
+}
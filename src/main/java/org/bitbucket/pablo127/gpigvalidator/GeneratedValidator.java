@@ -0,0 +1,26 @@
+package org.bitbucket.pablo127.gpigvalidator;
+
+import java.util.List;
+
+/**
+ * Validator generated at compile time by gpigvalidator-processor. Generated class is placed in the package
+ * of the validated class and named after it with {@code GPigValidator} suffix (nested classes are joined
+ * with {@code _}, e.g. {@code Outer_InnerGPigValidator}). {@link Validator} finds it when the class is validated
+ * for the first time and uses it instead of reflection.
+ * @param <T> validated class
+ */
+public interface GeneratedValidator<T> {
+
+    /**
+     * @return names of constrained fields; position of a name is the index used by
+     * {@link #getFieldValue(Object, int)}
+     */
+    List<String> getConstrainedFieldNames();
+
+    Object getFieldValue(T object, int fieldIndex);
+
+    /**
+     * @return true if all constraints of built-in validators are met; false otherwise
+     */
+    boolean isCorrect(T object);
+}
@@ -0,0 +1,29 @@
+package org.bitbucket.pablo127.gpigvalidator;
+
+/**
+ * Incorrect element of a stream together with its violations.
+ * @param <T> type of element
+ */
+public final class InvalidElement<T> {
+
+    private final T element;
+    private final ValidationResult result;
+
+    InvalidElement(T element, ValidationResult result) {
+        this.element = element;
+        this.result = result;
+    }
+
+    public T getElement() {
+        return element;
+    }
+
+    public ValidationResult getResult() {
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "InvalidElement{" + element + ", " + result + "}";
+    }
+}
@@ -0,0 +1,50 @@
+package org.bitbucket.pablo127.gpigvalidator;
+
+import com.google.common.base.Throwables;
+import org.bitbucket.pablo127.gpigvalidator.exception.InternalException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+/**
+ * Reads field through a getter bound once with {@link MethodHandles.Lookup#unreflectGetter(Field)}.
+ */
+final class MethodHandleFieldAccessor implements FieldAccessor {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private final MethodHandle getter;
+
+    MethodHandleFieldAccessor(Field field) {
+        this.getter = createGetter(field);
+    }
+
+    @Override
+    public Object getValue(Object object) {
+        try {
+            return (Object) getter.invokeExact(object);
+        } catch (ClassCastException e) {
+            throw new InternalException(e);
+        } catch (Throwable e) {
+            Throwables.propagateIfPossible(e);
+            throw new InternalException(e);
+        }
+    }
+
+    private static MethodHandle createGetter(Field field) {
+        try {
+            field.setAccessible(true);
+            MethodHandle getter = MethodHandles.lookup()
+                    .unreflectGetter(field);
+            if (Modifier.isStatic(field.getModifiers()))
+                getter = MethodHandles.dropArguments(getter, 0, Object.class);
+
+            return getter.asType(GETTER_TYPE);
+        } catch (IllegalAccessException e) {
+            throw new InternalException(e);
+        }
+    }
+}
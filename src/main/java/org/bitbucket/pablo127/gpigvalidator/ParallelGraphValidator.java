@@ -0,0 +1,123 @@
+package org.bitbucket.pablo127.gpigvalidator;
+
+import com.google.common.base.Function;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Validates object graphs with large collections and arrays in fields annotated with
+ * {@link javax.validation.Valid} on a fork-join pool. A collection or an array with at least threshold elements
+ * is split in halves until parts have at most threshold elements; each part is walked by its own task.
+ * Smaller collections, maps and the rest of the graph are walked sequentially.
+ * <p>
+ * Violations of parts are merged in order of elements. An object shared between parts may be walked by each
+ * of them, but only the first part keeps its violations; the rest of the graph skips objects visited by any part.
+ * Objects visited by a part are all it can reach, so the result is the same as a sequential one.
+ */
+final class ParallelGraphValidator implements CascadingTraversal.Splitter<ViolationCollector> {
+
+    private final Function<Object, ValidationPlan> validationPlanProvider;
+    private final Locale locale;
+    private final int threshold;
+    private final ForkJoinPool pool;
+
+    /**
+     * @param locale - locale of the engine; null if it has no locale
+     */
+    ParallelGraphValidator(Function<Object, ValidationPlan> validationPlanProvider, Locale locale, int threshold,
+                           ForkJoinPool pool) {
+        this.validationPlanProvider = validationPlanProvider;
+        this.locale = locale;
+        this.threshold = threshold;
+        this.pool = pool;
+    }
+
+    ValidationResult validate(Object objectToValidate) {
+        ViolationCollector violationCollector = new ViolationCollector(locale);
+        CascadingTraversal.traverse(objectToValidate, validationPlanProvider, violationCollector, this);
+        return violationCollector.getResult();
+    }
+
+    @Override
+    public int getThreshold() {
+        return threshold;
+    }
+
+    @Override
+    public boolean visitElements(List<?> elements, PropertyPath parent, String fieldName,
+                                 CascadingTraversal.VisitedObjects visitedObjects, ViolationCollector visitor) {
+        PartTask task = new PartTask(elements, 0, elements.size(), parent, fieldName, visitedObjects);
+        Part part = ForkJoinTask.getPool() == pool
+                ? task.invoke()
+                : pool.invoke(task);
+        visitor.addAll(part.violationCollector);
+        visitedObjects.addAll(part.visitedObjects);
+        return true;
+    }
+
+    /**
+     * Violations and objects visited by one or more neighbouring parts.
+     */
+    private static final class Part {
+
+        private final ViolationCollector violationCollector;
+        private final CascadingTraversal.VisitedObjects visitedObjects;
+
+        Part(ViolationCollector violationCollector, CascadingTraversal.VisitedObjects visitedObjects) {
+            this.violationCollector = violationCollector;
+            this.visitedObjects = visitedObjects;
+        }
+
+        /**
+         * Add the next part, leaving out violations of objects visited by this one.
+         */
+        void add(Part nextPart) {
+            violationCollector.addAllNotVisited(nextPart.violationCollector, visitedObjects);
+            visitedObjects.addAll(nextPart.visitedObjects);
+        }
+    }
+
+    private final class PartTask extends RecursiveTask<Part> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<?> elements;
+        private final int start;
+        private final int end;
+        private final PropertyPath parent;
+        private final String fieldName;
+        private final CascadingTraversal.VisitedObjects visitedObjects;
+
+        PartTask(List<?> elements, int start, int end, PropertyPath parent, String fieldName,
+                 CascadingTraversal.VisitedObjects visitedObjects) {
+            this.elements = elements;
+            this.start = start;
+            this.end = end;
+            this.parent = parent;
+            this.fieldName = fieldName;
+            this.visitedObjects = visitedObjects;
+        }
+
+        @Override
+        protected Part compute() {
+            if (end - start <= threshold) {
+                ViolationCollector violationCollector = new ViolationCollector(locale, true);
+                CascadingTraversal.VisitedObjects partObjects = new CascadingTraversal.VisitedObjects(visitedObjects);
+                CascadingTraversal.traverseElements(elements.subList(start, end), start, parent, fieldName,
+                        validationPlanProvider, violationCollector, ParallelGraphValidator.this, partObjects);
+                return new Part(violationCollector, partObjects);
+            }
+
+            int middle = (start + end) >>> 1;
+            PartTask secondHalf = new PartTask(elements, middle, end, parent, fieldName, visitedObjects);
+            secondHalf.fork();
+            Part part = new PartTask(elements, start, middle, parent, fieldName, visitedObjects).compute();
+            part.add(secondHalf.join());
+            return part;
+        }
+    }
+}
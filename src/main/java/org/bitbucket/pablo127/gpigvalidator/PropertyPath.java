@@ -0,0 +1,87 @@
+package org.bitbucket.pablo127.gpigvalidator;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Path from the validated object to a nested object, e.g. {@code order.lines[3]}. Paths share their parents,
+ * so a step deeper costs one small object. Indices and keys are kept as they are and the text is built only
+ * when a violation needs it.
+ */
+final class PropertyPath {
+
+    private static final int NO_INDEX = -1;
+
+    private final PropertyPath parent;
+    private final String fieldName;
+    private final int index;
+    private final boolean mapValue;
+    private final Object key;
+
+    private PropertyPath(PropertyPath parent, String fieldName, int index, boolean mapValue, Object key) {
+        this.parent = parent;
+        this.fieldName = fieldName;
+        this.index = index;
+        this.mapValue = mapValue;
+        this.key = key;
+    }
+
+    /**
+     * @param parent - path of object with the field; null for the validated object
+     */
+    static PropertyPath property(PropertyPath parent, String fieldName) {
+        return new PropertyPath(parent, fieldName, NO_INDEX, false, null);
+    }
+
+    /**
+     * @param parent - path of object with the field; null for the validated object
+     * @param index - index of element of a collection or an array
+     */
+    static PropertyPath element(PropertyPath parent, String fieldName, int index) {
+        return new PropertyPath(parent, fieldName, index, false, null);
+    }
+
+    /**
+     * @param parent - path of object with the field; null for the validated object
+     * @param key - key of the value in a map; its {@link Object#toString()} is called only when the path is written
+     */
+    static PropertyPath mapValue(PropertyPath parent, String fieldName, Object key) {
+        return new PropertyPath(parent, fieldName, NO_INDEX, true, key);
+    }
+
+    /**
+     * @param parent - path of object with the field; null for the validated object
+     * @return path of the field, e.g. {@code order.lines[3].email}
+     */
+    static String toString(PropertyPath parent, String fieldName) {
+        if (parent == null)
+            return fieldName;
+
+        StringBuilder pathBuilder = new StringBuilder();
+        parent.appendTo(pathBuilder);
+        return pathBuilder.append('.').append(fieldName).toString();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder pathBuilder = new StringBuilder();
+        appendTo(pathBuilder);
+        return pathBuilder.toString();
+    }
+
+    private void appendTo(StringBuilder pathBuilder) {
+        Deque<PropertyPath> steps = new ArrayDeque<>();
+        for (PropertyPath step = this; step != null; step = step.parent)
+            steps.push(step);
+
+        for (PropertyPath step : steps) {
+            if (step.parent != null)
+                pathBuilder.append('.');
+            pathBuilder.append(step.fieldName);
+            if (step.mapValue)
+                pathBuilder.append('[').append(step.key).append(']');
+            else if (step.index != NO_INDEX)
+                pathBuilder.append('[').append(step.index).append(']');
+        }
+    }
+}
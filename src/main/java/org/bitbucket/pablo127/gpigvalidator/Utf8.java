@@ -0,0 +1,23 @@
+package org.bitbucket.pablo127.gpigvalidator;
+
+import org.bitbucket.pablo127.gpigvalidator.constraint.Utf8Sequence;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a {@code byte[]} or {@link java.nio.ByteBuffer} field holding text encoded in UTF-8. Constraints of the
+ * field check the text instead of the bytes, e.g. {@code @Size} counts characters and {@code @Email} checks
+ * the address, without decoding the bytes to a String.
+ * <p>
+ * Constraints see the value as a {@link Utf8Sequence} of the array or of remaining bytes of the buffer.
+ * It is decoded only for a violation, which keeps the decoded String as the rejected value.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface Utf8 {
+}
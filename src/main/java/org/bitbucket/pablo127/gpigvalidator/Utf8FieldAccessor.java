@@ -0,0 +1,37 @@
+package org.bitbucket.pablo127.gpigvalidator;
+
+import org.bitbucket.pablo127.gpigvalidator.constraint.Utf8Sequence;
+import org.bitbucket.pablo127.gpigvalidator.exception.WrongFieldTypeException;
+
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+
+/**
+ * Reads a field annotated with {@link Utf8} as {@link Utf8Sequence} of its bytes.
+ */
+final class Utf8FieldAccessor implements FieldAccessor {
+
+    private final FieldAccessor bytesAccessor;
+
+    Utf8FieldAccessor(FieldAccessor bytesAccessor) {
+        this.bytesAccessor = bytesAccessor;
+    }
+
+    /**
+     * @throws WrongFieldTypeException if the field is neither {@code byte[]} nor {@link ByteBuffer}
+     */
+    static void checkFieldType(Field field) {
+        if (field.getType() != byte[].class && !ByteBuffer.class.isAssignableFrom(field.getType()))
+            throw new WrongFieldTypeException();
+    }
+
+    @Override
+    public Object getValue(Object object) {
+        Object value = bytesAccessor.getValue(object);
+        if (value instanceof byte[])
+            return Utf8Sequence.of((byte[]) value);
+        if (value instanceof ByteBuffer)
+            return Utf8Sequence.of((ByteBuffer) value);
+        return value;
+    }
+}
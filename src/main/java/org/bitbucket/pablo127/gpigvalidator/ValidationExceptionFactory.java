@@ -0,0 +1,17 @@
+package org.bitbucket.pablo127.gpigvalidator;
+
+import org.bitbucket.pablo127.gpigvalidator.exception.ValidationException;
+
+/**
+ * Creates exceptions thrown by {@link ValidatorEngine#validateObject(Object, Class)} and
+ * {@link ValidatorEngine#validateField(Object, String, Class)}.
+ */
+public interface ValidationExceptionFactory {
+
+    /**
+     * @param exceptionClass - class of exception requested by the caller of validation
+     * @param message - error messages of the object or field
+     * @return exception to throw
+     */
+    ValidationException create(Class<? extends ValidationException> exceptionClass, String message);
+}
@@ -0,0 +1,34 @@
+package org.bitbucket.pablo127.gpigvalidator;
+
+import com.google.common.collect.ImmutableList;
+
+import java.util.List;
+
+/**
+ * Elements of a stream split into correct and incorrect ones, each part in encounter order.
+ * @param <T> type of element
+ */
+public final class ValidationPartition<T> {
+
+    private final ImmutableList<T> valid;
+    private final ImmutableList<InvalidElement<T>> invalid;
+
+    ValidationPartition(List<T> valid, List<InvalidElement<T>> invalid) {
+        this.valid = ImmutableList.copyOf(valid);
+        this.invalid = ImmutableList.copyOf(invalid);
+    }
+
+    /**
+     * @return immutable list of correct elements
+     */
+    public List<T> getValid() {
+        return valid;
+    }
+
+    /**
+     * @return immutable list of incorrect elements with their violations
+     */
+    public List<InvalidElement<T>> getInvalid() {
+        return invalid;
+    }
+}
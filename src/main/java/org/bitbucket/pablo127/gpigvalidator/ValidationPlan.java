@@ -0,0 +1,251 @@
+package org.bitbucket.pablo127.gpigvalidator;
+
+import com.google.common.base.Function;
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import org.bitbucket.pablo127.gpigvalidator.constraint.ConstraintValidator;
+import org.bitbucket.pablo127.gpigvalidator.constraint.Utf8Sequence;
+import org.bitbucket.pablo127.gpigvalidator.exception.InternalException;
+import org.bitbucket.pablo127.gpigvalidator.exception.WrongAnnotationTypeException;
+import org.bitbucket.pablo127.gpigvalidator.exception.WrongFieldTypeException;
+
+import javax.validation.Valid;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Everything validation of a class needs, collected once: constrained fields with their accessors and resolved
+ * validators, and names of all fields. Fields of superclasses are flattened into the plan, so inherited constraints
+ * cost the same as constraints declared in the class itself.
+ * <p>
+ * Fields are ordered from the topmost superclass down to the class, each class in declaration order.
+ * A field hides fields with the same name declared in its superclasses, as in Java: only the field
+ * of the most derived class is validated and found by name.
+ * <p>
+ * If there is a {@link GeneratedValidator} for the class, fields are read through it.
+ * Types of the Java platform have no constraints, so their plans are empty and their fields, which may be closed
+ * to reflection, are not read.
+ * {@link Valid} is not a constraint: it only marks fields whose values are validated as well.
+ * {@link Utf8} is not a constraint either: constraints of the field get its bytes as {@link Utf8Sequence}.
+ */
+final class ValidationPlan {
+
+    private static final String GENERATED_VALIDATOR_SUFFIX = "GPigValidator";
+
+    private final ImmutableList<ConstrainedField> constrainedFields;
+    private final ImmutableList<ConstrainedField> cascadedFields;
+    private final ImmutableMap<String, ConstrainedField> constrainedFieldsByName;
+    private final ImmutableSet<String> fieldNames;
+    private final Optional<GeneratedValidator<Object>> generatedValidatorOpt;
+    private final boolean allConstraintsSupported;
+
+    private ValidationPlan(List<ConstrainedField> constrainedFields, List<ConstrainedField> cascadedFields,
+                           ImmutableSet<String> fieldNames, Optional<GeneratedValidator<Object>> generatedValidatorOpt) {
+        this.constrainedFields = ImmutableList.copyOf(constrainedFields);
+        this.cascadedFields = ImmutableList.copyOf(cascadedFields);
+        this.fieldNames = fieldNames;
+        this.generatedValidatorOpt = generatedValidatorOpt;
+
+        ImmutableMap.Builder<String, ConstrainedField> byNameBuilder = ImmutableMap.builder();
+        for (ConstrainedField constrainedField : constrainedFields)
+            byNameBuilder.put(constrainedField.getName(), constrainedField);
+        this.constrainedFieldsByName = byNameBuilder.build();
+
+        boolean allConstraintsSupported = true;
+        for (ConstrainedField constrainedField : constrainedFields)
+            allConstraintsSupported &= constrainedField.hasOnlySupportedConstraints();
+        this.allConstraintsSupported = allConstraintsSupported;
+    }
+
+    /**
+     * @throws WrongFieldTypeException if a field annotated with {@link Utf8} holds neither bytes nor byte buffer
+     */
+    static ValidationPlan create(Class<?> clazz,
+                                 Function<Class<? extends Annotation>, Optional<ConstraintValidator>> validatorResolver) {
+        if (isPlatformType(clazz)) {
+            return new ValidationPlan(ImmutableList.<ConstrainedField>of(), ImmutableList.<ConstrainedField>of(),
+                    ImmutableSet.<String>of(), Optional.<GeneratedValidator<Object>>absent());
+        }
+
+        Optional<GeneratedValidator<Object>> generatedValidatorOpt = findGeneratedValidator(clazz);
+        List<String> generatedFieldNames = generatedValidatorOpt.isPresent()
+                ? generatedValidatorOpt.get().getConstrainedFieldNames()
+                : ImmutableList.<String>of();
+
+        List<ConstrainedField> constrainedFields = new ArrayList<>();
+        List<ConstrainedField> cascadedFields = new ArrayList<>();
+        ImmutableSet.Builder<String> fieldNamesBuilder = ImmutableSet.builder();
+        boolean allFieldsGenerated = true;
+
+        for (Field field : getVisibleFields(clazz)) {
+            fieldNamesBuilder.add(field.getName());
+
+            Annotation[] annotations = field.getAnnotations();
+            if (annotations.length == 0)
+                continue;
+
+            boolean utf8 = field.isAnnotationPresent(Utf8.class);
+            if (utf8)
+                Utf8FieldAccessor.checkFieldType(field);
+            Class<?> valueType = utf8 ? Utf8Sequence.class : field.getType();
+
+            List<FieldConstraint> constraints = new ArrayList<>(annotations.length);
+            boolean cascaded = false;
+            for (Annotation annotation : annotations) {
+                if (annotation instanceof Valid) {
+                    cascaded = true;
+                    continue;
+                }
+                if (annotation instanceof Utf8)
+                    continue;
+
+                FieldConstraint constraint = new FieldConstraint(
+                        annotation, validatorResolver.apply(annotation.annotationType()), valueType);
+                allFieldsGenerated &= constraint.isCompiled();
+                constraints.add(constraint);
+            }
+            if (constraints.isEmpty() && !cascaded)
+                continue;
+
+            FieldAccessor accessor;
+            int generatedFieldIndex = generatedFieldNames.indexOf(field.getName());
+            if (generatedFieldIndex >= 0) {
+                accessor = new GeneratedFieldAccessor(generatedValidatorOpt.get(), generatedFieldIndex);
+            } else {
+                allFieldsGenerated &= constraints.isEmpty();
+                accessor = new MethodHandleFieldAccessor(field);
+            }
+            if (utf8) {
+                allFieldsGenerated &= constraints.isEmpty();
+                accessor = new Utf8FieldAccessor(accessor);
+            }
+            ConstrainedField constrainedField = new ConstrainedField(field.getName(), accessor, constraints);
+
+            if (!constraints.isEmpty())
+                constrainedFields.add(constrainedField);
+            if (cascaded)
+                cascadedFields.add(constrainedField);
+        }
+
+        return new ValidationPlan(
+                constrainedFields,
+                cascadedFields,
+                fieldNamesBuilder.build(),
+                allFieldsGenerated ? generatedValidatorOpt : Optional.<GeneratedValidator<Object>>absent());
+    }
+
+    /**
+     * @return true for primitives, arrays, character sequences and classes of {@code java.*}, {@code javax.*},
+     * {@code jdk.*} and {@code sun.*} packages, like boxed primitives or collections of the JDK
+     */
+    static boolean isPlatformType(Class<?> clazz) {
+        if (clazz.isPrimitive() || clazz.isArray() || CharSequence.class.isAssignableFrom(clazz))
+            return true;
+
+        String className = clazz.getName();
+        return className.startsWith("java.")
+                || className.startsWith("javax.")
+                || className.startsWith("jdk.")
+                || className.startsWith("sun.");
+    }
+
+    /**
+     * @return fields declared in the class and its superclasses which are not hidden by a field with the same name
+     * in a subclass, from the topmost superclass down
+     */
+    private static List<Field> getVisibleFields(Class<?> clazz) {
+        List<Class<?>> hierarchy = new ArrayList<>();
+        for (Class<?> type = clazz; type != null && type != Object.class; type = type.getSuperclass())
+            hierarchy.add(type);
+
+        Set<String> fieldNames = new HashSet<>();
+        List<List<Field>> fieldsOfTypes = new ArrayList<>(hierarchy.size());
+        for (Class<?> type : hierarchy) {
+            List<Field> fieldsOfType = new ArrayList<>();
+            for (Field field : type.getDeclaredFields()) {
+                if (fieldNames.add(field.getName()))
+                    fieldsOfType.add(field);
+            }
+            fieldsOfTypes.add(fieldsOfType);
+        }
+
+        List<Field> fields = new ArrayList<>();
+        for (List<Field> fieldsOfType : Lists.reverse(fieldsOfTypes))
+            fields.addAll(fieldsOfType);
+        return fields;
+    }
+
+    List<ConstrainedField> getConstrainedFields() {
+        return constrainedFields;
+    }
+
+    /**
+     * @return fields annotated with {@link Valid}, whose values are validated too; they may have no constraints
+     */
+    List<ConstrainedField> getCascadedFields() {
+        return cascadedFields;
+    }
+
+    boolean hasField(String fieldName) {
+        return fieldNames.contains(fieldName);
+    }
+
+    /**
+     * @return constrained field with given name; absent if the field has no constraints or does not exist
+     */
+    Optional<ConstrainedField> getConstrainedField(String fieldName) {
+        return Optional.fromNullable(constrainedFieldsByName.get(fieldName));
+    }
+
+    /**
+     * Lets checks which stop at the first violation fail on unsupported annotations the same way as checks
+     * which go through all constraints.
+     * @throws WrongAnnotationTypeException if some annotation is not supported by any validator
+     */
+    void checkConstraintsSupported() {
+        if (allConstraintsSupported)
+            return;
+
+        for (ConstrainedField constrainedField : constrainedFields)
+            constrainedField.checkConstraintsSupported();
+    }
+
+    /**
+     * @return generated validator which checks every constraint of the class; absent if there is no generated
+     * validator or some constraint is handled by a validator it does not know
+     */
+    Optional<GeneratedValidator<Object>> getGeneratedValidator() {
+        return generatedValidatorOpt;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Optional<GeneratedValidator<Object>> findGeneratedValidator(Class<?> clazz) {
+        if (clazz.isArray() || clazz.isPrimitive())
+            return Optional.absent();
+
+        String className = clazz.getName();
+        int packageEnd = className.lastIndexOf('.') + 1;
+        String generatedClassName = className.substring(0, packageEnd)
+                + className.substring(packageEnd).replace('$', '_')
+                + GENERATED_VALIDATOR_SUFFIX;
+
+        try {
+            Class<?> generatedClass = Class.forName(generatedClassName, true, clazz.getClassLoader());
+            if (!GeneratedValidator.class.isAssignableFrom(generatedClass))
+                return Optional.absent();
+
+            return Optional.of((GeneratedValidator<Object>) generatedClass.newInstance());
+        } catch (ClassNotFoundException e) {
+            return Optional.absent();
+        } catch (ReflectiveOperationException e) {
+            throw new InternalException("Generated validator " + generatedClassName + " cannot be created.", e);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package org.bitbucket.pablo127.gpigvalidator;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.bitbucket.pablo127.gpigvalidator.util.StringBuilderUtil;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Violations found in an object, in order of fields and their annotations. Correct objects share one
+ * instance without violations.
+ */
+public final class ValidationResult {
+
+    private static final ValidationResult VALID = new ValidationResult(ImmutableList.<Violation>of());
+
+    private final ImmutableList<Violation> violations;
+
+    private ValidationResult(ImmutableList<Violation> violations) {
+        this.violations = violations;
+    }
+
+    static ValidationResult valid() {
+        return VALID;
+    }
+
+    static ValidationResult of(List<Violation> violations) {
+        return violations.isEmpty()
+                ? VALID
+                : new ValidationResult(ImmutableList.copyOf(violations));
+    }
+
+    public boolean isValid() {
+        return violations.isEmpty();
+    }
+
+    /**
+     * @return immutable list of violations
+     */
+    public List<Violation> getViolations() {
+        return violations;
+    }
+
+    /**
+     * Render messages of all violations.
+     * @return immutable map with: key - path of field; value - error messages of the field
+     */
+    public Map<String, String> getErrorMessages() {
+        return getErrorMessages(null);
+    }
+
+    /**
+     * Render messages of all violations in given locale.
+     * @param locale - locale of messages; null to render each violation as {@link Violation#getMessage()} does
+     * @return immutable map with: key - path of field; value - error messages of the field
+     */
+    public Map<String, String> getErrorMessages(Locale locale) {
+        if (violations.isEmpty())
+            return ImmutableMap.of();
+
+        Map<String, StringBuilder> messageBuilders = new LinkedHashMap<>();
+        for (Violation violation : violations) {
+            StringBuilder messageBuilder = messageBuilders.get(violation.getPropertyPath());
+            if (messageBuilder == null) {
+                messageBuilder = new StringBuilder();
+                messageBuilders.put(violation.getPropertyPath(), messageBuilder);
+            }
+            StringBuilderUtil.appendWithSpaceIfNeeded(messageBuilder, locale == null
+                    ? violation.getMessage()
+                    : violation.getMessage(locale));
+        }
+
+        ImmutableMap.Builder<String, String> errorMessagesBuilder = ImmutableMap.builder();
+        for (Map.Entry<String, StringBuilder> entry : messageBuilders.entrySet())
+            errorMessagesBuilder.put(entry.getKey(), entry.getValue().toString());
+        return errorMessagesBuilder.build();
+    }
+
+    @Override
+    public String toString() {
+        return "ValidationResult" + violations;
+    }
+}
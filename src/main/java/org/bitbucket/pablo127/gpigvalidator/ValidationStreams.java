@@ -0,0 +1,246 @@
+package org.bitbucket.pablo127.gpigvalidator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
+
+/**
+ * Validation of elements passing through an {@link Iterator} or a {@link Stream}. Every element is validated
+ * with {@link ValidatorEngine#validateWithResult(Object)} of given engine, or of the default engine of
+ * {@link Validator}, and handed to the consumer of correct or of incorrect elements.
+ * <p>
+ * Elements of an iterator, of a sequential stream and of an unordered validation are not kept after they are
+ * handed over, so memory does not grow with the input. Ordered validation of a parallel stream keeps results
+ * which are ready before results of earlier elements, see {@link #validate(ValidatorEngine, Stream, Consumer,
+ * BiConsumer)}.
+ */
+public final class ValidationStreams {
+
+    private ValidationStreams() {
+    }
+
+    /**
+     * Validate elements of the iterator with the default engine, as
+     * {@link #validate(ValidatorEngine, Iterator, Consumer, BiConsumer)} does.
+     */
+    public static <T> void validate(Iterator<? extends T> elements, Consumer<? super T> validConsumer,
+                                    BiConsumer<? super T, ValidationResult> invalidConsumer) {
+        validate(Validator.getDefaultEngine(), elements, validConsumer, invalidConsumer);
+    }
+
+    /**
+     * Validate elements of the iterator one by one on the calling thread.
+     * @param engine - engine validating elements
+     * @param elements
+     * @param validConsumer - receives correct elements
+     * @param invalidConsumer - receives incorrect elements with their violations
+     * @throws org.bitbucket.pablo127.gpigvalidator.exception.InternalException
+     * @throws org.bitbucket.pablo127.gpigvalidator.exception.WrongAnnotationTypeException
+     * @throws org.bitbucket.pablo127.gpigvalidator.exception.WrongFieldTypeException
+     */
+    public static <T> void validate(ValidatorEngine engine, Iterator<? extends T> elements,
+                                    Consumer<? super T> validConsumer,
+                                    BiConsumer<? super T, ValidationResult> invalidConsumer) {
+        while (elements.hasNext())
+            route(engine, elements.next(), validConsumer, invalidConsumer);
+    }
+
+    /**
+     * Validate elements of the stream with the default engine, as
+     * {@link #validate(ValidatorEngine, Stream, Consumer, BiConsumer)} does.
+     */
+    public static <T> void validate(Stream<? extends T> elements, Consumer<? super T> validConsumer,
+                                    BiConsumer<? super T, ValidationResult> invalidConsumer) {
+        validate(Validator.getDefaultEngine(), elements, validConsumer, invalidConsumer);
+    }
+
+    /**
+     * Validate elements of the stream, also a parallel one. Consumers are called one at a time and in encounter
+     * order of the stream.
+     * <p>
+     * Elements of a parallel stream are validated out of order. Results of elements validated before an earlier
+     * element is handed over are kept until it is, so memory grows with how far threads of the stream get ahead,
+     * up to the whole stream. Use {@link #validateUnordered(ValidatorEngine, Stream, Consumer, BiConsumer)} when
+     * order is not needed.
+     * @param engine - engine validating elements
+     * @param elements
+     * @param validConsumer - receives correct elements
+     * @param invalidConsumer - receives incorrect elements with their violations
+     */
+    public static <T> void validate(final ValidatorEngine engine, Stream<? extends T> elements,
+                                    final Consumer<? super T> validConsumer,
+                                    final BiConsumer<? super T, ValidationResult> invalidConsumer) {
+        elements.map(new Function<T, Validated<T>>() {
+            @Override
+            public Validated<T> apply(T element) {
+                return new Validated<T>(element, engine.validateWithResult(element));
+            }
+        }).forEachOrdered(new Consumer<Validated<T>>() {
+            @Override
+            public void accept(Validated<T> validated) {
+                validated.route(validConsumer, invalidConsumer);
+            }
+        });
+    }
+
+    /**
+     * Validate elements of the stream with the default engine, as
+     * {@link #validateUnordered(ValidatorEngine, Stream, Consumer, BiConsumer)} does.
+     */
+    public static <T> void validateUnordered(Stream<? extends T> elements, Consumer<? super T> validConsumer,
+                                             BiConsumer<? super T, ValidationResult> invalidConsumer) {
+        validateUnordered(Validator.getDefaultEngine(), elements, validConsumer, invalidConsumer);
+    }
+
+    /**
+     * Validate elements of the stream without keeping encounter order. If the stream is parallel, consumers
+     * are called concurrently from the threads of the stream and have to be thread-safe.
+     * @param engine - engine validating elements
+     * @param elements
+     * @param validConsumer - receives correct elements
+     * @param invalidConsumer - receives incorrect elements with their violations
+     */
+    public static <T> void validateUnordered(final ValidatorEngine engine, Stream<? extends T> elements,
+                                             final Consumer<? super T> validConsumer,
+                                             final BiConsumer<? super T, ValidationResult> invalidConsumer) {
+        elements.unordered().forEach(new Consumer<T>() {
+            @Override
+            public void accept(T element) {
+                route(engine, element, validConsumer, invalidConsumer);
+            }
+        });
+    }
+
+    /**
+     * @return collector which validates elements with the default engine and splits them into correct
+     * and incorrect ones
+     */
+    public static <T> Collector<T, ?, ValidationPartition<T>> partitioning() {
+        return partitioning(Validator.getDefaultEngine());
+    }
+
+    /**
+     * @param engine - engine validating elements
+     * @return collector which validates elements and splits them into correct and incorrect ones
+     */
+    public static <T> Collector<T, ?, ValidationPartition<T>> partitioning(ValidatorEngine engine) {
+        return new PartitioningCollector<>(engine);
+    }
+
+    private static <T> void route(ValidatorEngine engine, T element, Consumer<? super T> validConsumer,
+                                  BiConsumer<? super T, ValidationResult> invalidConsumer) {
+        new Validated<T>(element, engine.validateWithResult(element))
+                .route(validConsumer, invalidConsumer);
+    }
+
+    private static final class Validated<T> {
+
+        private final T element;
+        private final ValidationResult result;
+
+        Validated(T element, ValidationResult result) {
+            this.element = element;
+            this.result = result;
+        }
+
+        void route(Consumer<? super T> validConsumer, BiConsumer<? super T, ValidationResult> invalidConsumer) {
+            if (result.isValid())
+                validConsumer.accept(element);
+            else
+                invalidConsumer.accept(element, result);
+        }
+    }
+
+    private static final class PartitioningCollector<T>
+            implements Collector<T, PartitionBuilder<T>, ValidationPartition<T>> {
+
+        private final ValidatorEngine engine;
+
+        PartitioningCollector(ValidatorEngine engine) {
+            this.engine = engine;
+        }
+
+        @Override
+        public Supplier<PartitionBuilder<T>> supplier() {
+            return new Supplier<PartitionBuilder<T>>() {
+                @Override
+                public PartitionBuilder<T> get() {
+                    return new PartitionBuilder<>(engine);
+                }
+            };
+        }
+
+        @Override
+        public BiConsumer<PartitionBuilder<T>, T> accumulator() {
+            return new BiConsumer<PartitionBuilder<T>, T>() {
+                @Override
+                public void accept(PartitionBuilder<T> partitionBuilder, T element) {
+                    partitionBuilder.add(element);
+                }
+            };
+        }
+
+        @Override
+        public BinaryOperator<PartitionBuilder<T>> combiner() {
+            return new BinaryOperator<PartitionBuilder<T>>() {
+                @Override
+                public PartitionBuilder<T> apply(PartitionBuilder<T> partitionBuilder, PartitionBuilder<T> other) {
+                    return partitionBuilder.addAll(other);
+                }
+            };
+        }
+
+        @Override
+        public Function<PartitionBuilder<T>, ValidationPartition<T>> finisher() {
+            return new Function<PartitionBuilder<T>, ValidationPartition<T>>() {
+                @Override
+                public ValidationPartition<T> apply(PartitionBuilder<T> partitionBuilder) {
+                    return partitionBuilder.build();
+                }
+            };
+        }
+
+        @Override
+        public Set<Characteristics> characteristics() {
+            return Collections.emptySet();
+        }
+    }
+
+    private static final class PartitionBuilder<T> {
+
+        private final ValidatorEngine engine;
+        private final List<T> valid = new ArrayList<>();
+        private final List<InvalidElement<T>> invalid = new ArrayList<>();
+
+        PartitionBuilder(ValidatorEngine engine) {
+            this.engine = engine;
+        }
+
+        void add(T element) {
+            ValidationResult result = engine.validateWithResult(element);
+            if (result.isValid())
+                valid.add(element);
+            else
+                invalid.add(new InvalidElement<>(element, result));
+        }
+
+        PartitionBuilder<T> addAll(PartitionBuilder<T> other) {
+            valid.addAll(other.valid);
+            invalid.addAll(other.invalid);
+            return this;
+        }
+
+        ValidationPartition<T> build() {
+            return new ValidationPartition<>(valid, invalid);
+        }
+    }
+}
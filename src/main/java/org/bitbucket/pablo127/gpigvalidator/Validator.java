@@ -1,34 +1,40 @@
 package org.bitbucket.pablo127.gpigvalidator;
 
 import com.google.common.base.Optional;
-import com.google.common.base.Predicate;
-import com.google.common.collect.FluentIterable;
-import com.google.common.collect.ImmutableList;
-import com.google.common.collect.ImmutableMap;
 import org.bitbucket.pablo127.gpigvalidator.constraint.ConstraintValidator;
-import org.bitbucket.pablo127.gpigvalidator.constraint.EmailValidator;
-import org.bitbucket.pablo127.gpigvalidator.constraint.NotNullValidator;
-import org.bitbucket.pablo127.gpigvalidator.constraint.SizeValidator;
 import org.bitbucket.pablo127.gpigvalidator.exception.*;
-import org.bitbucket.pablo127.gpigvalidator.util.StringBuilderUtil;
 
-import java.lang.annotation.Annotation;
-import java.lang.reflect.Field;
-import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
+/**
+ * Static access to the default {@link ValidatorEngine}.
+ */
 public final class Validator {
 
+    private static volatile ValidatorEngine defaultEngine = ValidatorEngine.builder().build();
+
     private Validator() {
     }
 
-    private static List<ConstraintValidator> getValidators() {
-        return ImmutableList.of(
-                new NotNullValidator(),
-                new EmailValidator(),
-                new SizeValidator()
-        );
+    /**
+     * @return engine used by static methods of this class
+     */
+    public static ValidatorEngine getDefaultEngine() {
+        return defaultEngine;
+    }
+
+    /**
+     * Register validator for additional annotation type or replace built-in validator of the same annotation type.
+     * @param constraintValidator
+     */
+    public static synchronized void registerConstraintValidator(ConstraintValidator constraintValidator) {
+        defaultEngine = defaultEngine.toBuilder()
+                .constraintValidator(constraintValidator)
+                .build();
     }
 
     /**
@@ -40,12 +46,7 @@ public final class Validator {
      * @throws WrongFieldTypeException
      */
     public static boolean isCorrectObject(Object objectToValidate) {
-        Class clazz = objectToValidate.getClass();
-        boolean result = true;
-        for (Field field : clazz.getDeclaredFields())
-            result &= isCorrectFieldForAnnotations(objectToValidate, field);
-
-        return result;
+        return defaultEngine.isCorrectObject(objectToValidate);
     }
 
     /**
@@ -58,12 +59,7 @@ public final class Validator {
      * @throws WrongFieldTypeException
      */
     public static void validateObject(Object objectToValidate, Class<? extends ValidationException> exceptionToThrow) {
-        Class clazz = objectToValidate.getClass();
-        for (Field field : clazz.getDeclaredFields()) {
-            Optional<String> errorsOpt = checkFieldForErrors(objectToValidate, field);
-            if (errorsOpt.isPresent())
-                throwValidationException(exceptionToThrow, errorsOpt.get());
-        }
+        defaultEngine.validateObject(objectToValidate, exceptionToThrow);
     }
 
     /**
@@ -75,7 +71,7 @@ public final class Validator {
      * @throws WrongFieldTypeException
      */
     public static void validateObject(Object objectToValidate) {
-        validateObject(objectToValidate, ValidationException.class);
+        defaultEngine.validateObject(objectToValidate);
     }
 
     /**
@@ -89,7 +85,7 @@ public final class Validator {
      * @throws NotExistingField
      */
     public static void validateField(Object objectToValidate, String fieldName) {
-        validateField(objectToValidate, fieldName, ValidationException.class);
+        defaultEngine.validateField(objectToValidate, fieldName);
     }
 
     /**
@@ -105,38 +101,19 @@ public final class Validator {
      */
     public static void validateField(Object objectToValidate, String fieldName,
                                      Class<? extends ValidationException> exceptionToThrow) {
-        Class clazz = objectToValidate.getClass();
-        for (Field field : clazz.getDeclaredFields()) {
-            if (field.getName().equals(fieldName)) {
-                Optional<String> errorsOpt = checkFieldForErrors(objectToValidate, field);
-                if (errorsOpt.isPresent())
-                    throwValidationException(exceptionToThrow, errorsOpt.get());
-                else
-                    return;
-            }
-        }
-        throw new NotExistingField();
+        defaultEngine.validateField(objectToValidate, fieldName, exceptionToThrow);
     }
 
     /**
      * Validate object and return map with incorrect messages.
      * @param objectToValidate
-     * @return immutable map with: key - name of field; value - error message
+     * @return immutable map with: key - path of field, e.g. {@code lines[3].email}; value - error message
      * @throws InternalException
      * @throws WrongAnnotationTypeException
      * @throws WrongFieldTypeException
      */
     public static Map<String, String> validateWithErrorMessages(Object objectToValidate) {
-        final Map<String, String> errorsMap = new HashMap<>();
-
-        validate(objectToValidate, new ErrorCollectStrategy() {
-            @Override
-            public void collectError(String fieldName, String errorMessage) {
-                errorsMap.put(fieldName, errorMessage);
-            }
-        });
-
-        return ImmutableMap.copyOf(errorsMap);
+        return defaultEngine.validateWithErrorMessages(objectToValidate);
     }
 
     /**
@@ -148,130 +125,110 @@ public final class Validator {
      * @throws WrongFieldTypeException
      */
     public static Optional<String> validateWithErrorMessage(Object objectToValidate) {
-        final StringBuilder messageBuilder = new StringBuilder();
-
-        validate(objectToValidate, new ErrorCollectStrategy() {
-            @Override
-            public void collectError(String fieldName, String errorMessage) {
-                StringBuilderUtil.appendWithSpaceIfNeeded(messageBuilder, errorMessage);
-            }
-        });
-
-        return messageBuilder.length() > 0
-                ? Optional.of(messageBuilder.toString())
-                : Optional.<String>absent();
+        return defaultEngine.validateWithErrorMessage(objectToValidate);
     }
 
     /**
-     * Method checks if specific field from object is correct.
+     * Validate object and return map with incorrect messages in given locale. Locale is used only by this call.
      * @param objectToValidate
-     * @param fieldName
-     * @return true if field is correct; false otherwise
+     * @param locale - locale of messages
+     * @return immutable map with: key - path of field, e.g. {@code lines[3].email}; value - error message
      * @throws InternalException
      * @throws WrongAnnotationTypeException
      * @throws WrongFieldTypeException
-     * @throws NotExistingField
      */
-    public static boolean isCorrectField(Object objectToValidate, String fieldName) {
-        Class clazz = objectToValidate.getClass();
-        Optional<Field> fieldOpt = getField(clazz.getDeclaredFields(), fieldName);
-        if (fieldOpt.isPresent())
-            return isCorrectFieldForAnnotations(objectToValidate, fieldOpt.get());
-
-        throw new NotExistingField();
+    public static Map<String, String> validateWithErrorMessages(Object objectToValidate, Locale locale) {
+        return defaultEngine.withLocale(locale).validateWithErrorMessages(objectToValidate);
     }
 
-    protected static Optional<String> checkAnnotationConstraintError(Object objectToValidate, Field field,
-                                                                     Annotation annotation) {
-        try {
-            field.setAccessible(true);
-
-            Object fieldValue = field.get(objectToValidate);
-
-            Optional<String> errorOpt = checkErrorInFieldForAnnotation(annotation, fieldValue);
-            if (errorOpt.isPresent())
-                return Optional.of(String.format("Field '%s' %s", field.getName(), errorOpt.get()));
-            return errorOpt;
-        } catch (IllegalArgumentException | IllegalAccessException e) {
-            throw new InternalException(e);
-        }
-    }
-
-    private static void validate(Object objectToValidate, ErrorCollectStrategy errorCollectStrategy) {
-        Class clazz = objectToValidate.getClass();
-        for (Field field : clazz.getDeclaredFields()) {
-            Optional<String> errorsOpt = checkFieldForErrors(objectToValidate, field);
-            if (errorsOpt.isPresent())
-                errorCollectStrategy.collectError(field.getName(), errorsOpt.get());
-        }
-    }
-
-    private static Optional<String> checkFieldForErrors(Object objectToValidate, Field field) {
-        StringBuilder errorMessageBuilder = new StringBuilder();
-        for (Annotation annotation : field.getAnnotations()) {
-            Optional<String> annotationErrorOpt = checkAnnotationConstraintError(objectToValidate, field, annotation);
-            if (annotationErrorOpt.isPresent())
-                StringBuilderUtil.appendWithSpaceIfNeeded(errorMessageBuilder, annotationErrorOpt.get());
-        }
-
-        return errorMessageBuilder.length() > 0
-                ? Optional.of(errorMessageBuilder.toString())
-                : Optional.<String>absent();
-    }
-
-    private static boolean isAnnotationConstraintCorrect(Object objectToValidate, Field field, Annotation annotation) {
-        return !checkAnnotationConstraintError(objectToValidate, field, annotation)
-                .isPresent();
+    /**
+     * Validate object and return string with incorrect messages in given locale. Locale is used only by this call.
+     * @param objectToValidate
+     * @param locale - locale of messages
+     * @return String with all error messages.
+     * @throws InternalException
+     * @throws WrongAnnotationTypeException
+     * @throws WrongFieldTypeException
+     */
+    public static Optional<String> validateWithErrorMessage(Object objectToValidate, Locale locale) {
+        return defaultEngine.withLocale(locale).validateWithErrorMessage(objectToValidate);
     }
 
-    private static void throwValidationException(Class<? extends ValidationException> exceptionToThrow,
-                                                 String messageToThrow) {
-        try {
-            throw exceptionToThrow.getDeclaredConstructor(String.class)
-                    .newInstance(messageToThrow);
-        } catch (ReflectiveOperationException e) {
-            throw new InternalException("ValidationException class is incorrect. It has to be public outer class.", e);
-        }
+    /**
+     * Validate object and return its violations. Messages are not created until they are requested
+     * from the violations.
+     * @param objectToValidate
+     * @return result with violations; shared result without violations if object is correct
+     * @throws InternalException
+     * @throws WrongAnnotationTypeException
+     * @throws WrongFieldTypeException
+     */
+    public static ValidationResult validateWithResult(Object objectToValidate) {
+        return defaultEngine.validateWithResult(objectToValidate);
     }
 
-    private static Optional<Field> getField(Field[] fields, String fieldName) {
-        for (Field field : fields) {
-            if (field.getName().equals(fieldName))
-                return Optional.of(field);
-        }
-
-        return Optional.absent();
+    /**
+     * Validate object asynchronously. It runs on virtual threads on JDK 21 and newer, otherwise on a pool
+     * with one thread per processor; when too many validations wait for the pool, the calling thread runs
+     * the next one itself.
+     * @param objectToValidate
+     * @return future of result; it completes exceptionally with exceptions of
+     * {@link #validateWithResult(Object)}
+     */
+    public static CompletableFuture<ValidationResult> validateAsync(Object objectToValidate) {
+        return defaultEngine.validateAsync(objectToValidate);
     }
 
-    private static Optional<String> checkErrorInFieldForAnnotation(Annotation annotation, Object fieldValue) {
-        Optional<ConstraintValidator> validatorOpt = getConstraintValidatorOptional(annotation.annotationType());
-
-        if (validatorOpt.isPresent())
-            return validatorOpt.get().getErrorMessage(fieldValue, annotation);
-
-        throw new WrongAnnotationTypeException("Currently no such an annotation is supported.");
+    /**
+     * Validate object asynchronously on given executor.
+     * @param objectToValidate
+     * @param executor - executor running validation
+     * @return future of result; it completes exceptionally with exceptions of
+     * {@link #validateWithResult(Object)}
+     */
+    public static CompletableFuture<ValidationResult> validateAsync(Object objectToValidate, Executor executor) {
+        return defaultEngine.validateAsync(objectToValidate, executor);
     }
 
-    private static boolean isCorrectFieldForAnnotations(Object objectToValidate, Field field) {
-        boolean result = true;
-        for (Annotation annotation : field.getAnnotations())
-            result &= isAnnotationConstraintCorrect(objectToValidate, field, annotation);
-
-        return result;
+    /**
+     * Validate all objects of the list in parallel, on a fork-join pool owned by the library.
+     * @param objectsToValidate
+     * @return results of incorrect objects with their indices
+     * @throws InternalException
+     * @throws WrongAnnotationTypeException
+     * @throws WrongFieldTypeException
+     */
+    public static BatchValidationResult validateAll(List<?> objectsToValidate) {
+        return defaultEngine.validateAll(objectsToValidate);
     }
 
-    private static Optional<ConstraintValidator> getConstraintValidatorOptional(
-            final Class<? extends Annotation> annotationType) {
-        return FluentIterable.from(getValidators())
-                .firstMatch(new Predicate<ConstraintValidator>() {
-                    @Override
-                    public boolean apply(ConstraintValidator validator) {
-                        return annotationType.equals(validator.getAnnotationType());
-                    }
-                });
+    /**
+     * Validate all objects of the list in parallel. List is split into contiguous chunks, which are validated
+     * by given executor; the last chunk is validated by the calling thread, and so are chunks which no thread
+     * of the executor has started when the calling thread is done with its own. It can be called from a task
+     * running on the same executor. When validation of a chunk fails, chunks not started yet are cancelled.
+     * @param objectsToValidate
+     * @param executor - executor running validation of chunks
+     * @return results of incorrect objects with their indices
+     * @throws InternalException
+     * @throws WrongAnnotationTypeException
+     * @throws WrongFieldTypeException
+     */
+    public static BatchValidationResult validateAll(List<?> objectsToValidate, Executor executor) {
+        return defaultEngine.validateAll(objectsToValidate, executor);
     }
 
-    private interface ErrorCollectStrategy {
-        void collectError(String fieldName, String errorMessage);
+    /**
+     * Method checks if specific field from object is correct.
+     * @param objectToValidate
+     * @param fieldName
+     * @return true if field is correct; false otherwise
+     * @throws InternalException
+     * @throws WrongAnnotationTypeException
+     * @throws WrongFieldTypeException
+     * @throws NotExistingField
+     */
+    public static boolean isCorrectField(Object objectToValidate, String fieldName) {
+        return defaultEngine.isCorrectField(objectToValidate, fieldName);
     }
 }
@@ -0,0 +1,618 @@
+package org.bitbucket.pablo127.gpigvalidator;
+
+import com.google.common.base.Function;
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.bitbucket.pablo127.gpigvalidator.constraint.ConstraintValidator;
+import org.bitbucket.pablo127.gpigvalidator.constraint.PatternValidator;
+import org.bitbucket.pablo127.gpigvalidator.constraint.TranslationConfig;
+import org.bitbucket.pablo127.gpigvalidator.exception.*;
+import org.bitbucket.pablo127.gpigvalidator.util.StringBuilderUtil;
+
+import java.lang.annotation.Annotation;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.ServiceLoader;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+/**
+ * Validator with its own configuration: locale of messages, constraint validators, factory of exceptions and
+ * policy of caching validation plans. Engine is immutable and all its caches belong to it, so engines with
+ * different configurations can be used side by side from any number of threads.
+ * Static methods of {@link Validator} use the default engine.
+ * <p>
+ * Methods validating whole objects also validate objects in fields annotated with {@link javax.validation.Valid},
+ * including elements of collections, arrays and values of maps in such fields. Methods validating a single field
+ * check only constraints of that field.
+ */
+public final class ValidatorEngine {
+
+    /**
+     * How validation plans (fields, accessors and resolved validators of a class) are kept.
+     */
+    public enum CachePolicy {
+        /**
+         * Plan of a class is built once and kept as long as the engine and the class exist.
+         */
+        CACHE,
+        /**
+         * Plan is built on every validation. Suitable for classes which are validated only once.
+         */
+        NO_CACHE
+    }
+
+    static final int DEFAULT_PARALLEL_THRESHOLD = 1024;
+
+    private final Locale locale;
+    private final Map<Class<?>, ConstraintValidator> constraintValidators;
+    private final List<ConstraintValidator> discoveredValidators;
+    private final ValidationExceptionFactory exceptionFactory;
+    private final CachePolicy cachePolicy;
+    private final int parallelThreshold;
+    private final PatternValidator patternValidator;
+
+    private final ConstraintValidatorRegistry registry;
+    private final ClassValue<ValidationPlan> validationPlans;
+    private final Function<Object, ValidationPlan> validationPlanProvider = new Function<Object, ValidationPlan>() {
+        @Override
+        public ValidationPlan apply(Object object) {
+            return getValidationPlan(object);
+        }
+    };
+
+    private ValidatorEngine(Builder builder) {
+        this.locale = builder.locale;
+        this.constraintValidators = ImmutableMap.copyOf(builder.constraintValidators);
+        this.discoveredValidators = builder.getDiscoveredValidators();
+        this.exceptionFactory = builder.exceptionFactory;
+        this.cachePolicy = builder.cachePolicy;
+        this.parallelThreshold = builder.parallelThreshold;
+        this.patternValidator = builder.patternValidator;
+
+        this.registry = ConstraintValidatorRegistry.withDefaultValidators();
+        if (patternValidator != null)
+            registry.register(patternValidator);
+        for (ConstraintValidator constraintValidator : discoveredValidators)
+            registry.register(constraintValidator);
+        for (ConstraintValidator constraintValidator : constraintValidators.values())
+            registry.register(constraintValidator);
+
+        this.validationPlans = cachePolicy == CachePolicy.CACHE
+                ? new ClassValue<ValidationPlan>() {
+                    @Override
+                    protected ValidationPlan computeValue(Class<?> type) {
+                        return createValidationPlan(type);
+                    }
+                }
+                : null;
+    }
+
+    private ValidatorEngine(ValidatorEngine engine, Locale locale) {
+        this.locale = locale;
+        this.constraintValidators = engine.constraintValidators;
+        this.discoveredValidators = engine.discoveredValidators;
+        this.exceptionFactory = engine.exceptionFactory;
+        this.cachePolicy = engine.cachePolicy;
+        this.parallelThreshold = engine.parallelThreshold;
+        this.patternValidator = engine.patternValidator;
+        this.registry = engine.registry;
+        this.validationPlans = engine.validationPlans;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Engine for a single call or a single caller in other locale. It shares validators and cached plans
+     * with this engine, so it is cheap to create.
+     * @param locale - locale of messages; null to use locale of {@link TranslationConfig}
+     * @return engine which differs from this one only in locale
+     */
+    public ValidatorEngine withLocale(Locale locale) {
+        return Objects.equals(this.locale, locale)
+                ? this
+                : new ValidatorEngine(this, locale);
+    }
+
+    /**
+     * @return builder with configuration of this engine
+     */
+    public Builder toBuilder() {
+        return new Builder(this);
+    }
+
+    /**
+     * @return locale of messages; null if locale of {@link TranslationConfig} is used
+     */
+    public Locale getLocale() {
+        return locale;
+    }
+
+    /**
+     * Check if object is correct in case of constraints.
+     * @param objectToValidate
+     * @return true if object is correct; false otherwise
+     * @throws InternalException
+     * @throws WrongAnnotationTypeException
+     * @throws WrongFieldTypeException
+     */
+    public boolean isCorrectObject(Object objectToValidate) {
+        return traverse(objectToValidate, new CascadingTraversal.ObjectVisitor() {
+            @Override
+            public boolean visit(Object object, ValidationPlan validationPlan, PropertyPath path) {
+                return isCorrectObject(object, validationPlan);
+            }
+        });
+    }
+
+    /**
+     * Validate object. If it is incorrect throw specific ValidationException.
+     * @param objectToValidate
+     * @param exceptionToThrow - exception specific type to throw after incorrect object
+     * @throws InternalException
+     * @throws ValidationException
+     * @throws WrongAnnotationTypeException
+     * @throws WrongFieldTypeException
+     */
+    public void validateObject(Object objectToValidate, final Class<? extends ValidationException> exceptionToThrow) {
+        traverse(objectToValidate, new CascadingTraversal.ObjectVisitor() {
+            @Override
+            public boolean visit(Object object, ValidationPlan validationPlan, PropertyPath path) {
+                for (ConstrainedField field : validationPlan.getConstrainedFields()) {
+                    Optional<String> errorsOpt = checkFieldForErrors(object, field, path);
+                    if (errorsOpt.isPresent())
+                        throwValidationException(exceptionToThrow, errorsOpt.get());
+                }
+                return true;
+            }
+        });
+    }
+
+    /**
+     * Validate object. If it is incorrect throw ValidationException.
+     * @param objectToValidate
+     * @throws InternalException
+     * @throws ValidationException
+     * @throws WrongAnnotationTypeException
+     * @throws WrongFieldTypeException
+     */
+    public void validateObject(Object objectToValidate) {
+        validateObject(objectToValidate, ValidationException.class);
+    }
+
+    /**
+     * Validate specific field in object. If it is incorrect throw ValidationException.
+     * @param objectToValidate
+     * @param fieldName - name of field to validate
+     * @throws InternalException
+     * @throws ValidationException
+     * @throws WrongAnnotationTypeException
+     * @throws WrongFieldTypeException
+     * @throws NotExistingField
+     */
+    public void validateField(Object objectToValidate, String fieldName) {
+        validateField(objectToValidate, fieldName, ValidationException.class);
+    }
+
+    /**
+     * Validate specific field in object. If it is incorrect throw specific ValidationException.
+     * @param objectToValidate
+     * @param fieldName - name of field to validate.
+     * @param exceptionToThrow - exception specific type to throw after incorrect field in object.
+     * @throws InternalException
+     * @throws ValidationException
+     * @throws WrongAnnotationTypeException
+     * @throws WrongFieldTypeException
+     * @throws NotExistingField
+     */
+    public void validateField(Object objectToValidate, String fieldName,
+                              Class<? extends ValidationException> exceptionToThrow) {
+        ValidationPlan validationPlan = getValidationPlan(objectToValidate);
+        if (!validationPlan.hasField(fieldName))
+            throw new NotExistingField();
+
+        Optional<ConstrainedField> fieldOpt = validationPlan.getConstrainedField(fieldName);
+        if (!fieldOpt.isPresent())
+            return;
+
+        Optional<String> errorsOpt = checkFieldForErrors(objectToValidate, fieldOpt.get(), null);
+        if (errorsOpt.isPresent())
+            throwValidationException(exceptionToThrow, errorsOpt.get());
+    }
+
+    /**
+     * Validate object and return map with incorrect messages.
+     * @param objectToValidate
+     * @return immutable map with: key - path of field, e.g. {@code lines[3].email}; value - error message
+     * @throws InternalException
+     * @throws WrongAnnotationTypeException
+     * @throws WrongFieldTypeException
+     */
+    public Map<String, String> validateWithErrorMessages(Object objectToValidate) {
+        final Map<String, String> errorsMap = new HashMap<>();
+
+        validate(objectToValidate, new ErrorCollectStrategy() {
+            @Override
+            public void collectError(String fieldName, String errorMessage) {
+                errorsMap.put(fieldName, errorMessage);
+            }
+        });
+
+        return ImmutableMap.copyOf(errorsMap);
+    }
+
+    /**
+     * Validate object and return string with incorrect messages.
+     * @param objectToValidate
+     * @return String with all error messages.
+     * @throws InternalException
+     * @throws WrongAnnotationTypeException
+     * @throws WrongFieldTypeException
+     */
+    public Optional<String> validateWithErrorMessage(Object objectToValidate) {
+        final StringBuilder messageBuilder = new StringBuilder();
+
+        validate(objectToValidate, new ErrorCollectStrategy() {
+            @Override
+            public void collectError(String fieldName, String errorMessage) {
+                StringBuilderUtil.appendWithSpaceIfNeeded(messageBuilder, errorMessage);
+            }
+        });
+
+        return messageBuilder.length() > 0
+                ? Optional.of(messageBuilder.toString())
+                : Optional.<String>absent();
+    }
+
+    /**
+     * Validate object and return its violations. Messages are not created until they are requested
+     * from the violations.
+     * @param objectToValidate
+     * @return result with violations; shared result without violations if object is correct
+     * @throws InternalException
+     * @throws WrongAnnotationTypeException
+     * @throws WrongFieldTypeException
+     */
+    public ValidationResult validateWithResult(Object objectToValidate) {
+        ViolationCollector violationCollector = new ViolationCollector(locale);
+        traverse(objectToValidate, violationCollector);
+        return violationCollector.getResult();
+    }
+
+    /**
+     * Validate object asynchronously. It runs on virtual threads on JDK 21 and newer, otherwise on a pool
+     * with one thread per processor; when too many validations wait for the pool, the calling thread runs
+     * the next one itself.
+     * @param objectToValidate
+     * @return future of result; it completes exceptionally with exceptions of
+     * {@link #validateWithResult(Object)}
+     */
+    public CompletableFuture<ValidationResult> validateAsync(Object objectToValidate) {
+        return validateAsync(objectToValidate, AsyncExecutors.getDefaultExecutor());
+    }
+
+    /**
+     * Validate object asynchronously on given executor.
+     * @param objectToValidate
+     * @param executor - executor running validation
+     * @return future of result; it completes exceptionally with exceptions of
+     * {@link #validateWithResult(Object)}
+     */
+    public CompletableFuture<ValidationResult> validateAsync(final Object objectToValidate, Executor executor) {
+        return CompletableFuture.supplyAsync(new Supplier<ValidationResult>() {
+            @Override
+            public ValidationResult get() {
+                return validateWithResult(objectToValidate);
+            }
+        }, executor);
+    }
+
+    /**
+     * Validate all objects of the list in parallel, on a fork-join pool owned by the library.
+     * @param objectsToValidate
+     * @return results of incorrect objects with their indices
+     * @throws InternalException
+     * @throws WrongAnnotationTypeException
+     * @throws WrongFieldTypeException
+     */
+    public BatchValidationResult validateAll(List<?> objectsToValidate) {
+        return validateAll(objectsToValidate, BatchValidator.getDefaultExecutor());
+    }
+
+    /**
+     * Validate all objects of the list in parallel. List is split into contiguous chunks, which are validated
+     * by given executor; the last chunk is validated by the calling thread, and so are chunks which no thread
+     * of the executor has started when the calling thread is done with its own. It can be called from a task
+     * running on the same executor. When validation of a chunk fails, chunks not started yet are cancelled.
+     * @param objectsToValidate
+     * @param executor - executor running validation of chunks
+     * @return results of incorrect objects with their indices
+     * @throws InternalException
+     * @throws WrongAnnotationTypeException
+     * @throws WrongFieldTypeException
+     */
+    public BatchValidationResult validateAll(List<?> objectsToValidate, Executor executor) {
+        return BatchValidator.validateAll(this, objectsToValidate, executor);
+    }
+
+    /**
+     * Validate object as {@link #validateWithResult(Object)} does, splitting collections and arrays in fields
+     * annotated with {@code @Valid} which have at least parallel threshold of the engine elements into tasks
+     * of a fork-join pool owned by the library. Violations are in the same order as in a sequential validation.
+     * Objects shared by elements validated in different tasks are validated in each of them.
+     * @param objectToValidate
+     * @return result with violations; shared result without violations if object is correct
+     * @throws InternalException
+     * @throws WrongAnnotationTypeException
+     * @throws WrongFieldTypeException
+     */
+    public ValidationResult validateInParallel(Object objectToValidate) {
+        return validateInParallel(objectToValidate, BatchValidator.getDefaultExecutor());
+    }
+
+    /**
+     * Validate object as {@link #validateInParallel(Object)} does, on given fork-join pool.
+     * @param objectToValidate
+     * @param pool - pool running tasks; when called from a task of this pool, tasks are forked in the current one
+     * @return result with violations; shared result without violations if object is correct
+     * @throws InternalException
+     * @throws WrongAnnotationTypeException
+     * @throws WrongFieldTypeException
+     */
+    public ValidationResult validateInParallel(Object objectToValidate, ForkJoinPool pool) {
+        return new ParallelGraphValidator(validationPlanProvider, locale, parallelThreshold, pool)
+                .validate(objectToValidate);
+    }
+
+    /**
+     * Method checks if specific field from object is correct.
+     * @param objectToValidate
+     * @param fieldName
+     * @return true if field is correct; false otherwise
+     * @throws InternalException
+     * @throws WrongAnnotationTypeException
+     * @throws WrongFieldTypeException
+     * @throws NotExistingField
+     */
+    public boolean isCorrectField(Object objectToValidate, String fieldName) {
+        ValidationPlan validationPlan = getValidationPlan(objectToValidate);
+        if (!validationPlan.hasField(fieldName))
+            throw new NotExistingField();
+
+        Optional<ConstrainedField> fieldOpt = validationPlan.getConstrainedField(fieldName);
+        if (!fieldOpt.isPresent())
+            return true;
+
+        fieldOpt.get().checkConstraintsSupported();
+        return isCorrectFieldForAnnotations(objectToValidate, fieldOpt.get());
+    }
+
+    private Optional<String> checkAnnotationConstraintError(ConstrainedField field, PropertyPath path,
+                                                            Object fieldValue, FieldConstraint constraint) {
+        if (constraint.isAcceptedByCompiledCheck(fieldValue))
+            return Optional.absent();
+
+        Optional<String> errorOpt;
+        TranslationConfig.LocaleScope localeScope = TranslationConfig.useLocale(locale);
+        try {
+            errorOpt = constraint.getValidator()
+                    .getErrorMessage(fieldValue, constraint.getAnnotation());
+        } finally {
+            localeScope.close();
+        }
+        if (errorOpt.isPresent())
+            return Optional.of(String.format("Field '%s' %s",
+                    PropertyPath.toString(path, field.getName()), errorOpt.get()));
+        return errorOpt;
+    }
+
+    private ValidationPlan getValidationPlan(Object objectToValidate) {
+        Class<?> clazz = objectToValidate.getClass();
+        return validationPlans != null
+                ? validationPlans.get(clazz)
+                : createValidationPlan(clazz);
+    }
+
+    private boolean traverse(Object objectToValidate, CascadingTraversal.ObjectVisitor visitor) {
+        return CascadingTraversal.traverse(objectToValidate, validationPlanProvider, visitor);
+    }
+
+    private ValidationPlan createValidationPlan(Class<?> clazz) {
+        return ValidationPlan.create(clazz, new Function<Class<? extends Annotation>, Optional<ConstraintValidator>>() {
+            @Override
+            public Optional<ConstraintValidator> apply(Class<? extends Annotation> annotationType) {
+                return registry.getValidator(annotationType);
+            }
+        });
+    }
+
+    private void validate(Object objectToValidate, final ErrorCollectStrategy errorCollectStrategy) {
+        traverse(objectToValidate, new CascadingTraversal.ObjectVisitor() {
+            @Override
+            public boolean visit(Object object, ValidationPlan validationPlan, PropertyPath path) {
+                for (ConstrainedField field : validationPlan.getConstrainedFields()) {
+                    Optional<String> errorsOpt = checkFieldForErrors(object, field, path);
+                    if (errorsOpt.isPresent())
+                        errorCollectStrategy.collectError(PropertyPath.toString(path, field.getName()),
+                                errorsOpt.get());
+                }
+                return true;
+            }
+        });
+    }
+
+    /**
+     * @param path - path of the object; null for the validated object
+     */
+    private Optional<String> checkFieldForErrors(Object object, ConstrainedField field, PropertyPath path) {
+        Object fieldValue = field.getValue(object);
+
+        StringBuilder errorMessageBuilder = null;
+        for (FieldConstraint constraint : field.getConstraints()) {
+            Optional<String> annotationErrorOpt = checkAnnotationConstraintError(field, path, fieldValue, constraint);
+            if (annotationErrorOpt.isPresent()) {
+                if (errorMessageBuilder == null)
+                    errorMessageBuilder = new StringBuilder();
+                StringBuilderUtil.appendWithSpaceIfNeeded(errorMessageBuilder, annotationErrorOpt.get());
+            }
+        }
+
+        return errorMessageBuilder != null
+                ? Optional.of(errorMessageBuilder.toString())
+                : Optional.<String>absent();
+    }
+
+    private void throwValidationException(Class<? extends ValidationException> exceptionToThrow,
+                                          String messageToThrow) {
+        throw exceptionFactory.create(exceptionToThrow, messageToThrow);
+    }
+
+    /**
+     * Checks constraints of the object without objects of its cascaded fields.
+     */
+    private boolean isCorrectObject(Object object, ValidationPlan validationPlan) {
+        if (validationPlan.getGeneratedValidator().isPresent())
+            return validationPlan.getGeneratedValidator().get().isCorrect(object);
+
+        validationPlan.checkConstraintsSupported();
+        for (ConstrainedField field : validationPlan.getConstrainedFields()) {
+            if (!isCorrectFieldForAnnotations(object, field))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Stops at the first violated constraint and does not create error messages.
+     */
+    private boolean isCorrectFieldForAnnotations(Object objectToValidate, ConstrainedField field) {
+        Object fieldValue = field.getValue(objectToValidate);
+
+        for (FieldConstraint constraint : field.getConstraints()) {
+            if (!constraint.isCorrect(fieldValue))
+                return false;
+        }
+        return true;
+    }
+
+    private interface ErrorCollectStrategy {
+        void collectError(String fieldName, String errorMessage);
+    }
+
+    /**
+     * Builder of engines. It starts with built-in validators and validators found by {@link ServiceLoader}, no
+     * locale of its own, exceptions created through their public (String) constructors, cached plans
+     * and parallel threshold of 1024 elements.
+     * Validators found by ServiceLoader replace built-in ones and are replaced by ones added to the builder.
+     */
+    public static final class Builder {
+
+        private Locale locale;
+        private final Map<Class<?>, ConstraintValidator> constraintValidators = new LinkedHashMap<>();
+        private ClassLoader discoveryClassLoader = ConstraintValidatorDiscovery.getDefaultClassLoader();
+        private List<ConstraintValidator> discoveredValidators;
+        private ValidationExceptionFactory exceptionFactory = ConstructorValidationExceptionFactory.INSTANCE;
+        private CachePolicy cachePolicy = CachePolicy.CACHE;
+        private int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+        private PatternValidator patternValidator;
+
+        private Builder() {
+        }
+
+        private Builder(ValidatorEngine engine) {
+            this.locale = engine.locale;
+            this.constraintValidators.putAll(engine.constraintValidators);
+            this.discoveryClassLoader = null;
+            this.discoveredValidators = engine.discoveredValidators;
+            this.exceptionFactory = engine.exceptionFactory;
+            this.cachePolicy = engine.cachePolicy;
+            this.parallelThreshold = engine.parallelThreshold;
+            this.patternValidator = engine.patternValidator;
+        }
+
+        /**
+         * @param locale - locale of messages; null to use locale of {@link TranslationConfig}
+         */
+        public Builder locale(Locale locale) {
+            this.locale = locale;
+            return this;
+        }
+
+        /**
+         * Add validator for additional annotation type or replace built-in validator of the same annotation type.
+         */
+        public Builder constraintValidator(ConstraintValidator constraintValidator) {
+            constraintValidators.put(constraintValidator.getAnnotationType(), constraintValidator);
+            return this;
+        }
+
+        /**
+         * Find validators with {@link ServiceLoader} of given class loader, once, when the engine is built.
+         * By default validators are found with context class loader of the thread building the engine.
+         * Builder of an existing engine reuses validators found for that engine. Listed validators which cannot
+         * be loaded or created are logged with {@link java.util.logging} and skipped.
+         * @param classLoader - class loader to search; null to not use ServiceLoader at all
+         */
+        public Builder discoverConstraintValidators(ClassLoader classLoader) {
+            this.discoveryClassLoader = classLoader;
+            this.discoveredValidators = null;
+            return this;
+        }
+
+        public Builder exceptionFactory(ValidationExceptionFactory exceptionFactory) {
+            this.exceptionFactory = Preconditions.checkNotNull(exceptionFactory);
+            return this;
+        }
+
+        public Builder cachePolicy(CachePolicy cachePolicy) {
+            this.cachePolicy = Preconditions.checkNotNull(cachePolicy);
+            return this;
+        }
+
+        /**
+         * @param parallelThreshold - minimal number of elements of a collection or an array in a field annotated
+         * with {@code @Valid} which {@link #validateInParallel(Object)} splits into parallel tasks; also maximal
+         * number of elements validated by one task
+         */
+        public Builder parallelThreshold(int parallelThreshold) {
+            Preconditions.checkArgument(parallelThreshold > 0, "Parallel threshold has to be positive.");
+            this.parallelThreshold = parallelThreshold;
+            return this;
+        }
+
+        /**
+         * Match values of {@code @Pattern} in time linear in their length, immune to catastrophic backtracking.
+         * Patterns with features which need backtracking, like backreferences or lookarounds, are matched by
+         * {@link java.util.regex.Pattern}, but only against values not longer than given length; longer values
+         * are incorrect. By default all patterns are matched by {@link java.util.regex.Pattern}.
+         * @param maxFallbackInputLength - maximal length of a value matched by {@link java.util.regex.Pattern}
+         */
+        public Builder linearPatternMatching(int maxFallbackInputLength) {
+            this.patternValidator = PatternValidator.withLinearMatching(maxFallbackInputLength);
+            return this;
+        }
+
+        public ValidatorEngine build() {
+            return new ValidatorEngine(this);
+        }
+
+        private List<ConstraintValidator> getDiscoveredValidators() {
+            if (discoveredValidators == null) {
+                discoveredValidators = discoveryClassLoader != null
+                        ? ConstraintValidatorDiscovery.discover(discoveryClassLoader)
+                        : ImmutableList.<ConstraintValidator>of();
+            }
+            return discoveredValidators;
+        }
+    }
+}
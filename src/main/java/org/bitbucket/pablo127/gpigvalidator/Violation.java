@@ -0,0 +1,101 @@
+package org.bitbucket.pablo127.gpigvalidator;
+
+import com.google.common.base.Optional;
+import org.bitbucket.pablo127.gpigvalidator.constraint.ConstraintValidator;
+import org.bitbucket.pablo127.gpigvalidator.constraint.TranslationConfig;
+import org.bitbucket.pablo127.gpigvalidator.constraint.Utf8Sequence;
+
+import java.lang.annotation.Annotation;
+import java.util.Locale;
+
+/**
+ * Violated constraint of a field. It keeps only what was known during validation: the field with its path
+ * from the validated object, the annotation
+ * with its attributes (e.g. {@code min} and {@code max} of {@code Size}) and the rejected value.
+ * Message is rendered when {@link #getMessage()} is called, with the locale of the engine which found
+ * the violation or, if the engine has no locale, with the locale configured at that moment.
+ */
+public final class Violation {
+
+    private final String propertyPath;
+    private final String fieldName;
+    private final Annotation annotation;
+    private final Object rejectedValue;
+    private final ConstraintValidator validator;
+    private final Locale locale;
+
+    Violation(String propertyPath, String fieldName, Annotation annotation, Object rejectedValue,
+              ConstraintValidator validator, Locale locale) {
+        this.propertyPath = propertyPath;
+        this.fieldName = fieldName;
+        this.annotation = annotation;
+        this.rejectedValue = rejectedValue instanceof Utf8Sequence
+                ? rejectedValue.toString()
+                : rejectedValue;
+        this.validator = validator;
+        this.locale = locale;
+    }
+
+    /**
+     * @return path of the field from the validated object, e.g. {@code order.lines[3].email} for a field of
+     * an object reached through fields annotated with {@code @Valid}; name of the field for a field of
+     * the validated object
+     */
+    public String getPropertyPath() {
+        return propertyPath;
+    }
+
+    public String getFieldName() {
+        return fieldName;
+    }
+
+    public Class<? extends Annotation> getConstraintType() {
+        return annotation.annotationType();
+    }
+
+    /**
+     * @return annotation of the field with arguments of the constraint
+     */
+    public Annotation getAnnotation() {
+        return annotation;
+    }
+
+    /**
+     * @return value of the field; text of a field annotated with {@link Utf8} is decoded to a String when
+     * the violation is found, so it does not change with the bytes and can be read from any thread
+     */
+    public Object getRejectedValue() {
+        return rejectedValue;
+    }
+
+    /**
+     * Render message in the same form as messages of {@link Validator#validateWithErrorMessages(Object)}.
+     * @return message for this constraint only
+     */
+    public String getMessage() {
+        return getMessage(locale);
+    }
+
+    /**
+     * Render message in given locale, regardless of locale of the engine and of {@link TranslationConfig}.
+     * @param locale - locale of message; null to use the locale configured at this moment
+     * @return message for this constraint only
+     */
+    public String getMessage(Locale locale) {
+        Optional<String> errorOpt;
+        TranslationConfig.LocaleScope localeScope = TranslationConfig.useLocale(locale);
+        try {
+            errorOpt = validator.getErrorMessage(rejectedValue, annotation);
+        } finally {
+            localeScope.close();
+        }
+        return String.format("Field '%s' %s",
+                propertyPath,
+                errorOpt.or("is not correct for @" + getConstraintType().getSimpleName() + "."));
+    }
+
+    @Override
+    public String toString() {
+        return "Violation{" + propertyPath + " @" + getConstraintType().getSimpleName() + "}";
+    }
+}
@@ -0,0 +1,106 @@
+package org.bitbucket.pablo127.gpigvalidator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Collects violations of all visited objects. The list is created with the first violation.
+ * <p>
+ * A collector of a part of a split collection also keeps the object of each violation, so violations of objects
+ * visited by an earlier part can be left out when parts are merged.
+ */
+final class ViolationCollector implements CascadingTraversal.ObjectVisitor {
+
+    private final Locale locale;
+    private final boolean keepObjects;
+    private List<Violation> violations;
+    private List<Object> violatedObjects;
+
+    /**
+     * @param locale - locale of the engine; null if it has no locale
+     */
+    ViolationCollector(Locale locale) {
+        this(locale, false);
+    }
+
+    /**
+     * @param locale - locale of the engine; null if it has no locale
+     * @param keepObjects - true to keep the object of each violation, as collectors of parts do
+     */
+    ViolationCollector(Locale locale, boolean keepObjects) {
+        this.locale = locale;
+        this.keepObjects = keepObjects;
+    }
+
+    @Override
+    public boolean visit(Object object, ValidationPlan validationPlan, PropertyPath path) {
+        if (validationPlan.getGeneratedValidator().isPresent()
+                && validationPlan.getGeneratedValidator().get().isCorrect(object))
+            return true;
+
+        for (ConstrainedField field : validationPlan.getConstrainedFields()) {
+            Object fieldValue = field.getValue(object);
+            for (FieldConstraint constraint : field.getConstraints()) {
+                if (constraint.isCorrect(fieldValue))
+                    continue;
+
+                addViolation(object, new Violation(PropertyPath.toString(path, field.getName()), field.getName(),
+                        constraint.getAnnotation(), fieldValue, constraint.getValidator(), locale));
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Add violations collected by another collector, after violations of this one.
+     */
+    void addAll(ViolationCollector violationCollector) {
+        if (violationCollector.violations == null)
+            return;
+
+        for (int i = 0; i < violationCollector.violations.size(); i++)
+            addViolation(violationCollector.getViolatedObject(i), violationCollector.violations.get(i));
+    }
+
+    /**
+     * Add violations collected by a collector of a later part, after violations of this one, except violations
+     * of objects which an earlier part visited too; a sequential walk would have skipped them.
+     * @param violationCollector - collector which keeps objects of violations
+     * @param visitedObjects - objects visited by earlier parts
+     */
+    void addAllNotVisited(ViolationCollector violationCollector, CascadingTraversal.VisitedObjects visitedObjects) {
+        if (violationCollector.violations == null)
+            return;
+
+        for (int i = 0; i < violationCollector.violations.size(); i++) {
+            Object violatedObject = violationCollector.violatedObjects.get(i);
+            if (!visitedObjects.contains(violatedObject))
+                addViolation(violatedObject, violationCollector.violations.get(i));
+        }
+    }
+
+    /**
+     * @return result with collected violations in order of visits
+     */
+    ValidationResult getResult() {
+        return violations == null
+                ? ValidationResult.valid()
+                : ValidationResult.of(violations);
+    }
+
+    private void addViolation(Object violatedObject, Violation violation) {
+        if (violations == null) {
+            violations = new ArrayList<>();
+            if (keepObjects)
+                violatedObjects = new ArrayList<>();
+        }
+        violations.add(violation);
+        if (keepObjects)
+            violatedObjects.add(violatedObject);
+    }
+
+    private Object getViolatedObject(int index) {
+        return violatedObjects != null ? violatedObjects.get(index) : null;
+    }
+}
@@ -0,0 +1,12 @@
+package org.bitbucket.pablo127.gpigvalidator.constraint;
+
+/**
+ * Regular expression of {@code @Pattern} compiled once and shared by all threads.
+ */
+interface CompiledPattern {
+
+    /**
+     * @return true if the whole value matches the pattern
+     */
+    boolean matches(CharSequence value);
+}
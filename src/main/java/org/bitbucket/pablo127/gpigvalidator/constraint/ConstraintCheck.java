@@ -0,0 +1,10 @@
+package org.bitbucket.pablo127.gpigvalidator.constraint;
+
+/**
+ * Check of a single constraint with attributes of its annotation resolved in advance, see
+ * {@link ConstraintChecks}.
+ */
+public interface ConstraintCheck {
+
+    boolean isCorrect(Object objectValue);
+}
@@ -0,0 +1,160 @@
+package org.bitbucket.pablo127.gpigvalidator.constraint;
+
+import com.google.common.base.Optional;
+import org.hibernate.validator.constraints.Email;
+
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Pattern;
+import javax.validation.constraints.Size;
+import java.lang.annotation.Annotation;
+import java.util.Map;
+
+/**
+ * Creates specialized checks for built-in validators. Checks do not touch the annotation nor build any message,
+ * so they are meant to answer only whether the value is correct. Incorrect values should be passed to
+ * the validator to get the error message or the exception it throws.
+ * <p>
+ * No code is generated at runtime: checks are hand-written classes, one for each built-in validator, and
+ * {@code compile} only picks the class and stores attributes of the annotation in it, once for every field
+ * when its plan is built. Validation then makes one interface call per constraint instead of unpacking
+ * the annotation in the validator. Validators generated at compile time are provided by the
+ * {@code gpigvalidator-processor} module.
+ */
+public final class ConstraintChecks {
+
+    private ConstraintChecks() {
+    }
+
+    /**
+     * @param validator
+     * @param annotation
+     * @return check equivalent to {@link ConstraintValidator#isCorrect(Object, Annotation)} for given annotation;
+     * absent if the validator is not one of built-in validators or the annotation does not match it
+     */
+    public static Optional<ConstraintCheck> compile(ConstraintValidator validator, Annotation annotation) {
+        return compile(validator, annotation, Object.class);
+    }
+
+    /**
+     * @param validator
+     * @param annotation
+     * @param fieldType - declared type of the field; checks specialized for it do not test type of values
+     * @return check equivalent to {@link ConstraintValidator#isCorrect(Object, Annotation)} for given annotation
+     * and values of given type; absent if the validator is not one of built-in validators or the annotation
+     * does not match it
+     */
+    public static Optional<ConstraintCheck> compile(ConstraintValidator validator, Annotation annotation,
+                                                    Class<?> fieldType) {
+        Class<?> validatorClass = validator.getClass();
+
+        if (validatorClass == NotNullValidator.class && annotation instanceof NotNull)
+            return Optional.<ConstraintCheck>of(NotNullCheck.INSTANCE);
+        if (validatorClass == EmailValidator.class && annotation instanceof Email)
+            return Optional.<ConstraintCheck>of(EmailCheck.INSTANCE);
+        if (validatorClass == SizeValidator.class && annotation instanceof Size) {
+            Size sizeAnnotation = (Size) annotation;
+            return Optional.<ConstraintCheck>of(
+                    new SizeCheck(Sizer.forType(fieldType), sizeAnnotation.min(), sizeAnnotation.max()));
+        }
+        if (validatorClass == PatternValidator.class && annotation instanceof Pattern) {
+            CompiledPattern pattern = ((PatternValidator) validator).compile((Pattern) annotation);
+            return Optional.<ConstraintCheck>of(new PatternCheck(pattern));
+        }
+
+        return Optional.absent();
+    }
+
+    /**
+     * Same check as {@link EmailValidator} does for not null String. Used by generated validators.
+     * @param value
+     * @return true if value is an email; false otherwise
+     */
+    public static boolean isEmail(String value) {
+        return EmailValidator.isEmail(value);
+    }
+
+    /**
+     * Same check as {@link EmailValidator} does for not null CharSequence. Used by generated validators.
+     * @param value
+     * @return true if value is an email; false otherwise
+     */
+    public static boolean isEmail(CharSequence value) {
+        return EmailValidator.isEmail(value);
+    }
+
+    /**
+     * Same size as {@link SizeValidator} reads for not null collection or iterable. Used by generated validators.
+     * @param max - maximal correct size
+     * @return size of the iterable if it is at most max; otherwise some number greater than max
+     */
+    public static int getSize(Iterable<?> iterable, int max) {
+        return Sizer.getIterableSize(iterable, max);
+    }
+
+    /**
+     * Same size as {@link SizeValidator} reads for not null map. Used by generated validators.
+     * @param max - maximal correct size
+     * @return size of the map if it is at most max; otherwise some number greater than max
+     */
+    public static int getSize(Map<?, ?> map, int max) {
+        return Sizer.getMapSize(map, max);
+    }
+
+    private static final class NotNullCheck implements ConstraintCheck {
+
+        private static final NotNullCheck INSTANCE = new NotNullCheck();
+
+        @Override
+        public boolean isCorrect(Object objectValue) {
+            return objectValue != null;
+        }
+    }
+
+    private static final class EmailCheck implements ConstraintCheck {
+
+        private static final EmailCheck INSTANCE = new EmailCheck();
+
+        @Override
+        public boolean isCorrect(Object objectValue) {
+            return objectValue instanceof CharSequence
+                    && EmailValidator.isEmail((CharSequence) objectValue);
+        }
+    }
+
+    private static final class SizeCheck implements ConstraintCheck {
+
+        private final Sizer sizer;
+        private final int min;
+        private final int max;
+
+        private SizeCheck(Sizer sizer, int min, int max) {
+            this.sizer = sizer;
+            this.min = min;
+            this.max = max;
+        }
+
+        @Override
+        public boolean isCorrect(Object objectValue) {
+            if (objectValue == null)
+                return false;
+
+            int size = sizer.getSize(objectValue, max);
+            return min <= size && size <= max;
+        }
+    }
+
+    private static final class PatternCheck implements ConstraintCheck {
+
+        private final CompiledPattern pattern;
+
+        private PatternCheck(CompiledPattern pattern) {
+            this.pattern = pattern;
+        }
+
+        @Override
+        public boolean isCorrect(Object objectValue) {
+            return objectValue instanceof CharSequence
+                    && pattern.matches((CharSequence) objectValue);
+        }
+    }
+}
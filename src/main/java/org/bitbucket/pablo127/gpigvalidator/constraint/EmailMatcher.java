@@ -0,0 +1,103 @@
+package org.bitbucket.pablo127.gpigvalidator.constraint;
+
+/**
+ * Single-pass matcher of the language described by {@link EmailValidator#EMAIL_PATTERN}:
+ * <ul>
+ *     <li>local part - segments separated with dots; the first one of {@code [_A-Za-z0-9-+]},
+ *     next ones of {@code [_A-Za-z0-9-]}</li>
+ *     <li>{@code @}</li>
+ *     <li>domain - the first label of {@code [A-Za-z0-9-]}, at least one next label of {@code [A-Za-z0-9]},
+ *     the last label of at least two letters</li>
+ * </ul>
+ * Every character is read once, nothing is allocated. Any {@link CharSequence} is read in place,
+ * e.g. a slice of a {@link java.nio.CharBuffer}, so it does not have to be copied into a String first.
+ */
+final class EmailMatcher {
+
+    private static final int MIN_TOP_LEVEL_DOMAIN_LENGTH = 2;
+
+    private EmailMatcher() {
+    }
+
+    static boolean matches(CharSequence value) {
+        int length = value.length();
+
+        int index = skipLocalFirstSegment(value, 0);
+        if (index == 0)
+            return false;
+
+        while (index < length && value.charAt(index) == '.') {
+            int segmentStart = index + 1;
+            index = skipLocalSegment(value, segmentStart);
+            if (index == segmentStart)
+                return false;
+        }
+
+        if (index == length || value.charAt(index) != '@')
+            return false;
+
+        int domainStart = index + 1;
+        index = skipDomainFirstLabel(value, domainStart);
+        if (index == domainStart)
+            return false;
+
+        boolean lastLabelOfLetters = false;
+        int lastLabelLength = 0;
+        while (index < length) {
+            if (value.charAt(index) != '.')
+                return false;
+
+            int labelStart = ++index;
+            lastLabelOfLetters = true;
+            for (; index < length; index++) {
+                char character = value.charAt(index);
+                if (isLetter(character))
+                    continue;
+                if (isDigit(character))
+                    lastLabelOfLetters = false;
+                else
+                    break;
+            }
+
+            lastLabelLength = index - labelStart;
+            if (lastLabelLength == 0)
+                return false;
+        }
+
+        return lastLabelOfLetters && lastLabelLength >= MIN_TOP_LEVEL_DOMAIN_LENGTH;
+    }
+
+    private static int skipLocalFirstSegment(CharSequence value, int index) {
+        while (index < value.length() && (isLocalCharacter(value.charAt(index)) || value.charAt(index) == '+'))
+            index++;
+        return index;
+    }
+
+    private static int skipLocalSegment(CharSequence value, int index) {
+        while (index < value.length() && isLocalCharacter(value.charAt(index)))
+            index++;
+        return index;
+    }
+
+    private static int skipDomainFirstLabel(CharSequence value, int index) {
+        while (index < value.length() && (isLetterOrDigit(value.charAt(index)) || value.charAt(index) == '-'))
+            index++;
+        return index;
+    }
+
+    private static boolean isLocalCharacter(char character) {
+        return isLetterOrDigit(character) || character == '_' || character == '-';
+    }
+
+    private static boolean isLetterOrDigit(char character) {
+        return isLetter(character) || isDigit(character);
+    }
+
+    private static boolean isLetter(char character) {
+        return (character >= 'a' && character <= 'z') || (character >= 'A' && character <= 'Z');
+    }
+
+    private static boolean isDigit(char character) {
+        return character >= '0' && character <= '9';
+    }
+}
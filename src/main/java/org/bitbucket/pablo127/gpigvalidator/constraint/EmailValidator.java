@@ -6,11 +6,13 @@ import org.bitbucket.pablo127.gpigvalidator.exception.WrongFieldTypeException;
 import org.hibernate.validator.constraints.Email;
 
 import java.lang.annotation.Annotation;
-import java.util.regex.Pattern;
 
 public class EmailValidator implements ConstraintValidator {
 
-    private static final String EMAIL_PATTERN = "^[_A-Za-z0-9-\\+]+(\\.[_A-Za-z0-9-]+)*@"
+    /**
+     * Language of correct emails. It is matched by {@link EmailMatcher} without regular expressions engine.
+     */
+    static final String EMAIL_PATTERN = "^[_A-Za-z0-9-\\+]+(\\.[_A-Za-z0-9-]+)*@"
             + "[A-Za-z0-9-]+(\\.[A-Za-z0-9]+)*(\\.[A-Za-z]{2,})$";
 
     @Override
@@ -23,11 +25,8 @@ public class EmailValidator implements ConstraintValidator {
         if (areWrongPreconditions(objectValue, annotation))
             return false;
 
-        if (objectValue instanceof String) {
-            Pattern pattern = Pattern.compile(EMAIL_PATTERN);
-            return pattern.matcher((String) objectValue)
-                    .matches();
-        }
+        if (objectValue instanceof CharSequence)
+            return isEmail((CharSequence) objectValue);
         throw new WrongFieldTypeException();
     }
 
@@ -37,7 +36,7 @@ public class EmailValidator implements ConstraintValidator {
             return Optional.absent();
 
         return Optional.of(
-                String.format(TranslationConfig.getTranslation(Message.EMAIL_ERROR_MESSAGE), objectValue));
+                TranslationConfig.getTemplate(Message.EMAIL_ERROR_MESSAGE).format(objectValue));
     }
 
     private boolean areWrongPreconditions(Object objectValue, Annotation annotation) {
@@ -48,4 +47,11 @@ public class EmailValidator implements ConstraintValidator {
 
         return false;
     }
+
+    static boolean isEmail(CharSequence value) {
+        // correct emails are ASCII, so UTF-8 text with other characters is rejected without decoding it
+        if (value instanceof Utf8Sequence && !((Utf8Sequence) value).isAscii())
+            return false;
+        return EmailMatcher.matches(value);
+    }
 }
@@ -0,0 +1,46 @@
+package org.bitbucket.pablo127.gpigvalidator.constraint;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Regular expression compiled once by {@link Pattern}, with {@link Matcher}s reused through a {@link StatePool},
+ * so matching usually does not allocate, also on virtual threads. The matcher is reset after each match and
+ * does not keep the last value alive.
+ * <p>
+ * Backtracking of {@link Pattern} may take time exponential in length of the input, so values longer than
+ * the maximal input length can be rejected without matching them.
+ */
+final class JdkPattern implements CompiledPattern {
+
+    private final Pattern pattern;
+    private final int maxInputLength;
+    private final StatePool<Matcher> matchers = new StatePool<Matcher>() {
+        @Override
+        protected Matcher create() {
+            return pattern.matcher("");
+        }
+    };
+
+    /**
+     * @param maxInputLength - length of the longest value which is matched; longer values do not match
+     */
+    JdkPattern(String regexp, int flags, int maxInputLength) {
+        this.pattern = Pattern.compile(regexp, flags);
+        this.maxInputLength = maxInputLength;
+    }
+
+    @Override
+    public boolean matches(CharSequence value) {
+        if (value.length() > maxInputLength)
+            return false;
+
+        Matcher matcher = matchers.acquire();
+        try {
+            return matcher.reset(value).matches();
+        } finally {
+            matcher.reset("");
+            matchers.release(matcher);
+        }
+    }
+}
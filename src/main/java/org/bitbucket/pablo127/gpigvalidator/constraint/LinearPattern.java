@@ -0,0 +1,785 @@
+package org.bitbucket.pablo127.gpigvalidator.constraint;
+
+import com.google.common.base.Optional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Regular expression matched without backtracking. The pattern is compiled to a Thompson NFA, and matching
+ * follows all its states at once, one code point of the input after another. Time of matching is proportional
+ * to length of the input times size of the pattern, whatever the input is.
+ * <p>
+ * Only the part of {@link Pattern} syntax which constraints usually need is supported: literals and escaped
+ * metacharacters, {@code .}, character classes with ranges and negation, {@code \d \D \w \W \s \S},
+ * {@code \t \n \r \f \a \e \xhh} and <code>&#92;uhhhh</code>, groups {@code (...)}, {@code (?:...)} and
+ * {@code (?<name>...)}, alternation, greedy and reluctant quantifiers {@code * + ? {n} {n,} {n,m}},
+ * {@code ^} at the start and {@code $} at the end of the pattern, flags {@link Pattern#UNIX_LINES},
+ * {@link Pattern#CASE_INSENSITIVE} and {@link Pattern#DOTALL}. For supported patterns the result is the same
+ * as of {@link java.util.regex.Matcher#matches()}.
+ */
+final class LinearPattern implements CompiledPattern {
+
+    /**
+     * Maximal number of states of the NFA, which limits patterns with large counted repetitions.
+     */
+    static final int MAX_STATES = 10000;
+
+    private static final int SUPPORTED_FLAGS = Pattern.UNIX_LINES | Pattern.CASE_INSENSITIVE | Pattern.DOTALL;
+
+    private static final int CHARACTER = 0;
+    private static final int SPLIT = 1;
+    private static final int JUMP = 2;
+    private static final int MATCH = 3;
+
+    private final int[] opcodes;
+    private final int[] targets;
+    private final CharacterSet[] characterSets;
+
+    private final StatePool<Simulation> simulations = new StatePool<Simulation>() {
+        @Override
+        protected Simulation create() {
+            return new Simulation(opcodes.length);
+        }
+    };
+
+    private LinearPattern(int[] opcodes, int[] targets, CharacterSet[] characterSets) {
+        this.opcodes = opcodes;
+        this.targets = targets;
+        this.characterSets = characterSets;
+    }
+
+    /**
+     * @param flags - flags of {@link Pattern#compile(String, int)}
+     * @return pattern matched in linear time; absent if the pattern uses syntax or flags which are not supported
+     * @throws PatternSyntaxException if the regular expression is not correct
+     */
+    static Optional<LinearPattern> compile(String regexp, int flags) {
+        Pattern.compile(regexp, flags);
+        if ((flags & ~SUPPORTED_FLAGS) != 0)
+            return Optional.absent();
+
+        try {
+            Node root = new Parser(regexp, flags).parse();
+            if (root.getSize() >= MAX_STATES)
+                return Optional.absent();
+
+            Program program = new Program();
+            root.emit(program);
+            program.add(MATCH);
+            return Optional.of(program.build());
+        } catch (UnsupportedSyntaxException e) {
+            return Optional.absent();
+        }
+    }
+
+    @Override
+    public boolean matches(CharSequence value) {
+        Simulation simulation = simulations.acquire();
+        try {
+            return matches(value, simulation);
+        } finally {
+            simulations.release(simulation);
+        }
+    }
+
+    private boolean matches(CharSequence value, Simulation simulation) {
+        StateSet current = simulation.current;
+        StateSet next = simulation.next;
+
+        current.clear();
+        addState(current, 0, simulation.stack);
+
+        int length = value.length();
+        for (int index = 0; index < length; ) {
+            int codePoint = Character.codePointAt(value, index);
+            index += Character.charCount(codePoint);
+
+            next.clear();
+            for (int i = 0; i < current.size; i++) {
+                int state = current.states[i];
+                if (opcodes[state] == CHARACTER && characterSets[state].contains(codePoint))
+                    addState(next, state + 1, simulation.stack);
+            }
+            if (next.size == 0)
+                return false;
+
+            StateSet swapped = current;
+            current = next;
+            next = swapped;
+        }
+
+        for (int i = 0; i < current.size; i++) {
+            if (opcodes[current.states[i]] == MATCH)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Adds the state and all states reachable from it without reading a code point.
+     */
+    private void addState(StateSet stateSet, int state, int[] stack) {
+        int stackSize = 0;
+        stack[stackSize++] = state;
+        while (stackSize > 0) {
+            int current = stack[--stackSize];
+            if (!stateSet.add(current))
+                continue;
+
+            if (opcodes[current] == SPLIT) {
+                stack[stackSize++] = targets[current];
+                stack[stackSize++] = current + 1;
+            } else if (opcodes[current] == JUMP) {
+                stack[stackSize++] = targets[current];
+            }
+        }
+    }
+
+    /**
+     * Sets of states used by one match at a time and reused through a {@link StatePool}.
+     */
+    private static final class Simulation {
+
+        private final StateSet current;
+        private final StateSet next;
+        private final int[] stack;
+
+        private Simulation(int states) {
+            this.current = new StateSet(states);
+            this.next = new StateSet(states);
+            this.stack = new int[2 * states + 1];
+        }
+    }
+
+    /**
+     * Sparse set of states, cleared in constant time.
+     */
+    private static final class StateSet {
+
+        private final int[] states;
+        private final int[] indexes;
+        private int size;
+
+        private StateSet(int capacity) {
+            this.states = new int[capacity];
+            this.indexes = new int[capacity];
+        }
+
+        private void clear() {
+            size = 0;
+        }
+
+        /**
+         * @return false if the state is already in the set
+         */
+        private boolean add(int state) {
+            int index = indexes[state];
+            if (index < size && states[index] == state)
+                return false;
+
+            indexes[state] = size;
+            states[size++] = state;
+            return true;
+        }
+    }
+
+    private static final class Program {
+
+        private int[] opcodes = new int[16];
+        private int[] targets = new int[16];
+        private CharacterSet[] characterSets = new CharacterSet[16];
+        private int size;
+
+        int getSize() {
+            return size;
+        }
+
+        int add(int opcode) {
+            return add(opcode, null);
+        }
+
+        int add(int opcode, CharacterSet characterSet) {
+            if (size == opcodes.length) {
+                opcodes = Arrays.copyOf(opcodes, 2 * size);
+                targets = Arrays.copyOf(targets, 2 * size);
+                characterSets = Arrays.copyOf(characterSets, 2 * size);
+            }
+            opcodes[size] = opcode;
+            characterSets[size] = characterSet;
+            return size++;
+        }
+
+        void setTarget(int state, int target) {
+            targets[state] = target;
+        }
+
+        LinearPattern build() {
+            return new LinearPattern(
+                    Arrays.copyOf(opcodes, size),
+                    Arrays.copyOf(targets, size),
+                    Arrays.copyOf(characterSets, size));
+        }
+    }
+
+    private abstract static class Node {
+
+        /**
+         * @return number of states the node emits; at most {@link #MAX_STATES}
+         */
+        abstract int getSize();
+
+        abstract void emit(Program program);
+
+        static int limit(long size) {
+            return (int) Math.min(size, MAX_STATES);
+        }
+    }
+
+    private static final class EmptyNode extends Node {
+
+        private static final EmptyNode INSTANCE = new EmptyNode();
+
+        @Override
+        int getSize() {
+            return 0;
+        }
+
+        @Override
+        void emit(Program program) {
+        }
+    }
+
+    private static final class CharacterNode extends Node {
+
+        private final CharacterSet characterSet;
+
+        private CharacterNode(CharacterSet characterSet) {
+            this.characterSet = characterSet;
+        }
+
+        @Override
+        int getSize() {
+            return 1;
+        }
+
+        @Override
+        void emit(Program program) {
+            program.add(CHARACTER, characterSet);
+        }
+    }
+
+    private static final class ConcatenationNode extends Node {
+
+        private final List<Node> nodes;
+
+        private ConcatenationNode(List<Node> nodes) {
+            this.nodes = nodes;
+        }
+
+        @Override
+        int getSize() {
+            long size = 0;
+            for (Node node : nodes)
+                size += node.getSize();
+            return limit(size);
+        }
+
+        @Override
+        void emit(Program program) {
+            for (Node node : nodes)
+                node.emit(program);
+        }
+    }
+
+    private static final class AlternationNode extends Node {
+
+        private final List<Node> alternatives;
+
+        private AlternationNode(List<Node> alternatives) {
+            this.alternatives = alternatives;
+        }
+
+        @Override
+        int getSize() {
+            long size = 2L * (alternatives.size() - 1);
+            for (Node alternative : alternatives)
+                size += alternative.getSize();
+            return limit(size);
+        }
+
+        @Override
+        void emit(Program program) {
+            List<Integer> jumps = new ArrayList<>(alternatives.size() - 1);
+            for (int i = 0; i < alternatives.size() - 1; i++) {
+                int split = program.add(SPLIT);
+                alternatives.get(i).emit(program);
+                jumps.add(program.add(JUMP));
+                program.setTarget(split, program.getSize());
+            }
+            alternatives.get(alternatives.size() - 1).emit(program);
+
+            for (int jump : jumps)
+                program.setTarget(jump, program.getSize());
+        }
+    }
+
+    private static final class RepetitionNode extends Node {
+
+        static final int UNBOUNDED = -1;
+
+        private final Node node;
+        private final int min;
+        private final int max;
+
+        private RepetitionNode(Node node, int min, int max) {
+            this.node = node;
+            this.min = min;
+            this.max = max;
+        }
+
+        @Override
+        int getSize() {
+            long nodeSize = node.getSize();
+            long size = min * nodeSize + (max == UNBOUNDED
+                    ? nodeSize + 2
+                    : (max - min) * (nodeSize + 1));
+            return limit(size);
+        }
+
+        @Override
+        void emit(Program program) {
+            for (int i = 0; i < min; i++)
+                node.emit(program);
+
+            if (max == UNBOUNDED) {
+                int split = program.add(SPLIT);
+                node.emit(program);
+                program.setTarget(program.add(JUMP), split);
+                program.setTarget(split, program.getSize());
+            } else {
+                for (int i = min; i < max; i++) {
+                    int split = program.add(SPLIT);
+                    node.emit(program);
+                    program.setTarget(split, program.getSize());
+                }
+            }
+        }
+    }
+
+    /**
+     * Code points as sorted, disjoint, inclusive ranges.
+     */
+    private static final class CharacterSet {
+
+        private static final CharacterSet DIGITS = new CharacterSet(new int[]{'0', '9'});
+        private static final CharacterSet WORD_CHARACTERS =
+                new CharacterSet(new int[]{'0', '9', 'A', 'Z', '_', '_', 'a', 'z'});
+        private static final CharacterSet WHITESPACES = new CharacterSet(new int[]{'\t', '\r', ' ', ' '});
+        private static final CharacterSet LINE_TERMINATORS =
+                new CharacterSet(new int[]{'\n', '\n', '\r', '\r', 0x85, 0x85, 0x2028, 0x2029});
+        private static final CharacterSet NEW_LINE = new CharacterSet(new int[]{'\n', '\n'});
+        private static final CharacterSet ALL = new CharacterSet(new int[]{0, Character.MAX_CODE_POINT});
+
+        private final int[] ranges;
+
+        private CharacterSet(int[] ranges) {
+            this.ranges = ranges;
+        }
+
+        static CharacterSet of(int codePoint) {
+            return new CharacterSet(new int[]{codePoint, codePoint});
+        }
+
+        boolean isSingle() {
+            return ranges.length == 2 && ranges[0] == ranges[1];
+        }
+
+        int getFirst() {
+            return ranges[0];
+        }
+
+        boolean contains(int codePoint) {
+            int low = 0;
+            int high = ranges.length / 2 - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                if (codePoint < ranges[2 * middle])
+                    high = middle - 1;
+                else if (codePoint > ranges[2 * middle + 1])
+                    low = middle + 1;
+                else
+                    return true;
+            }
+            return false;
+        }
+
+        CharacterSet complement() {
+            int[] complement = new int[ranges.length + 2];
+            int size = 0;
+            int start = 0;
+            for (int i = 0; i < ranges.length; i += 2) {
+                if (ranges[i] > start) {
+                    complement[size++] = start;
+                    complement[size++] = ranges[i] - 1;
+                }
+                start = ranges[i + 1] + 1;
+            }
+            if (start <= Character.MAX_CODE_POINT) {
+                complement[size++] = start;
+                complement[size++] = Character.MAX_CODE_POINT;
+            }
+            return new CharacterSet(Arrays.copyOf(complement, size));
+        }
+
+        /**
+         * @return set with other case of all ASCII letters of this set, as {@link Pattern#CASE_INSENSITIVE} does
+         * without {@link Pattern#UNICODE_CASE}
+         */
+        CharacterSet withAsciiCases() {
+            CharacterSetBuilder builder = new CharacterSetBuilder();
+            builder.add(this);
+            for (int i = 0; i < ranges.length; i += 2) {
+                addShifted(builder, ranges[i], ranges[i + 1], 'a', 'z', 'A' - 'a');
+                addShifted(builder, ranges[i], ranges[i + 1], 'A', 'Z', 'a' - 'A');
+            }
+            return builder.build();
+        }
+
+        private static void addShifted(CharacterSetBuilder builder, int start, int end, int min, int max, int shift) {
+            int shiftedStart = Math.max(start, min);
+            int shiftedEnd = Math.min(end, max);
+            if (shiftedStart <= shiftedEnd)
+                builder.add(shiftedStart + shift, shiftedEnd + shift);
+        }
+    }
+
+    private static final class CharacterSetBuilder {
+
+        private final List<int[]> ranges = new ArrayList<>();
+
+        void add(int start, int end) {
+            ranges.add(new int[]{start, end});
+        }
+
+        void add(CharacterSet characterSet) {
+            for (int i = 0; i < characterSet.ranges.length; i += 2)
+                add(characterSet.ranges[i], characterSet.ranges[i + 1]);
+        }
+
+        CharacterSet build() {
+            int[][] sorted = ranges.toArray(new int[ranges.size()][]);
+            Arrays.sort(sorted, new Comparator<int[]>() {
+                @Override
+                public int compare(int[] first, int[] second) {
+                    return Integer.compare(first[0], second[0]);
+                }
+            });
+
+            int[] merged = new int[2 * sorted.length];
+            int size = 0;
+            for (int[] range : sorted) {
+                if (size > 0 && range[0] <= merged[size - 1] + 1) {
+                    merged[size - 1] = Math.max(merged[size - 1], range[1]);
+                } else {
+                    merged[size++] = range[0];
+                    merged[size++] = range[1];
+                }
+            }
+            return new CharacterSet(Arrays.copyOf(merged, size));
+        }
+    }
+
+    /**
+     * Recursive descent parser of the supported syntax. Correctness of the pattern is checked
+     * by {@link Pattern#compile(String, int)} before, so anything unexpected is only reported as unsupported.
+     */
+    private static final class Parser {
+
+        private final int[] codePoints;
+        private final int flags;
+        private int position;
+
+        private Parser(String regexp, int flags) {
+            this.codePoints = regexp.codePoints().toArray();
+            this.flags = flags;
+        }
+
+        Node parse() throws UnsupportedSyntaxException {
+            Node root = parseAlternation();
+            if (position != codePoints.length)
+                throw new UnsupportedSyntaxException();
+            return root;
+        }
+
+        private Node parseAlternation() throws UnsupportedSyntaxException {
+            List<Node> alternatives = new ArrayList<>();
+            alternatives.add(parseConcatenation());
+            while (isNext('|')) {
+                position++;
+                alternatives.add(parseConcatenation());
+            }
+            return alternatives.size() == 1
+                    ? alternatives.get(0)
+                    : new AlternationNode(alternatives);
+        }
+
+        private Node parseConcatenation() throws UnsupportedSyntaxException {
+            List<Node> nodes = new ArrayList<>();
+            while (position < codePoints.length && !isNext('|') && !isNext(')'))
+                nodes.add(parseRepetition());
+            return new ConcatenationNode(nodes);
+        }
+
+        private Node parseRepetition() throws UnsupportedSyntaxException {
+            boolean anchor = isNext('^') || isNext('$');
+            Node node = parseAtom();
+            if (!isQuantifierNext())
+                return node;
+            if (anchor)
+                throw new UnsupportedSyntaxException();
+
+            int min;
+            int max;
+            int quantifier = codePoints[position++];
+            if (quantifier == '*') {
+                min = 0;
+                max = RepetitionNode.UNBOUNDED;
+            } else if (quantifier == '+') {
+                min = 1;
+                max = RepetitionNode.UNBOUNDED;
+            } else if (quantifier == '?') {
+                min = 0;
+                max = 1;
+            } else {
+                min = parseNumber();
+                max = min;
+                if (isNext(',')) {
+                    position++;
+                    max = isNext('}') ? RepetitionNode.UNBOUNDED : parseNumber();
+                }
+                expect('}');
+            }
+
+            if (isNext('?'))
+                position++;
+            else if (isNext('+'))
+                throw new UnsupportedSyntaxException();
+            if (isQuantifierNext())
+                throw new UnsupportedSyntaxException();
+
+            return new RepetitionNode(node, min, max);
+        }
+
+        private Node parseAtom() throws UnsupportedSyntaxException {
+            int start = position;
+            int codePoint = next();
+            switch (codePoint) {
+                case '(':
+                    return parseGroup();
+                case '[':
+                    return new CharacterNode(parseClass());
+                case '.':
+                    return new CharacterNode(getDot());
+                case '^':
+                    if (start != 0)
+                        throw new UnsupportedSyntaxException();
+                    return EmptyNode.INSTANCE;
+                case '$':
+                    if (position != codePoints.length)
+                        throw new UnsupportedSyntaxException();
+                    return EmptyNode.INSTANCE;
+                case '\\':
+                    return new CharacterNode(withCase(parseEscape()));
+                case '*':
+                case '+':
+                case '?':
+                case '{':
+                case '}':
+                case ']':
+                    throw new UnsupportedSyntaxException();
+                default:
+                    return new CharacterNode(withCase(CharacterSet.of(codePoint)));
+            }
+        }
+
+        private Node parseGroup() throws UnsupportedSyntaxException {
+            if (isNext('?')) {
+                position++;
+                int kind = next();
+                if (kind == '<' && position < codePoints.length && isAsciiLetter(codePoints[position])) {
+                    while (position < codePoints.length && isAsciiLetterOrDigit(codePoints[position]))
+                        position++;
+                    expect('>');
+                } else if (kind != ':') {
+                    throw new UnsupportedSyntaxException();
+                }
+            }
+
+            Node node = parseAlternation();
+            expect(')');
+            return node;
+        }
+
+        private CharacterSet parseClass() throws UnsupportedSyntaxException {
+            boolean negated = isNext('^');
+            if (negated)
+                position++;
+            if (isNext(']'))
+                throw new UnsupportedSyntaxException();
+
+            CharacterSetBuilder builder = new CharacterSetBuilder();
+            while (!isNext(']')) {
+                if (isNext('&') && isNextAt(position + 1, '&'))
+                    throw new UnsupportedSyntaxException();
+
+                CharacterSet item = parseClassItem();
+                if (isNext('-') && !isNextAt(position + 1, ']')) {
+                    position++;
+                    CharacterSet end = parseClassItem();
+                    if (!item.isSingle() || !end.isSingle())
+                        throw new UnsupportedSyntaxException();
+                    builder.add(item.getFirst(), end.getFirst());
+                } else {
+                    builder.add(item);
+                }
+            }
+            position++;
+
+            CharacterSet characterSet = withCase(builder.build());
+            return negated ? characterSet.complement() : characterSet;
+        }
+
+        private CharacterSet parseClassItem() throws UnsupportedSyntaxException {
+            int codePoint = next();
+            if (codePoint == '[')
+                throw new UnsupportedSyntaxException();
+            return codePoint == '\\'
+                    ? parseEscape()
+                    : CharacterSet.of(codePoint);
+        }
+
+        private CharacterSet parseEscape() throws UnsupportedSyntaxException {
+            int codePoint = next();
+            switch (codePoint) {
+                case 'd':
+                    return CharacterSet.DIGITS;
+                case 'D':
+                    return CharacterSet.DIGITS.complement();
+                case 'w':
+                    return CharacterSet.WORD_CHARACTERS;
+                case 'W':
+                    return CharacterSet.WORD_CHARACTERS.complement();
+                case 's':
+                    return CharacterSet.WHITESPACES;
+                case 'S':
+                    return CharacterSet.WHITESPACES.complement();
+                case 't':
+                    return CharacterSet.of('\t');
+                case 'n':
+                    return CharacterSet.of('\n');
+                case 'r':
+                    return CharacterSet.of('\r');
+                case 'f':
+                    return CharacterSet.of('\f');
+                case 'a':
+                    return CharacterSet.of('\u0007');
+                case 'e':
+                    return CharacterSet.of('\u001B');
+                case 'x':
+                    return CharacterSet.of(parseHex(2));
+                case 'u':
+                    int character = parseHex(4);
+                    if (Character.isSurrogate((char) character))
+                        throw new UnsupportedSyntaxException();
+                    return CharacterSet.of(character);
+                default:
+                    if (Character.isLetterOrDigit(codePoint))
+                        throw new UnsupportedSyntaxException();
+                    return CharacterSet.of(codePoint);
+            }
+        }
+
+        private CharacterSet getDot() {
+            if ((flags & Pattern.DOTALL) != 0)
+                return CharacterSet.ALL;
+            if ((flags & Pattern.UNIX_LINES) != 0)
+                return CharacterSet.NEW_LINE.complement();
+            return CharacterSet.LINE_TERMINATORS.complement();
+        }
+
+        private CharacterSet withCase(CharacterSet characterSet) {
+            return (flags & Pattern.CASE_INSENSITIVE) != 0
+                    ? characterSet.withAsciiCases()
+                    : characterSet;
+        }
+
+        private int parseNumber() throws UnsupportedSyntaxException {
+            long number = 0;
+            int start = position;
+            while (position < codePoints.length && '0' <= codePoints[position] && codePoints[position] <= '9') {
+                number = 10 * number + codePoints[position++] - '0';
+                if (number > MAX_STATES)
+                    throw new UnsupportedSyntaxException();
+            }
+            if (position == start)
+                throw new UnsupportedSyntaxException();
+            return (int) number;
+        }
+
+        private int parseHex(int digits) throws UnsupportedSyntaxException {
+            int value = 0;
+            for (int i = 0; i < digits; i++) {
+                int digit = Character.digit(next(), 16);
+                if (digit < 0)
+                    throw new UnsupportedSyntaxException();
+                value = 16 * value + digit;
+            }
+            return value;
+        }
+
+        private boolean isQuantifierNext() {
+            return isNext('*') || isNext('+') || isNext('?') || isNext('{');
+        }
+
+        private boolean isNext(int codePoint) {
+            return isNextAt(position, codePoint);
+        }
+
+        private boolean isNextAt(int index, int codePoint) {
+            return index < codePoints.length && codePoints[index] == codePoint;
+        }
+
+        private int next() throws UnsupportedSyntaxException {
+            if (position == codePoints.length)
+                throw new UnsupportedSyntaxException();
+            return codePoints[position++];
+        }
+
+        private void expect(int codePoint) throws UnsupportedSyntaxException {
+            if (next() != codePoint)
+                throw new UnsupportedSyntaxException();
+        }
+
+        private static boolean isAsciiLetter(int codePoint) {
+            return 'a' <= codePoint && codePoint <= 'z' || 'A' <= codePoint && codePoint <= 'Z';
+        }
+
+        private static boolean isAsciiLetterOrDigit(int codePoint) {
+            return isAsciiLetter(codePoint) || '0' <= codePoint && codePoint <= '9';
+        }
+    }
+
+    private static final class UnsupportedSyntaxException extends Exception {
+
+        private static final long serialVersionUID = 1L;
+
+        private UnsupportedSyntaxException() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -8,6 +8,8 @@ enum Message {
 
     NOT_NULL_ERROR_MESSAGE,
 
+    PATTERN_ERROR_MESSAGE,
+
     SIZE_ERROR_NOT_PROPER_SIZE,
     SIZE_ERROR_FOR_STRING_TOO_SHORT_FORMATTED_MESSAGE,
     SIZE_ERROR_FOR_STRING_TOO_LONG_FORMATTED_MESSAGE,
@@ -0,0 +1,78 @@
+package org.bitbucket.pablo127.gpigvalidator.constraint;
+
+import com.google.common.collect.ImmutableList;
+
+import java.util.Formattable;
+import java.util.List;
+
+/**
+ * Translated message with {@code %s} and {@code %%} parsed once. Formatting concatenates the parsed parts with
+ * arguments, which gives the same result as {@link String#format(String, Object...)} for these conversions.
+ * Messages with other conversions, also {@code %d}, whose digits depend on the locale, and arguments which are
+ * {@link Formattable} are formatted with {@link String#format(String, Object...)}.
+ */
+final class MessageTemplate {
+
+    private final String pattern;
+    private final List<String> literals;
+    private final boolean parsed;
+
+    private MessageTemplate(String pattern, List<String> literals, boolean parsed) {
+        this.pattern = pattern;
+        this.literals = literals;
+        this.parsed = parsed;
+    }
+
+    static MessageTemplate parse(String pattern) {
+        ImmutableList.Builder<String> literalsBuilder = ImmutableList.builder();
+        StringBuilder literal = new StringBuilder();
+
+        for (int i = 0; i < pattern.length(); i++) {
+            char character = pattern.charAt(i);
+            if (character != '%') {
+                literal.append(character);
+                continue;
+            }
+
+            char conversion = i + 1 < pattern.length()
+                    ? pattern.charAt(++i)
+                    : 0;
+            if (conversion == '%') {
+                literal.append('%');
+            } else if (conversion == 's') {
+                literalsBuilder.add(literal.toString());
+                literal.setLength(0);
+            } else {
+                return new MessageTemplate(pattern, ImmutableList.<String>of(), false);
+            }
+        }
+        literalsBuilder.add(literal.toString());
+
+        return new MessageTemplate(pattern, literalsBuilder.build(), true);
+    }
+
+    String getPattern() {
+        return pattern;
+    }
+
+    String format(Object... arguments) {
+        if (!parsed || arguments.length < literals.size() - 1 || hasFormattable(arguments))
+            return String.format(pattern, arguments);
+
+        StringBuilder messageBuilder = new StringBuilder(pattern.length() + 16 * arguments.length);
+        messageBuilder.append(literals.get(0));
+        for (int i = 1; i < literals.size(); i++) {
+            messageBuilder.append(arguments[i - 1]);
+            messageBuilder.append(literals.get(i));
+        }
+        return messageBuilder.toString();
+    }
+
+    private static boolean hasFormattable(Object[] arguments) {
+        for (Object argument : arguments) {
+            if (argument instanceof Formattable)
+                return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,100 @@
+package org.bitbucket.pablo127.gpigvalidator.constraint;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Throwables;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Compiled patterns shared by all threads, keyed by regular expression, flags and way of matching.
+ * The cache is bounded, so applications which build patterns at runtime do not fill the memory; the least
+ * recently used patterns are compiled again when they come back. The bound is spread over segments of the cache,
+ * so it is kept well above the number of patterns an application is expected to use.
+ */
+final class PatternCache {
+
+    static final int MAX_PATTERNS = 4096;
+
+    private static final int JDK_MATCHING = -1;
+
+    private static final LoadingCache<PatternKey, CompiledPattern> PATTERNS = CacheBuilder.newBuilder()
+            .maximumSize(MAX_PATTERNS)
+            .build(new CacheLoader<PatternKey, CompiledPattern>() {
+                @Override
+                public CompiledPattern load(PatternKey key) {
+                    if (key.maxFallbackInputLength == JDK_MATCHING)
+                        return new JdkPattern(key.regexp, key.flags, Integer.MAX_VALUE);
+
+                    Optional<LinearPattern> linearPatternOpt = LinearPattern.compile(key.regexp, key.flags);
+                    return linearPatternOpt.isPresent()
+                            ? linearPatternOpt.get()
+                            : new JdkPattern(key.regexp, key.flags, key.maxFallbackInputLength);
+                }
+            });
+
+    private PatternCache() {
+    }
+
+    /**
+     * @param flags - flags of {@link java.util.regex.Pattern#compile(String, int)}
+     * @return pattern matched by {@link java.util.regex.Pattern}
+     * @throws PatternSyntaxException if the regular expression is not correct
+     */
+    static CompiledPattern get(String regexp, int flags) {
+        return get(new PatternKey(regexp, flags, JDK_MATCHING));
+    }
+
+    /**
+     * @param flags - flags of {@link java.util.regex.Pattern#compile(String, int)}
+     * @param maxFallbackInputLength - length of the longest value matched by {@link java.util.regex.Pattern}
+     * if the pattern is not supported by {@link LinearPattern}
+     * @return pattern matched in linear time if {@link LinearPattern} supports it; otherwise pattern matched
+     * by {@link java.util.regex.Pattern}, which rejects longer values
+     * @throws PatternSyntaxException if the regular expression is not correct
+     */
+    static CompiledPattern getLinear(String regexp, int flags, int maxFallbackInputLength) {
+        return get(new PatternKey(regexp, flags, maxFallbackInputLength));
+    }
+
+    private static CompiledPattern get(PatternKey key) {
+        try {
+            return PATTERNS.getUnchecked(key);
+        } catch (UncheckedExecutionException e) {
+            Throwables.propagateIfPossible(e.getCause());
+            throw e;
+        }
+    }
+
+    private static final class PatternKey {
+
+        private final String regexp;
+        private final int flags;
+        private final int maxFallbackInputLength;
+
+        private PatternKey(String regexp, int flags, int maxFallbackInputLength) {
+            this.regexp = regexp;
+            this.flags = flags;
+            this.maxFallbackInputLength = maxFallbackInputLength;
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (!(object instanceof PatternKey))
+                return false;
+
+            PatternKey other = (PatternKey) object;
+            return flags == other.flags
+                    && maxFallbackInputLength == other.maxFallbackInputLength
+                    && regexp.equals(other.regexp);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * regexp.hashCode() + flags) + maxFallbackInputLength;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package org.bitbucket.pablo127.gpigvalidator.constraint;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import org.bitbucket.pablo127.gpigvalidator.exception.WrongAnnotationTypeException;
+import org.bitbucket.pablo127.gpigvalidator.exception.WrongFieldTypeException;
+
+import javax.validation.constraints.Pattern;
+import java.lang.annotation.Annotation;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Checks {@link Pattern} on any {@link CharSequence}. By default patterns are matched by
+ * {@link java.util.regex.Pattern}, which backtracks, so crafted values may take time exponential in their length.
+ * Validator created by {@link #withLinearMatching(int)} matches in time linear in length of values instead.
+ */
+public class PatternValidator implements ConstraintValidator {
+
+    private static final int JDK_MATCHING = -1;
+
+    private final int maxFallbackInputLength;
+
+    public PatternValidator() {
+        this(JDK_MATCHING);
+    }
+
+    private PatternValidator(int maxFallbackInputLength) {
+        this.maxFallbackInputLength = maxFallbackInputLength;
+    }
+
+    /**
+     * Validator which matches values in time linear in their length, whatever the values are. Patterns which use
+     * syntax not supported by the linear matching, e.g. back references or lookarounds, are matched by
+     * {@link java.util.regex.Pattern}; longer values than given length do not match them.
+     * @param maxFallbackInputLength - length of the longest value matched by {@link java.util.regex.Pattern}
+     */
+    public static PatternValidator withLinearMatching(int maxFallbackInputLength) {
+        Preconditions.checkArgument(maxFallbackInputLength >= 0, "Maximal input length cannot be negative.");
+        return new PatternValidator(maxFallbackInputLength);
+    }
+
+    @Override
+    public Class<Pattern> getAnnotationType() {
+        return Pattern.class;
+    }
+
+    @Override
+    public boolean isCorrect(Object objectValue, Annotation annotation) {
+        if (areWrongPreconditions(objectValue, annotation))
+            return false;
+
+        if (objectValue instanceof CharSequence)
+            return compile((Pattern) annotation).matches((CharSequence) objectValue);
+        throw new WrongFieldTypeException();
+    }
+
+    @Override
+    public Optional<String> getErrorMessage(Object objectValue, Annotation annotation) {
+        if (isCorrect(objectValue, annotation))
+            return Optional.absent();
+
+        return Optional.of(
+                TranslationConfig.getTemplate(Message.PATTERN_ERROR_MESSAGE)
+                        .format(objectValue, ((Pattern) annotation).regexp()));
+    }
+
+    private boolean areWrongPreconditions(Object objectValue, Annotation annotation) {
+        if (objectValue == null)
+            return true;
+        if (!(annotation instanceof Pattern))
+            throw new WrongAnnotationTypeException();
+
+        return false;
+    }
+
+    /**
+     * @return pattern of the annotation from the shared cache; compiled only if it is not there
+     * @throws WrongAnnotationTypeException if the regular expression of the annotation is not correct
+     */
+    CompiledPattern compile(Pattern patternAnnotation) {
+        int flags = 0;
+        for (Pattern.Flag flag : patternAnnotation.flags())
+            flags |= flag.getValue();
+
+        try {
+            return maxFallbackInputLength == JDK_MATCHING
+                    ? PatternCache.get(patternAnnotation.regexp(), flags)
+                    : PatternCache.getLinear(patternAnnotation.regexp(), flags, maxFallbackInputLength);
+        } catch (PatternSyntaxException e) {
+            throw new WrongAnnotationTypeException(
+                    "Regular expression of @Pattern is not correct: " + patternAnnotation.regexp(), e);
+        }
+    }
+}
@@ -7,7 +7,7 @@ import org.bitbucket.pablo127.gpigvalidator.util.StringBuilderUtil;
 
 import javax.validation.constraints.Size;
 import java.lang.annotation.Annotation;
-import java.util.Collection;
+import java.lang.reflect.Array;
 import java.util.Map;
 
 public class SizeValidator implements ConstraintValidator {
@@ -24,7 +24,7 @@ public class SizeValidator implements ConstraintValidator {
 
         Size sizeAnnotation = (Size) annotation;
 
-        int size = getSize(objectValue);
+        int size = getSize(objectValue, sizeAnnotation.max());
         return sizeAnnotation.min() <= size && size <= sizeAnnotation.max();
     }
 
@@ -35,7 +35,7 @@ public class SizeValidator implements ConstraintValidator {
 
         Size sizeAnnotation = (Size) annotation;
 
-        if (objectValue instanceof String) {
+        if (objectValue instanceof CharSequence) {
             return Optional.of(createErrorMessageForString(sizeAnnotation));
         } else {
             return Optional.of(createErrorMessageForCollection(sizeAnnotation));
@@ -79,9 +79,7 @@ public class SizeValidator implements ConstraintValidator {
     private void appendFormattedErrorMessage(StringBuilder errorMessageBuilder, Message message, int value) {
         StringBuilderUtil.appendWithSpaceIfNeeded(
                 errorMessageBuilder,
-                String.format(
-                        TranslationConfig.getTranslation(message),
-                        value));
+                TranslationConfig.getTemplate(message).format(value));
     }
 
     private void appendNotProperSizeErrorMessage(StringBuilder errorMessageBuilder) {
@@ -99,15 +97,21 @@ public class SizeValidator implements ConstraintValidator {
         return false;
     }
 
-    private int getSize(Object objectValue) {
-        if (objectValue instanceof String)
-            return ((String) objectValue).length();
+    /**
+     * @param max - maximal correct size; elements of iterables are counted only up to one more
+     * @return size of the value if it is at most max; otherwise some number greater than max
+     */
+    static int getSize(Object objectValue, int max) {
+        if (objectValue instanceof CharSequence)
+            return ((CharSequence) objectValue).length();
         else if (objectValue instanceof Object[])
             return ((Object[]) objectValue).length;
-        else if (objectValue instanceof Collection)
-            return ((Collection) objectValue).size();
+        else if (objectValue instanceof Iterable)
+            return Sizer.getIterableSize((Iterable) objectValue, max);
         else if (objectValue instanceof Map)
-            return ((Map) objectValue).size();
+            return Sizer.getMapSize((Map) objectValue, max);
+        else if (objectValue.getClass().isArray())
+            return Array.getLength(objectValue);
         else
             throw new WrongFieldTypeException();
     }
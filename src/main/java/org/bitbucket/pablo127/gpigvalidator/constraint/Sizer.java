@@ -0,0 +1,215 @@
+package org.bitbucket.pablo127.gpigvalidator.constraint;
+
+import com.google.common.collect.ImmutableList;
+import org.bitbucket.pablo127.gpigvalidator.exception.WrongFieldTypeException;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.LinkedTransferQueue;
+
+/**
+ * Reads size of values of one type, chosen once from the declared type of a field. Arrays are only cast,
+ * so their elements are neither copied nor boxed. Elements of iterables and of collections without cheap size
+ * are counted only up to the maximal correct size + 1.
+ */
+enum Sizer {
+    CHAR_SEQUENCE {
+        @Override
+        int getSize(Object value, int max) {
+            return ((CharSequence) value).length();
+        }
+    },
+    COLLECTION {
+        @Override
+        int getSize(Object value, int max) {
+            return getCollectionSize((Collection<?>) value, max);
+        }
+    },
+    /**
+     * For iterables which are not collections, e.g. lazy views. Their elements are counted.
+     */
+    ITERABLE {
+        @Override
+        int getSize(Object value, int max) {
+            return getIterableSize((Iterable<?>) value, max);
+        }
+    },
+    MAP {
+        @Override
+        int getSize(Object value, int max) {
+            return getMapSize((Map<?, ?>) value, max);
+        }
+    },
+    OBJECT_ARRAY {
+        @Override
+        int getSize(Object value, int max) {
+            return ((Object[]) value).length;
+        }
+    },
+    BOOLEAN_ARRAY {
+        @Override
+        int getSize(Object value, int max) {
+            return ((boolean[]) value).length;
+        }
+    },
+    BYTE_ARRAY {
+        @Override
+        int getSize(Object value, int max) {
+            return ((byte[]) value).length;
+        }
+    },
+    SHORT_ARRAY {
+        @Override
+        int getSize(Object value, int max) {
+            return ((short[]) value).length;
+        }
+    },
+    CHAR_ARRAY {
+        @Override
+        int getSize(Object value, int max) {
+            return ((char[]) value).length;
+        }
+    },
+    INT_ARRAY {
+        @Override
+        int getSize(Object value, int max) {
+            return ((int[]) value).length;
+        }
+    },
+    LONG_ARRAY {
+        @Override
+        int getSize(Object value, int max) {
+            return ((long[]) value).length;
+        }
+    },
+    FLOAT_ARRAY {
+        @Override
+        int getSize(Object value, int max) {
+            return ((float[]) value).length;
+        }
+    },
+    DOUBLE_ARRAY {
+        @Override
+        int getSize(Object value, int max) {
+            return ((double[]) value).length;
+        }
+    },
+    /**
+     * For fields whose declared type does not tell how to read the size, e.g. {@code Object}.
+     */
+    ANY {
+        @Override
+        int getSize(Object value, int max) {
+            return SizeValidator.getSize(value, max);
+        }
+    };
+
+    private static final ImmutableList<Class<?>> LINEAR_SIZE_TYPES = ImmutableList.<Class<?>>of(
+            ConcurrentLinkedQueue.class,
+            ConcurrentLinkedDeque.class,
+            LinkedTransferQueue.class,
+            ConcurrentSkipListSet.class,
+            ConcurrentSkipListMap.class);
+    private static final ImmutableList<String> LINEAR_SIZE_CLASS_NAME_PREFIXES = ImmutableList.of(
+            "java.util.concurrent.ConcurrentSkipListMap$",
+            "com.google.common.collect.Collections2$Filtered",
+            "com.google.common.collect.Sets$Filtered",
+            "com.google.common.collect.Maps$Filtered");
+
+    private static final ClassValue<Boolean> LINEAR_SIZE = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            for (Class<?> linearSizeType : LINEAR_SIZE_TYPES) {
+                if (linearSizeType.isAssignableFrom(type))
+                    return true;
+            }
+            for (String classNamePrefix : LINEAR_SIZE_CLASS_NAME_PREFIXES) {
+                if (type.getName().startsWith(classNamePrefix))
+                    return true;
+            }
+            return false;
+        }
+    };
+
+    /**
+     * @param value - not null value of the type the sizer was chosen for
+     * @param max - maximal correct size; elements are counted only up to one more
+     * @return size of the value if it is at most max; otherwise some number greater than max
+     * @throws WrongFieldTypeException if size of the value cannot be read
+     */
+    abstract int getSize(Object value, int max);
+
+    static Sizer forType(Class<?> type) {
+        if (CharSequence.class.isAssignableFrom(type))
+            return CHAR_SEQUENCE;
+        if (type.isArray())
+            return forArrayComponentType(type.getComponentType());
+        if (Collection.class.isAssignableFrom(type))
+            return COLLECTION;
+        if (Map.class.isAssignableFrom(type))
+            return MAP;
+        if (Iterable.class.isAssignableFrom(type))
+            return ITERABLE;
+        return ANY;
+    }
+
+    /**
+     * Size of collections whose {@code size()} walks all elements, like {@link ConcurrentLinkedQueue} or filtered
+     * views of Guava, is counted up to max + 1. Other collections report their size.
+     */
+    static int getCollectionSize(Collection<?> collection, int max) {
+        return LINEAR_SIZE.get(collection.getClass())
+                ? count(collection.iterator(), max)
+                : collection.size();
+    }
+
+    /**
+     * Size of maps whose {@code size()} walks all entries is counted up to max + 1.
+     */
+    static int getMapSize(Map<?, ?> map, int max) {
+        return LINEAR_SIZE.get(map.getClass())
+                ? count(map.entrySet().iterator(), max)
+                : map.size();
+    }
+
+    static int getIterableSize(Iterable<?> iterable, int max) {
+        return iterable instanceof Collection
+                ? getCollectionSize((Collection<?>) iterable, max)
+                : count(iterable.iterator(), max);
+    }
+
+    private static int count(Iterator<?> iterator, int max) {
+        long limit = (long) max + 1;
+        long count = 0;
+        while (count < limit && iterator.hasNext()) {
+            iterator.next();
+            count++;
+        }
+        return (int) Math.min(count, Integer.MAX_VALUE);
+    }
+
+    private static Sizer forArrayComponentType(Class<?> componentType) {
+        if (!componentType.isPrimitive())
+            return OBJECT_ARRAY;
+        if (componentType == boolean.class)
+            return BOOLEAN_ARRAY;
+        if (componentType == byte.class)
+            return BYTE_ARRAY;
+        if (componentType == short.class)
+            return SHORT_ARRAY;
+        if (componentType == char.class)
+            return CHAR_ARRAY;
+        if (componentType == int.class)
+            return INT_ARRAY;
+        if (componentType == long.class)
+            return LONG_ARRAY;
+        if (componentType == float.class)
+            return FLOAT_ARRAY;
+        return DOUBLE_ARRAY;
+    }
+}
@@ -0,0 +1,64 @@
+package org.bitbucket.pablo127.gpigvalidator.constraint;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Small lock-free pool of mutable matching state, shared by all threads. A state is taken for one match
+ * and given back after it, so the pool keeps about as many states as threads match at once, not one state
+ * for every thread which ever matched, as a {@link ThreadLocal} would. This also holds for virtual threads,
+ * which are created for every task and would never reuse a state kept in a {@link ThreadLocal}.
+ * <p>
+ * When every slot is taken, a new state is created and it is dropped when the pool is full again.
+ */
+abstract class StatePool<T> {
+
+    private final AtomicReferenceArray<T> states;
+
+    StatePool() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param size - maximal number of states kept between matches
+     */
+    StatePool(int size) {
+        this.states = new AtomicReferenceArray<>(size);
+    }
+
+    /**
+     * @return new state, used when the pool has no free one
+     */
+    protected abstract T create();
+
+    /**
+     * @return state used by no other thread until it is given back with {@link #release(Object)}
+     */
+    T acquire() {
+        int size = states.length();
+        int start = getStart(size);
+        for (int i = 0; i < size; i++) {
+            int index = (start + i) % size;
+            T state = states.get(index);
+            if (state != null && states.compareAndSet(index, state, null))
+                return state;
+        }
+        return create();
+    }
+
+    void release(T state) {
+        int size = states.length();
+        int start = getStart(size);
+        for (int i = 0; i < size; i++) {
+            int index = (start + i) % size;
+            if (states.get(index) == null && states.compareAndSet(index, null, state))
+                return;
+        }
+    }
+
+    /**
+     * Threads start searching at different slots, so they rarely compete for the same one.
+     */
+    private static int getStart(int size) {
+        return (int) (Thread.currentThread().getId() % size);
+    }
+}
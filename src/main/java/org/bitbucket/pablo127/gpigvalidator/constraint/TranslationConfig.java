@@ -1,33 +1,140 @@
 package org.bitbucket.pablo127.gpigvalidator.constraint;
 
+import com.google.common.collect.Maps;
+
+import java.util.EnumMap;
 import java.util.Locale;
+import java.util.Map;
 import java.util.MissingResourceException;
 import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public final class TranslationConfig {
 
-    protected static Locale locale;
+    private static final Locale FALLBACK_LOCALE = new Locale("en", "US");
+
+    /**
+     * Parsed messages of every requested locale. Resource bundle of a locale is read only once.
+     */
+    private static final ConcurrentMap<Locale, Map<Message, MessageTemplate>> MESSAGE_TABLES =
+            new ConcurrentHashMap<>();
+
+    private static final ThreadLocal<Locale> SCOPED_LOCALE = new ThreadLocal<>();
+
+    protected static volatile Locale locale;
 
     private TranslationConfig() {
     }
 
+    /**
+     * Change locale of messages of all threads, except for messages of engines with own locale and messages
+     * created inside {@link #useLocale(Locale)}. To serve callers in different languages at the same time, use
+     * these instead of changing the locale for every call.
+     * @param locale - locale of messages; null to use default locale of JVM
+     */
     public static void changeLocale(Locale locale) {
         TranslationConfig.locale = locale;
     }
 
+    /**
+     * Use given locale for messages created by the current thread until the returned scope is closed.
+     * It takes precedence over the locale set by {@link #changeLocale(Locale)} and does not affect other threads.
+     * @param locale - locale of messages; null keeps the locale of the enclosing scope
+     * @return scope to close in the same thread, preferably with try-with-resources
+     */
+    public static LocaleScope useLocale(Locale locale) {
+        if (locale == null)
+            return LocaleScope.UNCHANGED;
+
+        Locale previousLocale = SCOPED_LOCALE.get();
+        SCOPED_LOCALE.set(locale);
+        return new LocaleScope(previousLocale);
+    }
+
+    /**
+     * Reads and parses messages of given locales, so that the first validation error in these locales
+     * does not pay for it.
+     */
+    public static void preload(Locale... locales) {
+        for (Locale locale : locales)
+            getMessageTable(locale);
+    }
+
     protected static String getTranslation(Message message) {
-        return getResourceBundle().getString(message.getPropertyName());
+        return getTemplate(message).getPattern();
+    }
+
+    protected static MessageTemplate getTemplate(Message message) {
+        MessageTemplate template = getMessageTable(getCurrentLocale()).get(message);
+        if (template == null) {
+            throw new MissingResourceException(
+                    "No translation of " + message, ResourceBundle.class.getName(), message.getPropertyName());
+        }
+        return template;
+    }
+
+    private static Locale getCurrentLocale() {
+        Locale scopedLocale = SCOPED_LOCALE.get();
+        if (scopedLocale != null)
+            return scopedLocale;
+
+        return locale == null
+                ? Locale.getDefault()
+                : locale;
     }
 
-    private static ResourceBundle getResourceBundle() {
+    private static Map<Message, MessageTemplate> getMessageTable(Locale locale) {
+        Map<Message, MessageTemplate> messageTable = MESSAGE_TABLES.get(locale);
+        if (messageTable != null)
+            return messageTable;
+
+        messageTable = createMessageTable(getResourceBundle(locale));
+        Map<Message, MessageTemplate> previousMessageTable = MESSAGE_TABLES.putIfAbsent(locale, messageTable);
+        return previousMessageTable == null
+                ? messageTable
+                : previousMessageTable;
+    }
+
+    private static Map<Message, MessageTemplate> createMessageTable(ResourceBundle resourceBundle) {
+        Map<Message, MessageTemplate> messageTable = new EnumMap<>(Message.class);
+        for (Message message : Message.values()) {
+            if (resourceBundle.containsKey(message.getPropertyName()))
+                messageTable.put(message, MessageTemplate.parse(resourceBundle.getString(message.getPropertyName())));
+        }
+        return Maps.immutableEnumMap(messageTable);
+    }
+
+    private static ResourceBundle getResourceBundle(Locale locale) {
         try {
-            return ResourceBundle.getBundle(
-                    "gpigvalidator",
-                    locale == null
-                            ? Locale.getDefault()
-                            : locale);
+            return ResourceBundle.getBundle("gpigvalidator", locale);
         } catch (MissingResourceException e) {
-            return ResourceBundle.getBundle("gpigvalidator", new Locale("en", "US"));
+            return ResourceBundle.getBundle("gpigvalidator", FALLBACK_LOCALE);
+        }
+    }
+
+    /**
+     * Locale of messages of the current thread set by {@link #useLocale(Locale)}. Closing restores the previous one.
+     */
+    public static final class LocaleScope implements AutoCloseable {
+
+        private static final LocaleScope UNCHANGED = new LocaleScope(null);
+
+        private final Locale previousLocale;
+
+        private LocaleScope(Locale previousLocale) {
+            this.previousLocale = previousLocale;
+        }
+
+        @Override
+        public void close() {
+            if (this == UNCHANGED)
+                return;
+
+            if (previousLocale == null)
+                SCOPED_LOCALE.remove();
+            else
+                SCOPED_LOCALE.set(previousLocale);
         }
     }
 }
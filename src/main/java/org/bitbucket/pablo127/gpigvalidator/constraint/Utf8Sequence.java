@@ -0,0 +1,158 @@
+package org.bitbucket.pablo127.gpigvalidator.constraint;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Text encoded in UTF-8, read in place from bytes. Characters are UTF-16 code units, as in a String decoded
+ * from the same bytes.
+ * <p>
+ * {@link #length()} counts characters straight from the encoding; text of ASCII characters only is read
+ * byte by byte, without decoding. Other text is decoded once, when one of its characters is needed;
+ * malformed input is decoded the same way as {@link String#String(byte[], java.nio.charset.Charset)} does.
+ * <p>
+ * The sequence reads bytes of the given array or buffer, which should not be changed while it is in use.
+ * It is not thread-safe.
+ */
+public final class Utf8Sequence implements CharSequence {
+
+    private static final int UNKNOWN = -1;
+
+    private final ByteBuffer bytes;
+    private final int start;
+    private final int end;
+
+    private int length = UNKNOWN;
+    private boolean ascii;
+    private String decoded;
+
+    private Utf8Sequence(ByteBuffer bytes, int start, int end) {
+        this.bytes = bytes;
+        this.start = start;
+        this.end = end;
+    }
+
+    public static Utf8Sequence of(byte[] bytes) {
+        return new Utf8Sequence(ByteBuffer.wrap(bytes), 0, bytes.length);
+    }
+
+    /**
+     * @return text of remaining bytes of the buffer; position of the buffer is not changed
+     */
+    public static Utf8Sequence of(ByteBuffer bytes) {
+        return new Utf8Sequence(bytes, bytes.position(), bytes.limit());
+    }
+
+    /**
+     * @return true if the text has only ASCII characters, so each byte is a character
+     */
+    public boolean isAscii() {
+        scan();
+        return ascii;
+    }
+
+    @Override
+    public int length() {
+        scan();
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (isAscii()) {
+            if (index < 0 || index >= length)
+                throw new IndexOutOfBoundsException("Index: " + index);
+            return (char) bytes.get(start + index);
+        }
+        return toString().charAt(index);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        if (isAscii()) {
+            if (start < 0 || end > length || start > end)
+                throw new IndexOutOfBoundsException("Start: " + start + ", end: " + end);
+            return new Utf8Sequence(bytes, this.start + start, this.start + end);
+        }
+        return toString().subSequence(start, end);
+    }
+
+    @Override
+    public String toString() {
+        if (decoded == null)
+            decoded = decode();
+        return decoded;
+    }
+
+    private String decode() {
+        if (bytes.hasArray())
+            return new String(bytes.array(), bytes.arrayOffset() + start, end - start, StandardCharsets.UTF_8);
+
+        byte[] copy = new byte[end - start];
+        for (int i = 0; i < copy.length; i++)
+            copy[i] = bytes.get(start + i);
+        return new String(copy, StandardCharsets.UTF_8);
+    }
+
+    private void scan() {
+        if (length != UNKNOWN)
+            return;
+
+        int index = start;
+        while (index < end && bytes.get(index) >= 0)
+            index++;
+
+        ascii = index == end;
+        length = ascii ? end - start : countCharacters(index - start, index);
+    }
+
+    /**
+     * @param count - characters before the index
+     * @param index - index of the first byte which is not ASCII
+     */
+    private int countCharacters(int count, int index) {
+        while (index < end) {
+            int lead = bytes.get(index) & 0xFF;
+            int sequenceLength = getSequenceLength(index, lead);
+            if (sequenceLength == 0)
+                return toString().length();
+
+            index += sequenceLength;
+            count += sequenceLength == 4 ? 2 : 1;
+        }
+        return count;
+    }
+
+    /**
+     * @return number of bytes of a well-formed sequence starting at the index; 0 if the sequence is malformed
+     */
+    private int getSequenceLength(int index, int lead) {
+        if (lead < 0x80)
+            return 1;
+        if (lead < 0xC2)
+            return 0;
+        if (lead < 0xE0)
+            return isContinuation(index + 1, 0x80, 0xBF) ? 2 : 0;
+        if (lead < 0xF0) {
+            int secondMin = lead == 0xE0 ? 0xA0 : 0x80;
+            int secondMax = lead == 0xED ? 0x9F : 0xBF;
+            return isContinuation(index + 1, secondMin, secondMax)
+                    && isContinuation(index + 2, 0x80, 0xBF) ? 3 : 0;
+        }
+        if (lead < 0xF5) {
+            int secondMin = lead == 0xF0 ? 0x90 : 0x80;
+            int secondMax = lead == 0xF4 ? 0x8F : 0xBF;
+            return isContinuation(index + 1, secondMin, secondMax)
+                    && isContinuation(index + 2, 0x80, 0xBF)
+                    && isContinuation(index + 3, 0x80, 0xBF) ? 4 : 0;
+        }
+        return 0;
+    }
+
+    private boolean isContinuation(int index, int min, int max) {
+        if (index >= end)
+            return false;
+        int value = bytes.get(index) & 0xFF;
+        return min <= value && value <= max;
+    }
+}
@@ -0,0 +1,14 @@
+package org.bitbucket.pablo127.gpigvalidator.exception;
+
+import java.lang.annotation.*;
+
+/**
+ * Marks {@link ValidationException} subclass whose instances do not fill in stack trace. Subclasses of
+ * the marked class inherit this behaviour.
+ */
+@Documented
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface Stackless {
+}
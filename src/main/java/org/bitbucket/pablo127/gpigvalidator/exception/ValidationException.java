@@ -2,10 +2,19 @@ package org.bitbucket.pablo127.gpigvalidator.exception;
 
 /**
  * Exception with details about validation's errors.
+ * Stack trace is not filled in if {@link ValidationExceptionConfig#isStackless(Class)} says so.
  */
 public class ValidationException extends RuntimeException {
 
     public ValidationException(String message) {
         super(message);
     }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        if (ValidationExceptionConfig.isStackless(getClass()))
+            return this;
+
+        return super.fillInStackTrace();
+    }
 }
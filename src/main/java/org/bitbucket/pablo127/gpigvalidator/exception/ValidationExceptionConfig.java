@@ -0,0 +1,33 @@
+package org.bitbucket.pablo127.gpigvalidator.exception;
+
+/**
+ * Decides which {@link ValidationException}s are created without stack trace. Stack trace of a validation
+ * error points only to the place where validation was called, and filling it in is the most expensive part
+ * of throwing.
+ */
+public final class ValidationExceptionConfig {
+
+    private static final ClassValue<Boolean> STACKLESS_CLASSES = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return type.isAnnotationPresent(Stackless.class);
+        }
+    };
+
+    private static volatile boolean stackless;
+
+    private ValidationExceptionConfig() {
+    }
+
+    /**
+     * @param stackless - true to create all ValidationExceptions without stack trace; false to skip it only
+     *                  for classes annotated with {@link Stackless}
+     */
+    public static void changeStackless(boolean stackless) {
+        ValidationExceptionConfig.stackless = stackless;
+    }
+
+    public static boolean isStackless(Class<? extends ValidationException> exceptionClass) {
+        return stackless || STACKLESS_CLASSES.get(exceptionClass);
+    }
+}
@@ -9,4 +9,8 @@ public class WrongAnnotationTypeException extends RuntimeException {
     public WrongAnnotationTypeException() {
         super();
     }
+
+    public WrongAnnotationTypeException(String message, Throwable cause) {
+        super(message, cause);
+    }
 }
\ No newline at end of file
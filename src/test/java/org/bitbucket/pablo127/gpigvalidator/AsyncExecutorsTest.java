@@ -0,0 +1,139 @@
+package org.bitbucket.pablo127.gpigvalidator;
+
+import com.google.common.util.concurrent.Uninterruptibles;
+import org.bitbucket.pablo127.gpigvalidator.exception.WrongAnnotationTypeException;
+import org.junit.Test;
+
+import javax.validation.constraints.NotNull;
+import java.lang.annotation.Retention;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+import static org.junit.Assert.*;
+
+public class AsyncExecutorsTest {
+
+    @Test
+    public void validateAsyncWithDefaultExecutor() throws Exception {
+        ValidationResult result = Validator.validateAsync(new Item(null)).get(10, TimeUnit.SECONDS);
+
+        assertFalse(result.isValid());
+        assertEquals("name", result.getViolations().get(0).getFieldName());
+    }
+
+    @Test
+    public void validateAsyncWithCallerExecutor() throws Exception {
+        final AtomicInteger executions = new AtomicInteger();
+        CompletableFuture<ValidationResult> future = Validator.validateAsync(new Item("name"), new Executor() {
+            @Override
+            public void execute(Runnable runnable) {
+                executions.incrementAndGet();
+                runnable.run();
+            }
+        });
+
+        assertTrue(future.get().isValid());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    public void exceptionCompletesFuture() throws Exception {
+        try {
+            Validator.validateAsync(new UnsupportedItem()).get(10, TimeUnit.SECONDS);
+            fail();
+        } catch (ExecutionException e) {
+            assertEquals(WrongAnnotationTypeException.class, e.getCause().getClass());
+        }
+    }
+
+    @Test
+    public void defaultExecutorOfJvm() throws Exception {
+        ExecutorService executor = AsyncExecutors.createDefaultExecutor();
+        try {
+            assertEquals(hasVirtualThreads(), !(executor instanceof ThreadPoolExecutor));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void boundedPoolOfDaemonThreads() throws Exception {
+        ThreadPoolExecutor pool = AsyncExecutors.createBoundedPool(2, 10);
+        try {
+            assertEquals(2, pool.getMaximumPoolSize());
+            assertTrue(pool.submit(new Callable<Boolean>() {
+                @Override
+                public Boolean call() {
+                    return Thread.currentThread().isDaemon();
+                }
+            }).get());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void taskAboveQueueCapacityRunsInSubmittingThread() throws Exception {
+        ThreadPoolExecutor pool = AsyncExecutors.createBoundedPool(1, 1);
+        final CountDownLatch release = new CountDownLatch(1);
+        try {
+            pool.execute(new Runnable() {
+                @Override
+                public void run() {
+                    Uninterruptibles.awaitUninterruptibly(release);
+                }
+            });
+            pool.execute(new Runnable() {
+                @Override
+                public void run() {
+                }
+            });
+
+            CompletableFuture<ValidationResult> future = Validator.validateAsync(new Item(null), pool);
+            assertTrue(future.isDone());
+            assertFalse(future.get().isValid());
+            assertEquals(1, pool.getQueue().size());
+        } finally {
+            release.countDown();
+            pool.shutdown();
+        }
+    }
+
+    private static boolean hasVirtualThreads() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private static class Item {
+
+        @NotNull
+        private final String name;
+
+        Item(String name) {
+            this.name = name;
+        }
+    }
+
+    private static class UnsupportedItem {
+
+        @UnsupportedAnnotation
+        private final String name = "name";
+    }
+
+    @Retention(RUNTIME)
+    private @interface UnsupportedAnnotation {
+    }
+}
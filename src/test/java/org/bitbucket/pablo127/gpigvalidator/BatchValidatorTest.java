@@ -0,0 +1,179 @@
+package org.bitbucket.pablo127.gpigvalidator;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import org.bitbucket.pablo127.gpigvalidator.exception.WrongAnnotationTypeException;
+import org.junit.Test;
+
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.lang.annotation.Retention;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+import static org.junit.Assert.*;
+
+public class BatchValidatorTest {
+
+    @Test
+    public void emptyList() {
+        BatchValidationResult result = Validator.validateAll(Collections.emptyList());
+
+        assertEquals(0, result.size());
+        assertTrue(result.isValid());
+    }
+
+    @Test
+    public void failedIndicesOfLargeList() {
+        List<Item> items = createItems(10000);
+
+        BatchValidationResult result = Validator.validateAll(items);
+
+        assertEquals(items.size(), result.size());
+        assertEquals(getExpectedFailedIndices(items), result.getFailedIndices());
+        assertEquals(result.getFailedIndices().cardinality(), result.getFailedCount());
+        assertFalse(result.isValid());
+    }
+
+    @Test
+    public void resultsOfIndices() {
+        List<Item> items = createItems(1000);
+
+        BatchValidationResult result = Validator.validateAll(items);
+
+        for (int i = 0; i < items.size(); i++) {
+            ValidationResult itemResult = result.getResult(i);
+            assertEquals(items.get(i).isCorrect(), itemResult.isValid());
+            assertEquals(items.get(i).isCorrect(), result.isValid(i));
+            if (!itemResult.isValid())
+                assertEquals(items.get(i).name, itemResult.getViolations().get(0).getRejectedValue());
+        }
+    }
+
+    @Test
+    public void callerSuppliedExecutor() {
+        List<Item> items = createItems(5000);
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            assertEquals(getExpectedFailedIndices(items), Validator.validateAll(items, executor).getFailedIndices());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void sequentialListOnSameThread() {
+        LinkedList<Item> items = new LinkedList<>(createItems(3000));
+
+        BatchValidationResult result = Validator.validateAll(items, MoreExecutors.directExecutor());
+
+        assertEquals(getExpectedFailedIndices(items), result.getFailedIndices());
+    }
+
+    @Test(expected = WrongAnnotationTypeException.class)
+    public void exceptionOfChunkIsRethrown() {
+        List<Object> objects = new ArrayList<Object>(createItems(3000));
+        objects.set(10, new UnsupportedItem());
+
+        Validator.validateAll(objects);
+    }
+
+    @Test
+    public void notStartedChunksAreCancelledWhenChunkFails() {
+        List<Object> objects = new ArrayList<Object>(createItems(3000));
+        objects.set(objects.size() - 1, new UnsupportedItem());
+        final List<Runnable> queuedTasks = new ArrayList<>();
+
+        try {
+            Validator.validateAll(objects, new Executor() {
+                @Override
+                public void execute(Runnable task) {
+                    queuedTasks.add(task);
+                }
+            });
+            fail();
+        } catch (WrongAnnotationTypeException e) {
+            assertFalse(queuedTasks.isEmpty());
+            for (Runnable task : queuedTasks)
+                assertTrue(((Future<?>) task).isCancelled());
+        }
+    }
+
+    @Test
+    public void validationInsideTaskOfSameExecutor() throws Exception {
+        final List<Item> items = createItems(5000);
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<BatchValidationResult> result = executor.submit(new Callable<BatchValidationResult>() {
+                @Override
+                public BatchValidationResult call() {
+                    return Validator.validateAll(items, executor);
+                }
+            });
+
+            assertEquals(getExpectedFailedIndices(items), result.get(10, TimeUnit.SECONDS).getFailedIndices());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void resultOfNotExistingIndex() {
+        Validator.validateAll(createItems(3)).getResult(3);
+    }
+
+    private List<Item> createItems(int count) {
+        List<Item> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            items.add(new Item(i % 7 == 0
+                    ? null
+                    : i % 5 == 0
+                    ? "too long"
+                    : "ok"));
+        }
+        return items;
+    }
+
+    private BitSet getExpectedFailedIndices(List<Item> items) {
+        BitSet failedIndices = new BitSet();
+        for (int i = 0; i < items.size(); i++) {
+            if (!items.get(i).isCorrect())
+                failedIndices.set(i);
+        }
+        return failedIndices;
+    }
+
+    private static class Item {
+
+        @NotNull
+        @Size(max = 3)
+        private final String name;
+
+        Item(String name) {
+            this.name = name;
+        }
+
+        boolean isCorrect() {
+            return name != null && name.length() <= 3;
+        }
+    }
+
+    private static class UnsupportedItem {
+
+        @UnsupportedAnnotation
+        private final String name = "name";
+    }
+
+    @Retention(RUNTIME)
+    private @interface UnsupportedAnnotation {
+    }
+}
@@ -0,0 +1,262 @@
+package org.bitbucket.pablo127.gpigvalidator;
+
+import com.google.common.base.Function;
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableMap;
+import org.bitbucket.pablo127.gpigvalidator.constraint.ConstraintValidator;
+import org.bitbucket.pablo127.gpigvalidator.constraint.TranslationConfig;
+import org.bitbucket.pablo127.gpigvalidator.exception.ValidationException;
+import org.hibernate.validator.constraints.Email;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class CascadingTraversalTest {
+
+    private final ValidatorEngine engine = ValidatorEngine.builder().build();
+
+    @Before
+    public void setUp() {
+        TranslationConfig.changeLocale(new Locale("en", "US"));
+    }
+
+    @After
+    public void tearDown() {
+        TranslationConfig.changeLocale(null);
+    }
+
+    @Test
+    public void objectsAreVisitedDepthFirstInOrderOfFields() {
+        Order order = new Order(new Line("a@as.pl"), new Line("b@as.pl"));
+        order.customer = new Customer("name");
+
+        assertEquals(
+                Arrays.asList("", "lines[0]", "lines[1]", "customer"),
+                getVisitedPaths(order));
+    }
+
+    @Test
+    public void objectIsVisitedOnce() {
+        Line line = new Line("a@as.pl");
+
+        assertEquals(Arrays.asList("", "lines[0]"), getVisitedPaths(new Order(line, line)));
+    }
+
+    @Test
+    public void cycleIsVisitedOnce() {
+        Node first = new Node("first");
+        Node second = new Node("second");
+        first.next = second;
+        second.next = first;
+
+        assertEquals(Arrays.asList("", "next"), getVisitedPaths(first));
+    }
+
+    @Test
+    public void violationsOfNestedObjectsHavePaths() {
+        Order order = new Order(new Line("a@as.pl"), new Line("a@aspl"));
+        order.customer = new Customer(null);
+        Shop shop = new Shop(order);
+
+        ValidationResult result = engine.validateWithResult(shop);
+
+        assertEquals(2, result.getViolations().size());
+        assertEquals("orders[0].lines[1].email", result.getViolations().get(0).getPropertyPath());
+        assertEquals("email", result.getViolations().get(0).getFieldName());
+        assertEquals("orders[0].customer.name", result.getViolations().get(1).getPropertyPath());
+        assertEquals(
+                "Field 'orders[0].customer.name' is null but should be not null.",
+                result.getViolations().get(1).getMessage());
+    }
+
+    @Test
+    public void errorMessagesOfNestedObjects() {
+        Order order = new Order(new Line("a@aspl"));
+
+        Map<String, String> errorMessages = engine.validateWithErrorMessages(order);
+
+        assertEquals(Collections.singleton("lines[0].email"), errorMessages.keySet());
+        assertTrue(errorMessages.get("lines[0].email").startsWith("Field 'lines[0].email' "));
+        assertEquals(errorMessages.get("lines[0].email"), engine.validateWithErrorMessage(order).get());
+    }
+
+    @Test
+    public void valuesOfMap() {
+        Catalog catalog = new Catalog(ImmutableMap.of("first", new Line("a@as.pl"), "second", new Line("a@aspl")));
+
+        assertEquals(
+                Collections.singleton("lines[second].email"),
+                engine.validateWithErrorMessages(catalog).keySet());
+    }
+
+    @Test
+    public void elementsOfArray() {
+        Node node = new Node("node");
+        node.neighbours = new Node[]{new Node("first"), null, new Node(null)};
+
+        assertEquals(
+                Collections.singleton("neighbours[2].name"),
+                engine.validateWithErrorMessages(node).keySet());
+    }
+
+    @Test
+    public void correctnessOfNestedObjects() {
+        assertTrue(engine.isCorrectObject(new Order(new Line("a@as.pl"))));
+        assertFalse(engine.isCorrectObject(new Order(new Line("a@aspl"))));
+        assertTrue(engine.isCorrectObject(new Order()));
+    }
+
+    @Test(expected = ValidationException.class)
+    public void exceptionForNestedObject() {
+        engine.validateObject(new Order(new Line("a@aspl")));
+    }
+
+    @Test
+    public void singleFieldIsNotCascaded() {
+        assertTrue(engine.isCorrectField(new Order(new Line("a@aspl")), "lines"));
+    }
+
+    @Test
+    public void platformTypesAreNotVisited() {
+        Tags tags = new Tags(Arrays.asList("a", "b"), ImmutableMap.of("a", 1));
+
+        assertEquals(Collections.singletonList(""), getVisitedPaths(tags));
+        assertTrue(engine.isCorrectObject(tags));
+        assertTrue(engine.validateWithResult(tags).isValid());
+    }
+
+    @Test
+    public void deepGraph() {
+        Node first = new Node("node");
+        Node last = first;
+        for (int i = 0; i < 100000; i++) {
+            last.next = new Node("node");
+            last = last.next;
+        }
+        last.name = null;
+
+        assertFalse(engine.isCorrectObject(first));
+        assertEquals(1, engine.validateWithResult(first).getViolations().size());
+    }
+
+    private List<String> getVisitedPaths(Object objectToValidate) {
+        final ConstraintValidatorRegistry registry = ConstraintValidatorRegistry.withDefaultValidators();
+        final Function<Class<? extends Annotation>, Optional<ConstraintValidator>> validatorResolver =
+                new Function<Class<? extends Annotation>, Optional<ConstraintValidator>>() {
+                    @Override
+                    public Optional<ConstraintValidator> apply(Class<? extends Annotation> annotationType) {
+                        return registry.getValidator(annotationType);
+                    }
+                };
+
+        final List<String> paths = new ArrayList<>();
+        CascadingTraversal.traverse(objectToValidate, new Function<Object, ValidationPlan>() {
+            @Override
+            public ValidationPlan apply(Object object) {
+                return ValidationPlan.create(object.getClass(), validatorResolver);
+            }
+        }, new CascadingTraversal.ObjectVisitor() {
+            @Override
+            public boolean visit(Object object, ValidationPlan validationPlan, PropertyPath path) {
+                paths.add(path == null ? "" : path.toString());
+                return true;
+            }
+        });
+        return paths;
+    }
+
+    private static class Shop {
+
+        @Valid
+        private final List<Order> orders;
+
+        Shop(Order... orders) {
+            this.orders = Arrays.asList(orders);
+        }
+    }
+
+    private static class Order {
+
+        @Valid
+        private final List<Line> lines;
+
+        @Valid
+        private Customer customer;
+
+        Order(Line... lines) {
+            this.lines = Arrays.asList(lines);
+        }
+    }
+
+    private static class Line {
+
+        @Email
+        private final String email;
+
+        Line(String email) {
+            this.email = email;
+        }
+    }
+
+    private static class Customer {
+
+        @NotNull
+        private final String name;
+
+        Customer(String name) {
+            this.name = name;
+        }
+    }
+
+    private static class Catalog {
+
+        @Valid
+        private final Map<String, Line> lines;
+
+        Catalog(Map<String, Line> lines) {
+            this.lines = lines;
+        }
+    }
+
+    private static class Tags {
+
+        @Valid
+        private final List<String> names;
+
+        @Valid
+        private final Map<String, Integer> counts;
+
+        Tags(List<String> names, Map<String, Integer> counts) {
+            this.names = names;
+            this.counts = counts;
+        }
+    }
+
+    private static class Node {
+
+        @NotNull
+        private String name;
+
+        @Valid
+        private Node next;
+
+        @Valid
+        private Node[] neighbours;
+
+        Node(String name) {
+            this.name = name;
+        }
+    }
+}
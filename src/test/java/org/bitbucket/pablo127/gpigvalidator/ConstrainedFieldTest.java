@@ -0,0 +1,56 @@
+package org.bitbucket.pablo127.gpigvalidator;
+
+import org.bitbucket.pablo127.gpigvalidator.exception.InternalException;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+public class ConstrainedFieldTest {
+
+    @Test
+    public void privateObjectField() throws NoSuchFieldException {
+        assertEquals("text", createConstrainedField("text").getValue(new FieldsObject()));
+    }
+
+    @Test
+    public void primitiveField() throws NoSuchFieldException {
+        assertEquals(12, createConstrainedField("number").getValue(new FieldsObject()));
+    }
+
+    @Test
+    public void staticField() throws NoSuchFieldException {
+        assertEquals("constant", createConstrainedField("CONSTANT").getValue(new FieldsObject()));
+    }
+
+    @Test
+    public void nullField() throws NoSuchFieldException {
+        assertNull(createConstrainedField("nullText").getValue(new FieldsObject()));
+    }
+
+    @Test(expected = InternalException.class)
+    public void fieldOfWrongObject() throws NoSuchFieldException {
+        createConstrainedField("text").getValue(new Object());
+    }
+
+    @Test
+    public void name() throws NoSuchFieldException {
+        assertEquals("text", createConstrainedField("text").getName());
+    }
+
+    private ConstrainedField createConstrainedField(String fieldName) throws NoSuchFieldException {
+        return new ConstrainedField(
+                FieldsObject.class.getDeclaredField(fieldName),
+                Collections.<FieldConstraint>emptyList());
+    }
+
+    private static class FieldsObject {
+
+        private static final String CONSTANT = "constant";
+
+        private String text = "text";
+        private String nullText;
+        private int number = 12;
+    }
+}
@@ -0,0 +1,149 @@
+package org.bitbucket.pablo127.gpigvalidator;
+
+import com.google.common.base.Optional;
+import org.bitbucket.pablo127.gpigvalidator.constraint.ConstraintValidator;
+import org.bitbucket.pablo127.gpigvalidator.exception.WrongAnnotationTypeException;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ConstraintValidatorDiscoveryTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void discoverValidatorFromServiceFile() {
+        List<ConstraintValidator> validators = ConstraintValidatorDiscovery.discover(getClass().getClassLoader());
+
+        assertEquals(1, validators.size());
+        assertTrue(validators.get(0) instanceof TestEvenValidator);
+    }
+
+    @Test
+    public void engineUsesDiscoveredValidator() {
+        ValidatorEngine engine = ValidatorEngine.builder()
+                .discoverConstraintValidators(getClass().getClassLoader())
+                .build();
+
+        assertTrue(engine.isCorrectObject(new Number(2)));
+        assertFalse(engine.isCorrectObject(new Number(3)));
+        assertEquals("Field 'value' is not even.", engine.validateWithErrorMessage(new Number(3)).get());
+    }
+
+    @Test
+    public void engineOfBuilderKeepsDiscoveredValidator() {
+        ValidatorEngine engine = ValidatorEngine.builder()
+                .discoverConstraintValidators(getClass().getClassLoader())
+                .build();
+
+        assertFalse(engine.toBuilder().build().isCorrectObject(new Number(3)));
+    }
+
+    @Test(expected = WrongAnnotationTypeException.class)
+    public void engineWithoutDiscovery() {
+        ValidatorEngine.builder()
+                .discoverConstraintValidators(null)
+                .build()
+                .isCorrectObject(new Number(2));
+    }
+
+    @Test
+    public void registeredValidatorReplacesDiscoveredOne() {
+        ValidatorEngine engine = ValidatorEngine.builder()
+                .discoverConstraintValidators(getClass().getClassLoader())
+                .constraintValidator(new OddValidator())
+                .build();
+
+        assertTrue(engine.isCorrectObject(new Number(3)));
+        assertFalse(engine.isCorrectObject(new Number(2)));
+    }
+
+    @Test
+    public void validatorsWhichCannotBeLoadedAreSkipped() throws Exception {
+        List<ConstraintValidator> validators = ConstraintValidatorDiscovery.discover(createClassLoaderWithBrokenFile());
+
+        assertEquals(1, validators.size());
+        assertTrue(validators.get(0) instanceof TestEvenValidator);
+    }
+
+    @Test
+    public void defaultEngineWithBrokenServiceFile() throws Exception {
+        Thread thread = Thread.currentThread();
+        ClassLoader contextClassLoader = thread.getContextClassLoader();
+        thread.setContextClassLoader(createClassLoaderWithBrokenFile());
+        try {
+            ValidatorEngine engine = ValidatorEngine.builder().build();
+
+            assertTrue(engine.isCorrectObject(new Number(2)));
+            assertFalse(engine.isCorrectObject(new Number(3)));
+        } finally {
+            thread.setContextClassLoader(contextClassLoader);
+        }
+    }
+
+    /**
+     * @return class loader which sees only a services file listing a missing class, a class without public
+     * constructor and {@link TestEvenValidator}
+     */
+    private ClassLoader createClassLoaderWithBrokenFile() throws IOException {
+        File servicesDirectory = temporaryFolder.newFolder("META-INF", "services");
+        Files.write(
+                new File(servicesDirectory, ConstraintValidator.class.getName()).toPath(),
+                Arrays.asList(
+                        "org.bitbucket.pablo127.gpigvalidator.NotExistingValidator",
+                        OddValidator.class.getName(),
+                        TestEvenValidator.class.getName()),
+                StandardCharsets.UTF_8);
+
+        return new URLClassLoader(new URL[]{temporaryFolder.getRoot().toURI().toURL()}, getClass().getClassLoader()) {
+            @Override
+            public Enumeration<URL> getResources(String name) throws IOException {
+                return findResources(name);
+            }
+        };
+    }
+
+    private static class Number {
+
+        @TestEven
+        private final int value;
+
+        Number(int value) {
+            this.value = value;
+        }
+    }
+
+    private static class OddValidator implements ConstraintValidator {
+
+        @Override
+        public Class getAnnotationType() {
+            return TestEven.class;
+        }
+
+        @Override
+        public boolean isCorrect(Object objectValue, Annotation annotation) {
+            return (Integer) objectValue % 2 != 0;
+        }
+
+        @Override
+        public Optional<String> getErrorMessage(Object objectValue, Annotation annotation) {
+            return isCorrect(objectValue, annotation)
+                    ? Optional.<String>absent()
+                    : Optional.of("is not odd.");
+        }
+    }
+}
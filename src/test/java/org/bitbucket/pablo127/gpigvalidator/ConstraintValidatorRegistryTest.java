@@ -0,0 +1,75 @@
+package org.bitbucket.pablo127.gpigvalidator;
+
+import com.google.common.base.Optional;
+import org.bitbucket.pablo127.gpigvalidator.constraint.ConstraintValidator;
+import org.bitbucket.pablo127.gpigvalidator.constraint.EmailValidator;
+import org.bitbucket.pablo127.gpigvalidator.constraint.NotNullValidator;
+import org.bitbucket.pablo127.gpigvalidator.constraint.PatternValidator;
+import org.bitbucket.pablo127.gpigvalidator.constraint.SizeValidator;
+import org.hibernate.validator.constraints.Email;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Pattern;
+import javax.validation.constraints.Size;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ConstraintValidatorRegistryTest {
+
+    private ConstraintValidatorRegistry registry;
+
+    @Before
+    public void setUp() {
+        registry = ConstraintValidatorRegistry.withDefaultValidators();
+    }
+
+    @Test
+    public void defaultValidators() {
+        assertTrue(registry.getValidator(NotNull.class).get() instanceof NotNullValidator);
+        assertTrue(registry.getValidator(Email.class).get() instanceof EmailValidator);
+        assertTrue(registry.getValidator(Size.class).get() instanceof SizeValidator);
+        assertTrue(registry.getValidator(Pattern.class).get() instanceof PatternValidator);
+    }
+
+    @Test
+    public void sameValidatorInstanceForEachLookup() {
+        assertSame(registry.getValidator(Size.class).get(), registry.getValidator(Size.class).get());
+    }
+
+    @Test
+    public void notSupportedAnnotation() {
+        assertFalse(registry.getValidator(Max.class).isPresent());
+    }
+
+    @Test
+    public void registerValidatorForNewAnnotation() {
+        ConstraintValidator maxValidator = mockValidator(Max.class);
+
+        registry.register(maxValidator);
+
+        Optional<ConstraintValidator> validatorOpt = registry.getValidator(Max.class);
+        assertTrue(validatorOpt.isPresent());
+        assertSame(maxValidator, validatorOpt.get());
+        assertTrue(registry.getValidator(NotNull.class).isPresent());
+    }
+
+    @Test
+    public void registerValidatorReplacesPrevious() {
+        ConstraintValidator notNullValidator = mockValidator(NotNull.class);
+
+        registry.register(notNullValidator);
+
+        assertSame(notNullValidator, registry.getValidator(NotNull.class).get());
+    }
+
+    private ConstraintValidator mockValidator(Class annotationType) {
+        ConstraintValidator validator = mock(ConstraintValidator.class);
+        when(validator.getAnnotationType()).thenReturn(annotationType);
+        return validator;
+    }
+}
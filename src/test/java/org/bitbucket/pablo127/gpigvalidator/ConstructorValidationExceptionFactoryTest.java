@@ -0,0 +1,111 @@
+package org.bitbucket.pablo127.gpigvalidator;
+
+import org.bitbucket.pablo127.gpigvalidator.exception.InternalException;
+import org.bitbucket.pablo127.gpigvalidator.exception.ValidationException;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ConstructorValidationExceptionFactoryTest {
+
+    private final ValidationExceptionFactory factory = ConstructorValidationExceptionFactory.INSTANCE;
+
+    @Test
+    public void createValidationException() {
+        ValidationException exception = factory.create(ValidationException.class, "message");
+
+        assertEquals(ValidationException.class, exception.getClass());
+        assertEquals("message", exception.getMessage());
+    }
+
+    @Test
+    public void createSubclassRepeatedly() {
+        for (int i = 0; i < 3; i++) {
+            ValidationException exception = factory.create(TestValidationException.class, "m" + i);
+
+            assertEquals(TestValidationException.class, exception.getClass());
+            assertEquals("m" + i, exception.getMessage());
+        }
+    }
+
+    @Test
+    public void packagePrivateConstructor() {
+        ValidationException exception = factory.create(PackagePrivateValidationException.class, "message");
+
+        assertEquals(PackagePrivateValidationException.class, exception.getClass());
+        assertEquals("message", exception.getMessage());
+    }
+
+    @Test
+    public void protectedConstructor() {
+        ValidationException exception = factory.create(ProtectedValidationException.class, "message");
+
+        assertEquals(ProtectedValidationException.class, exception.getClass());
+        assertEquals("message", exception.getMessage());
+    }
+
+    @Test
+    public void privateClass() {
+        ValidationException exception = factory.create(PrivateValidationException.class, "message");
+
+        assertEquals(PrivateValidationException.class, exception.getClass());
+        assertEquals("message", exception.getMessage());
+    }
+
+    @Test(expected = InternalException.class)
+    public void innerClass() {
+        factory.create(InnerValidationException.class, "message");
+    }
+
+    @Test(expected = InternalException.class)
+    public void abstractClass() {
+        factory.create(AbstractValidationException.class, "message");
+    }
+
+    @Test
+    public void failingConstructor() {
+        try {
+            factory.create(FailingValidationException.class, "message");
+            fail();
+        } catch (InternalException e) {
+            assertEquals(IllegalStateException.class, e.getCause().getClass());
+        }
+    }
+
+    public static class PackagePrivateValidationException extends ValidationException {
+        PackagePrivateValidationException(String message) {
+            super(message);
+        }
+    }
+
+    public static class ProtectedValidationException extends ValidationException {
+        protected ProtectedValidationException(String message) {
+            super(message);
+        }
+    }
+
+    private static class PrivateValidationException extends ValidationException {
+        public PrivateValidationException(String message) {
+            super(message);
+        }
+    }
+
+    private class InnerValidationException extends ValidationException {
+        public InnerValidationException(String message) {
+            super(message);
+        }
+    }
+
+    public static abstract class AbstractValidationException extends ValidationException {
+        public AbstractValidationException(String message) {
+            super(message);
+        }
+    }
+
+    public static class FailingValidationException extends ValidationException {
+        public FailingValidationException(String message) {
+            super(message);
+            throw new IllegalStateException();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package org.bitbucket.pablo127.gpigvalidator;
+
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+
+public class GeneratedFieldsObject {
+
+    @NotNull
+    private String name;
+
+    @Size(max = 2)
+    String code;
+
+    private String description;
+
+    public GeneratedFieldsObject(String name, String code) {
+        this.name = name;
+        this.code = code;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
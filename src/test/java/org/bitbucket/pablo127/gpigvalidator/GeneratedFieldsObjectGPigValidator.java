@@ -0,0 +1,43 @@
+package org.bitbucket.pablo127.gpigvalidator;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Written the same way as gpigvalidator-processor would generate it for {@link GeneratedFieldsObject}.
+ */
+public final class GeneratedFieldsObjectGPigValidator implements GeneratedValidator<GeneratedFieldsObject> {
+
+    private static final List<String> CONSTRAINED_FIELD_NAMES = Arrays.asList("name", "code");
+
+    @Override
+    public List<String> getConstrainedFieldNames() {
+        return CONSTRAINED_FIELD_NAMES;
+    }
+
+    @Override
+    public Object getFieldValue(GeneratedFieldsObject object, int fieldIndex) {
+        switch (fieldIndex) {
+            case 0:
+                return object.getName();
+            case 1:
+                return object.code;
+            default:
+                throw new IndexOutOfBoundsException("Field index: " + fieldIndex);
+        }
+    }
+
+    @Override
+    public boolean isCorrect(GeneratedFieldsObject object) {
+        String value0 = object.getName();
+        if (value0 == null)
+            return false;
+        String value1 = object.code;
+        if (value1 == null)
+            return false;
+        int value1Size = value1.length();
+        if (value1Size < 0 || value1Size > 2)
+            return false;
+        return true;
+    }
+}
@@ -0,0 +1,224 @@
+package org.bitbucket.pablo127.gpigvalidator;
+
+import org.bitbucket.pablo127.gpigvalidator.exception.WrongAnnotationTypeException;
+import org.hibernate.validator.constraints.Email;
+import org.junit.After;
+import org.junit.Test;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+import java.lang.annotation.Retention;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+import static org.junit.Assert.*;
+
+public class ParallelGraphValidatorTest {
+
+    private final ValidatorEngine engine = ValidatorEngine.builder()
+            .parallelThreshold(16)
+            .build();
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @After
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    public void violationsInOrderOfSequentialValidation() {
+        Catalog catalog = createCatalog(1000, 7);
+
+        ValidationResult result = engine.validateInParallel(catalog, pool);
+
+        assertEquals(getPaths(engine.validateWithResult(catalog)), getPaths(result));
+        assertEquals("items[0].email", result.getViolations().get(0).getPropertyPath());
+        assertEquals("items[994].email", result.getViolations().get(result.getViolations().size() - 1)
+                .getPropertyPath());
+    }
+
+    @Test
+    public void nestedLargeCollections() {
+        List<Catalog> catalogs = new ArrayList<>();
+        for (int i = 0; i < 40; i++)
+            catalogs.add(createCatalog(100, 11));
+        Store store = new Store(catalogs);
+
+        ValidationResult result = engine.validateInParallel(store, pool);
+
+        assertEquals(getPaths(engine.validateWithResult(store)), getPaths(result));
+        assertEquals(40 * 10, result.getViolations().size());
+        assertEquals("catalogs[39].items[99].email", result.getViolations().get(399).getPropertyPath());
+    }
+
+    @Test
+    public void collectionsOtherThanLists() {
+        Catalog catalog = createCatalog(100, 3);
+        Category category = new Category(new LinkedHashSet<>(catalog.items));
+
+        assertEquals(getPaths(engine.validateWithResult(category)), getPaths(engine.validateInParallel(category, pool)));
+    }
+
+    @Test
+    public void sharedObjectsAreValidatedOnce() {
+        Catalog catalog = createCatalog(100, 0);
+        Item shared = new Item("a@aspl");
+        catalog.items.set(3, shared);
+        catalog.items.set(90, shared);
+        Item sharedAlternative = new Item("b@aspl");
+        catalog.items.get(50).alternative = sharedAlternative;
+        catalog.items.get(95).alternative = sharedAlternative;
+        Showcase showcase = new Showcase(catalog, shared);
+
+        ValidationResult result = engine.validateInParallel(showcase, pool);
+
+        assertEquals(getPaths(engine.validateWithResult(showcase)), getPaths(result));
+        assertEquals(Arrays.asList("catalog.items[3].email", "catalog.items[50].alternative.email"), getPaths(result));
+    }
+
+    @Test
+    public void sharedObjectsOfNestedLargeCollections() {
+        List<Item> shared = new ArrayList<>();
+        for (int i = 0; i < 7; i++)
+            shared.add(new Item("s" + i + "@aspl"));
+        List<Catalog> catalogs = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            Catalog catalog = createCatalog(200, 17);
+            for (int j = i % 11; j < catalog.items.size(); j += 11)
+                catalog.items.set(j, shared.get((i + j) % shared.size()));
+            catalog.items.get(i).alternative = shared.get(i % shared.size());
+            catalogs.add(catalog);
+        }
+        Store store = new Store(catalogs);
+
+        ValidationResult result = engine.validateInParallel(store, pool);
+
+        assertEquals(getPaths(engine.validateWithResult(store)), getPaths(result));
+    }
+
+    @Test
+    public void correctGraph() {
+        assertTrue(engine.validateInParallel(createCatalog(1000, 0), pool).isValid());
+    }
+
+    @Test
+    public void constraintsOfValidatedObject() {
+        Catalog catalog = createCatalog(10, 0);
+        catalog.name = null;
+
+        assertEquals(Arrays.asList("name"), getPaths(engine.validateInParallel(catalog, pool)));
+    }
+
+    @Test
+    public void smallCollectionsOnDefaultPool() {
+        Catalog catalog = createCatalog(10, 2);
+
+        assertEquals(getPaths(engine.validateWithResult(catalog)), getPaths(engine.validateInParallel(catalog)));
+    }
+
+    @Test(expected = WrongAnnotationTypeException.class)
+    public void exceptionOfTask() {
+        List<Object> items = new ArrayList<>();
+        for (int i = 0; i < 100; i++)
+            items.add(new Item("a@as.pl"));
+        items.add(new UnsupportedItem());
+
+        engine.validateInParallel(new Store(items), pool);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void notPositiveThreshold() {
+        ValidatorEngine.builder().parallelThreshold(0);
+    }
+
+    private static Catalog createCatalog(int size, int incorrectEvery) {
+        List<Item> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            items.add(new Item(incorrectEvery > 0 && i % incorrectEvery == 0
+                    ? "a@aspl"
+                    : "a@as.pl"));
+        }
+        return new Catalog(items);
+    }
+
+    private static List<String> getPaths(ValidationResult result) {
+        List<String> paths = new ArrayList<>();
+        for (Violation violation : result.getViolations())
+            paths.add(violation.getPropertyPath());
+        return paths;
+    }
+
+    private static class Store {
+
+        @Valid
+        private final List<?> catalogs;
+
+        Store(List<?> catalogs) {
+            this.catalogs = catalogs;
+        }
+    }
+
+    private static class Catalog {
+
+        @NotNull
+        private String name = "catalog";
+
+        @Valid
+        private final List<Item> items;
+
+        Catalog(List<Item> items) {
+            this.items = items;
+        }
+    }
+
+    private static class Showcase {
+
+        @Valid
+        private final Catalog catalog;
+
+        @Valid
+        private final Item featured;
+
+        Showcase(Catalog catalog, Item featured) {
+            this.catalog = catalog;
+            this.featured = featured;
+        }
+    }
+
+    private static class Category {
+
+        @Valid
+        private final LinkedHashSet<Item> items;
+
+        Category(LinkedHashSet<Item> items) {
+            this.items = items;
+        }
+    }
+
+    private static class Item {
+
+        @Email
+        private final String email;
+
+        @Valid
+        private Item alternative;
+
+        Item(String email) {
+            this.email = email;
+        }
+    }
+
+    private static class UnsupportedItem {
+
+        @Unsupported
+        private final String value = "";
+    }
+
+    @Retention(RUNTIME)
+    private @interface Unsupported {
+    }
+}
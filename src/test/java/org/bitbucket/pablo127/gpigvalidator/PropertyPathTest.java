@@ -0,0 +1,54 @@
+package org.bitbucket.pablo127.gpigvalidator;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+
+public class PropertyPathTest {
+
+    @Test
+    public void fieldOfValidatedObject() {
+        assertEquals("email", PropertyPath.toString(null, "email"));
+    }
+
+    @Test
+    public void fieldOfNestedObject() {
+        PropertyPath order = PropertyPath.property(null, "order");
+        PropertyPath line = PropertyPath.element(order, "lines", 3);
+
+        assertEquals("order.lines[3]", line.toString());
+        assertEquals("order.lines[3].email", PropertyPath.toString(line, "email"));
+    }
+
+    @Test
+    public void fieldOfMapValue() {
+        PropertyPath attribute = PropertyPath.mapValue(null, "attributes", "color");
+
+        assertEquals("attributes[color].value", PropertyPath.toString(attribute, "value"));
+    }
+
+    @Test
+    public void keyIsWrittenOnlyWithPath() {
+        final AtomicInteger writes = new AtomicInteger();
+        Object key = new Object() {
+            @Override
+            public String toString() {
+                writes.incrementAndGet();
+                return "key";
+            }
+        };
+
+        PropertyPath attribute = PropertyPath.mapValue(null, "attributes", key);
+        assertEquals(0, writes.get());
+
+        assertEquals("attributes[key]", attribute.toString());
+        assertEquals(1, writes.get());
+    }
+
+    @Test
+    public void nullKeyOfMapValue() {
+        assertEquals("attributes[null]", PropertyPath.mapValue(null, "attributes", null).toString());
+    }
+}
@@ -0,0 +1,12 @@
+package org.bitbucket.pablo127.gpigvalidator;
+
+import java.lang.annotation.Retention;
+
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Constraint checked by {@link TestEvenValidator}, which is found through ServiceLoader.
+ */
+@Retention(RUNTIME)
+public @interface TestEven {
+}
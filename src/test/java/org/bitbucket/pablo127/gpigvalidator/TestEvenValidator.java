@@ -0,0 +1,26 @@
+package org.bitbucket.pablo127.gpigvalidator;
+
+import com.google.common.base.Optional;
+import org.bitbucket.pablo127.gpigvalidator.constraint.ConstraintValidator;
+
+import java.lang.annotation.Annotation;
+
+public class TestEvenValidator implements ConstraintValidator {
+
+    @Override
+    public Class getAnnotationType() {
+        return TestEven.class;
+    }
+
+    @Override
+    public boolean isCorrect(Object objectValue, Annotation annotation) {
+        return (Integer) objectValue % 2 == 0;
+    }
+
+    @Override
+    public Optional<String> getErrorMessage(Object objectValue, Annotation annotation) {
+        return isCorrect(objectValue, annotation)
+                ? Optional.<String>absent()
+                : Optional.of("is not even.");
+    }
+}
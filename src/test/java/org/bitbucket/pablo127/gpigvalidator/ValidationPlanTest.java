@@ -0,0 +1,236 @@
+package org.bitbucket.pablo127.gpigvalidator;
+
+import com.google.common.base.Function;
+import com.google.common.base.Optional;
+import org.bitbucket.pablo127.gpigvalidator.constraint.ConstraintValidator;
+import org.bitbucket.pablo127.gpigvalidator.constraint.NotNullValidator;
+import org.bitbucket.pablo127.gpigvalidator.constraint.Utf8Sequence;
+import org.bitbucket.pablo127.gpigvalidator.exception.WrongAnnotationTypeException;
+import org.bitbucket.pablo127.gpigvalidator.exception.WrongFieldTypeException;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.lang.annotation.Annotation;
+import java.lang.annotation.Retention;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ValidationPlanTest {
+
+    private ConstraintValidatorRegistry registry;
+
+    @Before
+    public void setUp() {
+        registry = ConstraintValidatorRegistry.withDefaultValidators();
+    }
+
+    @Test
+    public void onlyAnnotatedFieldsAreConstrained() {
+        ValidationPlan plan = createPlan(PlainObject.class);
+
+        assertEquals(1, plan.getConstrainedFields().size());
+        assertTrue(plan.getConstrainedField("field").isPresent());
+        assertFalse(plan.getConstrainedField("notConstrainedField").isPresent());
+        assertTrue(plan.hasField("notConstrainedField"));
+        assertFalse(plan.hasField("notExistingField"));
+    }
+
+    @Test(expected = WrongAnnotationTypeException.class)
+    public void constraintWithoutValidator() {
+        createPlan(UnknownConstraintObject.class).checkConstraintsSupported();
+    }
+
+    @Test
+    public void platformTypesHaveEmptyPlans() {
+        for (Class<?> type : new Class<?>[]{String.class, Integer.class, ArrayList.class, StringBuilder.class}) {
+            ValidationPlan plan = createPlan(type);
+
+            assertTrue(type.getName(), plan.getConstrainedFields().isEmpty());
+            assertTrue(type.getName(), plan.getCascadedFields().isEmpty());
+            assertFalse(type.getName(), plan.hasField("value"));
+        }
+    }
+
+    @Test
+    public void noGeneratedValidator() {
+        assertFalse(createPlan(PlainObject.class).getGeneratedValidator().isPresent());
+    }
+
+    @Test
+    public void generatedValidator() {
+        ValidationPlan plan = createPlan(GeneratedFieldsObject.class);
+
+        Optional<GeneratedValidator<Object>> generatedValidatorOpt = plan.getGeneratedValidator();
+        assertTrue(generatedValidatorOpt.isPresent());
+        assertEquals(GeneratedFieldsObjectGPigValidator.class, generatedValidatorOpt.get().getClass());
+        assertTrue(generatedValidatorOpt.get().isCorrect(new GeneratedFieldsObject("name", "ab")));
+        assertFalse(generatedValidatorOpt.get().isCorrect(new GeneratedFieldsObject("name", "abc")));
+    }
+
+    @Test
+    public void fieldsReadThroughGeneratedValidator() {
+        ValidationPlan plan = createPlan(GeneratedFieldsObject.class);
+        GeneratedFieldsObject object = new GeneratedFieldsObject("name", "ab");
+
+        assertEquals("name", plan.getConstrainedField("name").get().getValue(object));
+        assertEquals("ab", plan.getConstrainedField("code").get().getValue(object));
+    }
+
+    @Test
+    public void generatedValidatorNotUsedWithCustomValidator() {
+        ConstraintValidator customValidator = mock(NotNullValidator.class);
+        when(customValidator.getAnnotationType()).thenReturn(NotNull.class);
+        registry.register(customValidator);
+
+        assertFalse(createPlan(GeneratedFieldsObject.class).getGeneratedValidator().isPresent());
+    }
+
+    @Test
+    public void fieldsOfSuperclassesAreConstrained() {
+        ValidationPlan plan = createPlan(DerivedObject.class);
+
+        assertEquals(3, plan.getConstrainedFields().size());
+        assertEquals("field", plan.getConstrainedFields().get(0).getName());
+        assertEquals("baseField", plan.getConstrainedFields().get(1).getName());
+        assertEquals("derivedField", plan.getConstrainedFields().get(2).getName());
+        assertTrue(plan.hasField("notConstrainedField"));
+    }
+
+    @Test
+    public void fieldsOfSuperclassesAreRead() {
+        DerivedObject object = new DerivedObject();
+
+        assertEquals("base", createPlan(DerivedObject.class).getConstrainedField("baseField").get().getValue(object));
+    }
+
+    @Test
+    public void fieldHidesFieldOfSuperclass() {
+        ValidationPlan plan = createPlan(HidingObject.class);
+
+        assertEquals(2, plan.getConstrainedFields().size());
+        assertEquals("field", plan.getConstrainedFields().get(0).getName());
+        ConstrainedField hidingField = plan.getConstrainedField("baseField").get();
+        assertEquals(1, hidingField.getConstraints().size());
+        assertEquals(Size.class, hidingField.getConstraints().get(0).getAnnotation().annotationType());
+        assertEquals("hiding", hidingField.getValue(new HidingObject()));
+    }
+
+    @Test
+    public void notAnnotatedFieldHidesConstrainedFieldOfSuperclass() {
+        ValidationPlan plan = createPlan(NotAnnotatedHidingObject.class);
+
+        assertFalse(plan.getConstrainedField("baseField").isPresent());
+        assertTrue(plan.hasField("baseField"));
+    }
+
+    @Test
+    public void cascadedFields() {
+        ValidationPlan plan = createPlan(CascadingObject.class);
+
+        assertEquals(2, plan.getCascadedFields().size());
+        assertEquals("plainObject", plan.getCascadedFields().get(0).getName());
+        assertEquals("notNullPlainObject", plan.getCascadedFields().get(1).getName());
+        assertEquals(1, plan.getConstrainedFields().size());
+        assertEquals(1, plan.getConstrainedField("notNullPlainObject").get().getConstraints().size());
+        assertFalse(plan.getConstrainedField("plainObject").isPresent());
+    }
+
+    @Test
+    public void utf8FieldsReadAsText() {
+        ValidationPlan plan = createPlan(Utf8Object.class);
+
+        assertEquals("ab", plan.getConstrainedField("bytes").get().getValue(new Utf8Object()).toString());
+        assertTrue(plan.getConstrainedField("buffer").get().getValue(new Utf8Object()) instanceof Utf8Sequence);
+    }
+
+    @Test(expected = WrongFieldTypeException.class)
+    public void utf8OnOtherType() {
+        createPlan(WrongUtf8Object.class);
+    }
+
+    private ValidationPlan createPlan(Class<?> clazz) {
+        return ValidationPlan.create(clazz, new Function<Class<? extends Annotation>, Optional<ConstraintValidator>>() {
+            @Override
+            public Optional<ConstraintValidator> apply(Class<? extends Annotation> annotationType) {
+                return registry.getValidator(annotationType);
+            }
+        });
+    }
+
+    private static class PlainObject {
+
+        @NotNull
+        private Object field;
+
+        private Object notConstrainedField;
+    }
+
+    private static class UnknownConstraintObject {
+
+        @UnknownConstraint
+        private Object field;
+    }
+
+    @Retention(RUNTIME)
+    private @interface UnknownConstraint {
+    }
+
+    private static class CascadingObject {
+
+        @Valid
+        private PlainObject plainObject;
+
+        @Valid
+        @NotNull
+        private PlainObject notNullPlainObject;
+    }
+
+    private static class BaseObject extends PlainObject {
+
+        @NotNull
+        private Object baseField = "base";
+    }
+
+    private static class DerivedObject extends BaseObject {
+
+        @NotNull
+        private Object derivedField;
+    }
+
+    private static class HidingObject extends BaseObject {
+
+        @Size(max = 10)
+        private Object baseField = "hiding";
+    }
+
+    private static class NotAnnotatedHidingObject extends BaseObject {
+
+        private Object baseField;
+    }
+
+    private static class Utf8Object {
+
+        @Utf8
+        @Size(max = 10)
+        private byte[] bytes = {'a', 'b'};
+
+        @Utf8
+        @NotNull
+        private ByteBuffer buffer = ByteBuffer.allocate(1);
+    }
+
+    private static class WrongUtf8Object {
+
+        @Utf8
+        @NotNull
+        private String text;
+    }
+}
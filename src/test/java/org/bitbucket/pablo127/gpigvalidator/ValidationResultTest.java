@@ -0,0 +1,120 @@
+package org.bitbucket.pablo127.gpigvalidator;
+
+import com.google.common.collect.ImmutableMap;
+import org.bitbucket.pablo127.gpigvalidator.constraint.TranslationConfig;
+import org.hibernate.validator.constraints.Email;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.Locale;
+
+import static org.junit.Assert.*;
+
+public class ValidationResultTest {
+
+    @Before
+    public void setUp() {
+        TranslationConfig.changeLocale(new Locale("en", "US"));
+    }
+
+    @After
+    public void tearDown() {
+        TranslationConfig.changeLocale(null);
+    }
+
+    @Test
+    public void sharedResultForCorrectObjects() {
+        ValidationResult result = Validator.validateWithResult(new Person("john", "j@as.pl"));
+
+        assertTrue(result.isValid());
+        assertTrue(result.getViolations().isEmpty());
+        assertSame(result, Validator.validateWithResult(new Person("anna", "a@as.pl")));
+        assertSame(result, Validator.validateWithResult(new GeneratedFieldsObject("name", "ab")));
+    }
+
+    @Test
+    public void violationsWithConstraintArguments() {
+        ValidationResult result = Validator.validateWithResult(new Person("johnny", "j@aspl"));
+
+        assertFalse(result.isValid());
+        assertEquals(2, result.getViolations().size());
+
+        Violation sizeViolation = result.getViolations().get(0);
+        assertEquals("name", sizeViolation.getFieldName());
+        assertEquals(Size.class, sizeViolation.getConstraintType());
+        assertEquals(5, ((Size) sizeViolation.getAnnotation()).max());
+        assertEquals("johnny", sizeViolation.getRejectedValue());
+
+        Violation emailViolation = result.getViolations().get(1);
+        assertEquals("email", emailViolation.getFieldName());
+        assertEquals(Email.class, emailViolation.getConstraintType());
+        assertEquals("j@aspl", emailViolation.getRejectedValue());
+    }
+
+    @Test
+    public void allViolationsOfField() {
+        ValidationResult result = Validator.validateWithResult(new Person(null, "j@as.pl"));
+
+        assertEquals(2, result.getViolations().size());
+        assertEquals(NotNull.class, result.getViolations().get(0).getConstraintType());
+        assertEquals(Size.class, result.getViolations().get(1).getConstraintType());
+    }
+
+    @Test
+    public void messagesRenderedOnRequest() {
+        Person person = new Person("johnny", "j@aspl");
+        ValidationResult result = Validator.validateWithResult(person);
+
+        assertEquals(
+                "Field 'email' with value 'j@aspl' should be email but it is not.",
+                result.getViolations().get(1).getMessage());
+        assertEquals(Validator.validateWithErrorMessages(person), result.getErrorMessages());
+    }
+
+    @Test
+    public void messagesRenderedInLocale() {
+        ValidationResult result = Validator.validateWithResult(new Person(null, "j@as.pl"));
+
+        assertEquals(
+                "Field 'name' jest null, a powinien nie by\u0107 nullem.",
+                result.getViolations().get(0).getMessage(new Locale("pl", "PL")));
+        assertEquals(
+                Validator.validateWithErrorMessages(new Person(null, "j@as.pl"), new Locale("pl", "PL")),
+                result.getErrorMessages(new Locale("pl", "PL")));
+        assertEquals("Field 'name' is null but should be not null.", result.getViolations().get(0).getMessage());
+    }
+
+    @Test
+    public void messagesOfAllViolationsOfField() {
+        Person person = new Person(null, null);
+
+        assertEquals(
+                Validator.validateWithErrorMessages(person),
+                Validator.validateWithResult(person).getErrorMessages());
+    }
+
+    @Test
+    public void noMessagesForCorrectObject() {
+        assertEquals(
+                ImmutableMap.of(),
+                Validator.validateWithResult(new Person("john", "j@as.pl")).getErrorMessages());
+    }
+
+    private static class Person {
+
+        @NotNull
+        @Size(max = 5)
+        private final String name;
+
+        @Email
+        private final String email;
+
+        Person(String name, String email) {
+            this.name = name;
+            this.email = email;
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package org.bitbucket.pablo127.gpigvalidator;
+
+import org.junit.Test;
+
+import javax.validation.constraints.NotNull;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class ValidationStreamsTest {
+
+    private static final String POLISH_NOT_NULL_MESSAGE = "Field 'name' jest null, a powinien nie by\u0107 nullem.";
+
+    @Test
+    public void routeElementsOfIterator() {
+        List<Item> valid = new ArrayList<>();
+        final List<Item> invalid = new ArrayList<>();
+
+        ValidationStreams.validate(createItems(10).iterator(), adding(valid), new BiConsumer<Item, ValidationResult>() {
+            @Override
+            public void accept(Item item, ValidationResult result) {
+                assertEquals("name", result.getViolations().get(0).getFieldName());
+                invalid.add(item);
+            }
+        });
+
+        assertEquals(getIndices(createItems(10), true), getIndices(valid));
+        assertEquals(getIndices(createItems(10), false), getIndices(invalid));
+    }
+
+    @Test
+    public void routeElementsOfIteratorWithEngine() {
+        ValidatorEngine engine = ValidatorEngine.builder()
+                .locale(new Locale("pl", "PL"))
+                .build();
+        final List<String> messages = new ArrayList<>();
+
+        ValidationStreams.validate(engine, createItems(4).iterator(), adding(new ArrayList<Item>()),
+                new BiConsumer<Item, ValidationResult>() {
+                    @Override
+                    public void accept(Item item, ValidationResult result) {
+                        messages.add(result.getViolations().get(0).getMessage());
+                    }
+                });
+
+        assertEquals(Collections.nCopies(2, POLISH_NOT_NULL_MESSAGE), messages);
+    }
+
+    @Test
+    public void routeElementsOfParallelStreamInOrder() {
+        List<Item> valid = new ArrayList<>();
+        List<Item> invalid = new ArrayList<>();
+
+        ValidationStreams.validate(createItems(10000).parallelStream(), adding(valid), addingInvalid(invalid));
+
+        assertEquals(getIndices(createItems(10000), true), getIndices(valid));
+        assertEquals(getIndices(createItems(10000), false), getIndices(invalid));
+    }
+
+    @Test
+    public void routeElementsOfParallelStreamUnordered() {
+        ConcurrentLinkedQueue<Item> valid = new ConcurrentLinkedQueue<>();
+        ConcurrentLinkedQueue<Item> invalid = new ConcurrentLinkedQueue<>();
+
+        ValidationStreams.validateUnordered(
+                createItems(10000).parallelStream(), adding(valid), addingInvalid(invalid));
+
+        assertEquals(getIndices(createItems(10000), true), sorted(getIndices(valid)));
+        assertEquals(getIndices(createItems(10000), false), sorted(getIndices(invalid)));
+    }
+
+    @Test
+    public void routeElementsOfStreamWithEngine() {
+        ValidatorEngine engine = ValidatorEngine.builder()
+                .locale(new Locale("pl", "PL"))
+                .build();
+        List<Item> invalid = new ArrayList<>();
+        ConcurrentLinkedQueue<Item> unorderedInvalid = new ConcurrentLinkedQueue<>();
+
+        ValidationStreams.validate(engine, createItems(100).parallelStream(), adding(new ArrayList<Item>()),
+                addingInvalid(invalid));
+        ValidationStreams.validateUnordered(engine, createItems(100).parallelStream(),
+                adding(new ConcurrentLinkedQueue<Item>()), addingInvalid(unorderedInvalid));
+
+        assertEquals(getIndices(createItems(100), false), getIndices(invalid));
+        assertEquals(getIndices(createItems(100), false), sorted(getIndices(unorderedInvalid)));
+    }
+
+    @Test
+    public void routeElementsOfInfiniteStream() {
+        List<Item> invalid = new ArrayList<>();
+
+        ValidationStreams.validate(
+                Stream.iterate(0, new UnaryOperator<Integer>() {
+                    @Override
+                    public Integer apply(Integer index) {
+                        return index + 1;
+                    }
+                }).map(new Function<Integer, Item>() {
+                    @Override
+                    public Item apply(Integer index) {
+                        return new Item(index);
+                    }
+                }).limit(9),
+                adding(new ArrayList<Item>()),
+                addingInvalid(invalid));
+
+        assertEquals(3, invalid.size());
+    }
+
+    @Test
+    public void partitioningCollector() {
+        ValidationPartition<Item> partition = createItems(10000).parallelStream()
+                .collect(ValidationStreams.<Item>partitioning());
+
+        assertEquals(getIndices(createItems(10000), true), getIndices(partition.getValid()));
+        assertEquals(getIndices(createItems(10000), false), getIndices(getElements(partition.getInvalid())));
+        assertFalse(partition.getInvalid().get(0).getResult().isValid());
+    }
+
+    @Test
+    public void partitioningCollectorWithEngine() {
+        ValidatorEngine engine = ValidatorEngine.builder()
+                .locale(new Locale("pl", "PL"))
+                .build();
+
+        ValidationPartition<Item> partition = createItems(10).parallelStream()
+                .collect(ValidationStreams.<Item>partitioning(engine));
+
+        assertEquals(getIndices(createItems(10), false), getIndices(getElements(partition.getInvalid())));
+        assertEquals(
+                POLISH_NOT_NULL_MESSAGE,
+                partition.getInvalid().get(0).getResult().getViolations().get(0).getMessage());
+    }
+
+    @Test
+    public void partitioningEmptyStream() {
+        ValidationPartition<Item> partition = Stream.<Item>empty().collect(ValidationStreams.<Item>partitioning());
+
+        assertTrue(partition.getValid().isEmpty());
+        assertTrue(partition.getInvalid().isEmpty());
+    }
+
+    private static Consumer<Item> adding(final Collection<Item> items) {
+        return new Consumer<Item>() {
+            @Override
+            public void accept(Item item) {
+                items.add(item);
+            }
+        };
+    }
+
+    private static BiConsumer<Item, ValidationResult> addingInvalid(final Collection<Item> items) {
+        return new BiConsumer<Item, ValidationResult>() {
+            @Override
+            public void accept(Item item, ValidationResult result) {
+                items.add(item);
+            }
+        };
+    }
+
+    private static List<Item> createItems(int count) {
+        List<Item> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++)
+            items.add(new Item(i));
+        return items;
+    }
+
+    private static List<Integer> getIndices(List<Item> items, boolean valid) {
+        List<Integer> indices = new ArrayList<>();
+        for (Item item : items) {
+            if ((item.name != null) == valid)
+                indices.add(item.index);
+        }
+        return indices;
+    }
+
+    private static List<Integer> getIndices(Iterable<Item> items) {
+        List<Integer> indices = new ArrayList<>();
+        for (Item item : items)
+            indices.add(item.index);
+        return indices;
+    }
+
+    private static List<Item> getElements(List<InvalidElement<Item>> invalidElements) {
+        List<Item> items = new ArrayList<>();
+        for (InvalidElement<Item> invalidElement : invalidElements)
+            items.add(invalidElement.getElement());
+        return items;
+    }
+
+    private static List<Integer> sorted(List<Integer> indices) {
+        Collections.sort(indices);
+        return indices;
+    }
+
+    private static class Item {
+
+        private final int index;
+
+        @NotNull
+        private final String name;
+
+        Item(int index) {
+            this.index = index;
+            this.name = index % 3 == 0
+                    ? null
+                    : "name";
+        }
+    }
+}
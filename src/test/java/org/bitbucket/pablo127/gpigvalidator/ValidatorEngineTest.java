@@ -0,0 +1,336 @@
+package org.bitbucket.pablo127.gpigvalidator;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Strings;
+import org.bitbucket.pablo127.gpigvalidator.constraint.ConstraintValidator;
+import org.bitbucket.pablo127.gpigvalidator.exception.ValidationException;
+import org.bitbucket.pablo127.gpigvalidator.exception.WrongAnnotationTypeException;
+import org.hibernate.validator.constraints.Email;
+import org.junit.Test;
+
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Pattern;
+import javax.validation.constraints.Size;
+import java.lang.annotation.Annotation;
+import java.lang.annotation.Retention;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+import static org.junit.Assert.*;
+
+public class ValidatorEngineTest {
+
+    private static final String ENGLISH_NOT_NULL_MESSAGE = "Field 'name' is null but should be not null.";
+    private static final String POLISH_NOT_NULL_MESSAGE = "Field 'name' jest null, a powinien nie by\u0107 nullem.";
+
+    private final ValidatorEngine englishEngine = ValidatorEngine.builder()
+            .locale(new Locale("en", "US"))
+            .build();
+    private final ValidatorEngine polishEngine = ValidatorEngine.builder()
+            .locale(new Locale("pl", "PL"))
+            .build();
+
+    @Test
+    public void messagesInLocaleOfEngine() {
+        assertEquals(ENGLISH_NOT_NULL_MESSAGE, englishEngine.validateWithErrorMessage(new Item(null)).get());
+        assertEquals(POLISH_NOT_NULL_MESSAGE, polishEngine.validateWithErrorMessage(new Item(null)).get());
+    }
+
+    @Test
+    public void fieldsOfSuperclass() {
+        assertTrue(englishEngine.isCorrectObject(new NamedAmount("name", 1)));
+        assertEquals(ENGLISH_NOT_NULL_MESSAGE, englishEngine.validateWithErrorMessage(new NamedAmount(null, 1)).get());
+        assertFalse(englishEngine.isCorrectField(new NamedAmount(null, 1), "name"));
+    }
+
+    @Test
+    public void sizeOfPrimitiveArray() {
+        assertTrue(englishEngine.isCorrectObject(new Payload(new byte[2])));
+        assertFalse(englishEngine.isCorrectObject(new Payload(new byte[3])));
+        assertFalse(englishEngine.validateWithResult(new Payload(new byte[0])).isValid());
+    }
+
+    @Test
+    public void textInUtf8Bytes() {
+        assertTrue(englishEngine.isCorrectObject(new Packet("za\u017c", "a@as.pl")));
+        assertFalse(englishEngine.isCorrectObject(new Packet("za\u017c\u00f3", "a@as.pl")));
+
+        ValidationResult result = englishEngine.validateWithResult(new Packet("ab", "\u017c@as.pl"));
+        assertEquals("\u017c@as.pl", result.getViolations().get(0).getRejectedValue().toString());
+    }
+
+    @Test
+    public void rejectedUtf8TextIsKeptAfterBytesChange() {
+        Packet packet = new Packet("abcd", "a@as.pl");
+        Violation violation = englishEngine.validateWithResult(packet).getViolations().get(0);
+        String message = violation.getMessage();
+
+        Arrays.fill(packet.name, (byte) 'x');
+
+        assertEquals("abcd", violation.getRejectedValue());
+        assertEquals(message, violation.getMessage());
+    }
+
+    @Test
+    public void violationMessagesInLocaleOfEngine() {
+        assertEquals(
+                POLISH_NOT_NULL_MESSAGE,
+                polishEngine.validateWithResult(new Item(null)).getViolations().get(0).getMessage());
+    }
+
+    @Test
+    public void enginesWithDifferentLocalesInParallel() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<Boolean> english = executor.submit(createMessageCheck(englishEngine, ENGLISH_NOT_NULL_MESSAGE));
+            Future<Boolean> polish = executor.submit(createMessageCheck(polishEngine, POLISH_NOT_NULL_MESSAGE));
+
+            assertTrue(english.get());
+            assertTrue(polish.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void constraintValidatorOfEngine() {
+        ValidatorEngine engine = ValidatorEngine.builder()
+                .constraintValidator(new PositiveValidator())
+                .build();
+
+        assertTrue(engine.isCorrectObject(new Amount(1)));
+        assertFalse(engine.isCorrectObject(new Amount(0)));
+        assertEquals("Field 'value' is not positive.", engine.validateWithErrorMessage(new Amount(0)).get());
+    }
+
+    @Test(expected = WrongAnnotationTypeException.class)
+    public void constraintValidatorOfOtherEngine() {
+        ValidatorEngine.builder()
+                .constraintValidator(new PositiveValidator())
+                .build();
+
+        ValidatorEngine.builder().build().isCorrectObject(new Amount(1));
+    }
+
+    @Test
+    public void exceptionFactoryOfEngine() {
+        ValidatorEngine engine = ValidatorEngine.builder()
+                .exceptionFactory(new ValidationExceptionFactory() {
+                    @Override
+                    public ValidationException create(Class<? extends ValidationException> exceptionClass,
+                                                      String message) {
+                        return new TestValidationException("wrapped: " + message);
+                    }
+                })
+                .locale(new Locale("en", "US"))
+                .build();
+
+        try {
+            engine.validateObject(new Item(null));
+            fail();
+        } catch (TestValidationException e) {
+            assertEquals("wrapped: " + ENGLISH_NOT_NULL_MESSAGE, e.getMessage());
+        }
+    }
+
+    @Test
+    public void noCachePolicy() {
+        ValidatorEngine engine = ValidatorEngine.builder()
+                .cachePolicy(ValidatorEngine.CachePolicy.NO_CACHE)
+                .build();
+
+        assertTrue(engine.isCorrectObject(new Item("name")));
+        assertFalse(engine.isCorrectObject(new Item(null)));
+    }
+
+    @Test(expected = WrongAnnotationTypeException.class)
+    public void wrongRegexpOfPattern() {
+        englishEngine.validateWithResult(new WrongRegexp());
+    }
+
+    @Test(timeout = 5000)
+    public void linearPatternMatching() {
+        ValidatorEngine engine = ValidatorEngine.builder()
+                .linearPatternMatching(10)
+                .build();
+
+        assertTrue(engine.isCorrectObject(new Word("aaab")));
+        assertFalse(engine.isCorrectObject(new Word(Strings.repeat("a", 100000))));
+        assertTrue(engine.isCorrectObject(new Pair("aab-aab")));
+        assertFalse(engine.isCorrectObject(new Pair("aab-ab")));
+        assertFalse(engine.toBuilder().build().isCorrectObject(new Pair("aaaab-aaaab")));
+    }
+
+    @Test
+    public void toBuilderKeepsConfiguration() {
+        ValidatorEngine engine = polishEngine.toBuilder()
+                .constraintValidator(new PositiveValidator())
+                .build();
+
+        assertEquals(new Locale("pl", "PL"), engine.getLocale());
+        assertEquals(POLISH_NOT_NULL_MESSAGE, engine.validateWithErrorMessage(new Item(null)).get());
+        assertFalse(engine.isCorrectObject(new Amount(0)));
+    }
+
+    @Test
+    public void engineWithOtherLocale() {
+        ValidatorEngine engine = englishEngine.withLocale(new Locale("pl", "PL"));
+
+        assertEquals(POLISH_NOT_NULL_MESSAGE, engine.validateWithErrorMessage(new Item(null)).get());
+        assertEquals(ENGLISH_NOT_NULL_MESSAGE, englishEngine.validateWithErrorMessage(new Item(null)).get());
+        assertSame(englishEngine, englishEngine.withLocale(new Locale("en", "US")));
+    }
+
+    @Test
+    public void perCallLocaleInParallel() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<Boolean> english = executor.submit(
+                    createMessageCheck(Validator.getDefaultEngine().withLocale(new Locale("en", "US")),
+                            ENGLISH_NOT_NULL_MESSAGE));
+            Future<Boolean> polish = executor.submit(new Callable<Boolean>() {
+                @Override
+                public Boolean call() {
+                    for (int i = 0; i < 1000; i++) {
+                        String message = Validator.validateWithErrorMessages(new Item(null), new Locale("pl", "PL"))
+                                .get("name");
+                        if (!POLISH_NOT_NULL_MESSAGE.equals(message))
+                            return false;
+                    }
+                    return true;
+                }
+            });
+
+            assertTrue(english.get());
+            assertTrue(polish.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private Callable<Boolean> createMessageCheck(final ValidatorEngine engine, final String expectedMessage) {
+        return new Callable<Boolean>() {
+            @Override
+            public Boolean call() {
+                for (int i = 0; i < 1000; i++) {
+                    if (!expectedMessage.equals(engine.validateWithErrorMessage(new Item(null)).get()))
+                        return false;
+                }
+                return true;
+            }
+        };
+    }
+
+    private static class Item {
+
+        @NotNull
+        private final String name;
+
+        Item(String name) {
+            this.name = name;
+        }
+    }
+
+    private static class NamedAmount extends Item {
+
+        private final int amount;
+
+        NamedAmount(String name, int amount) {
+            super(name);
+            this.amount = amount;
+        }
+    }
+
+    private static class Payload {
+
+        @Size(min = 1, max = 2)
+        private final byte[] bytes;
+
+        Payload(byte[] bytes) {
+            this.bytes = bytes;
+        }
+    }
+
+    private static class Packet {
+
+        @Utf8
+        @Size(max = 3)
+        private final byte[] name;
+
+        @Utf8
+        @Email
+        private final ByteBuffer email;
+
+        Packet(String name, String email) {
+            this.name = name.getBytes(StandardCharsets.UTF_8);
+            this.email = ByteBuffer.wrap(email.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static class Word {
+
+        @Pattern(regexp = "(a+)+b")
+        private final String value;
+
+        Word(String value) {
+            this.value = value;
+        }
+    }
+
+    private static class WrongRegexp {
+
+        @Pattern(regexp = "[a")
+        private final String value = "a";
+    }
+
+    private static class Pair {
+
+        @Pattern(regexp = "(a+b)-\\1")
+        private final String value;
+
+        Pair(String value) {
+            this.value = value;
+        }
+    }
+
+    private static class Amount {
+
+        @Positive
+        private final int value;
+
+        Amount(int value) {
+            this.value = value;
+        }
+    }
+
+    @Retention(RUNTIME)
+    private @interface Positive {
+    }
+
+    private static class PositiveValidator implements ConstraintValidator {
+
+        @Override
+        public Class getAnnotationType() {
+            return Positive.class;
+        }
+
+        @Override
+        public boolean isCorrect(Object objectValue, Annotation annotation) {
+            return (Integer) objectValue > 0;
+        }
+
+        @Override
+        public Optional<String> getErrorMessage(Object objectValue, Annotation annotation) {
+            return isCorrect(objectValue, annotation)
+                    ? Optional.<String>absent()
+                    : Optional.of("is not positive.");
+        }
+    }
+}
@@ -21,18 +21,20 @@ import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
 import java.lang.annotation.Annotation;
 import java.lang.annotation.Retention;
+import java.util.Collections;
 import java.util.Map;
 
 import static java.lang.annotation.RetentionPolicy.RUNTIME;
 import static org.junit.Assert.*;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.powermock.api.mockito.PowerMockito.*;
 
 @RunWith(PowerMockRunner.class)
-@PrepareForTest(value = {Validator.class, NotNullValidator.class, EmailValidator.class, SizeValidator.class})
+@PrepareForTest(value = {NotNullValidator.class, EmailValidator.class, SizeValidator.class})
 public class ValidatorTest {
 
     private static final String NOT_NULL_VALIDATOR_FORMATTED_MESSAGE = "is null but should be not null.";
@@ -49,7 +51,7 @@ public class ValidatorTest {
     private SizeValidator sizeValidator;
 
     @Before
-    public void setUp() throws Exception {
+    public void setUp() {
         mockNotNullValidator();
         mockEmailValidator();
         mockSizeValidator();
@@ -57,7 +59,7 @@ public class ValidatorTest {
 
     @Test
     public void objectWithNotNullFieldsCorrect() {
-        mockValidatorsWithoutErrorMessages();
+        mockValidatorsAcceptingValues();
 
         Object field = new Object();
         String stringField = "";
@@ -70,15 +72,15 @@ public class ValidatorTest {
                                 .build()));
 
         verify(notNullValidator, times(1))
-                .getErrorMessage(eq(field), any(Annotation.class));
+                .isCorrect(eq(field), any(Annotation.class));
         verify(notNullValidator, times(1))
-                .getErrorMessage(eq(stringField), any(Annotation.class));
+                .isCorrect(eq(stringField), any(Annotation.class));
         verify(notNullValidator, times(2));
     }
 
     @Test
     public void objectWithNotNullFieldCorrect() {
-        mockValidatorsWithoutErrorMessages();
+        mockValidatorsAcceptingValues();
 
         Object field = new Object();
 
@@ -89,7 +91,7 @@ public class ValidatorTest {
                                 .build()));
 
         verify(notNullValidator, times(1))
-                .getErrorMessage(eq(field), any(Annotation.class));
+                .isCorrect(eq(field), any(Annotation.class));
         verify(notNullValidator, times(1));
     }
 
@@ -97,10 +99,8 @@ public class ValidatorTest {
     public void objectWithSomeFieldsNull() {
         String stringField = "";
 
-        when(notNullValidator.getErrorMessage(any(Object.class), any(Annotation.class)))
-                .thenReturn(Optional.of(NOT_NULL_VALIDATOR_FORMATTED_MESSAGE));
-        when(notNullValidator.getErrorMessage(eq(stringField), any(Annotation.class)))
-                .thenReturn(Optional.<String>absent());
+        when(notNullValidator.isCorrect(eq(stringField), any(Annotation.class)))
+                .thenReturn(true);
 
         assertFalse(
                 Validator.isCorrectObject(
@@ -109,8 +109,11 @@ public class ValidatorTest {
                                 .build()));
 
         verify(notNullValidator, times(1))
-                .getErrorMessage(eq(null), any(Annotation.class));
-        verify(notNullValidator, times(1));
+                .isCorrect(eq(null), any(Annotation.class));
+        verify(notNullValidator, never())
+                .isCorrect(eq(stringField), any(Annotation.class));
+        verify(notNullValidator, never())
+                .getErrorMessage(any(Object.class), any(Annotation.class));
     }
 
     @Test(expected = WrongAnnotationTypeException.class)
@@ -138,7 +141,7 @@ public class ValidatorTest {
 
     @Test(expected = WrongAnnotationTypeException.class)
     public void correctConstraintAndWrongAnnotation() {
-        mockValidatorsWithoutErrorMessages();
+        mockValidatorsAcceptingValues();
 
         Validator.isCorrectObject(
                 CorrectAndWrongAnnotationFieldObject.builder()
@@ -148,7 +151,7 @@ public class ValidatorTest {
 
     @Test(expected = WrongAnnotationTypeException.class)
     public void wrongConstraintAndWrongAnnotation() {
-        mockValidatorsWithErrorMessages();
+        mockValidatorsRejectingValues();
 
         Validator.isCorrectObject(
                 CorrectAndWrongAnnotationFieldObject.builder()
@@ -159,7 +162,7 @@ public class ValidatorTest {
     public void correctField() {
         final Object field = new Object();
 
-        mockValidatorsWithoutErrorMessages();
+        mockValidatorsAcceptingValues();
 
         assertTrue(
                 Validator.isCorrectField(
@@ -169,7 +172,7 @@ public class ValidatorTest {
                         FIELD_NAME));
 
         verify(notNullValidator, times(1))
-                .getErrorMessage(eq(field), any(Annotation.class));
+                .isCorrect(eq(field), any(Annotation.class));
         verify(notNullValidator, times(1));
     }
 
@@ -177,7 +180,7 @@ public class ValidatorTest {
     public void correctFieldWithMultipleConstraints() {
         String field = "ab";
 
-        mockValidatorsWithoutErrorMessages();
+        mockValidatorsAcceptingValues();
 
         FieldWithCorrectMultipleAnnotationsObject object = FieldWithCorrectMultipleAnnotationsObject.builder()
                 .field(field)
@@ -187,14 +190,14 @@ public class ValidatorTest {
                 Validator.isCorrectField(object, FIELD_NAME));
 
         verify(notNullValidator, times(1))
-                .getErrorMessage(eq(field), any(Annotation.class));
+                .isCorrect(eq(field), any(Annotation.class));
         verify(sizeValidator, times(1))
-                .getErrorMessage(eq(field), any(Annotation.class));
+                .isCorrect(eq(field), any(Annotation.class));
     }
 
     @Test
     public void incorrectField() {
-        mockValidatorsWithErrorMessages();
+        mockValidatorsRejectingValues();
 
         NotNullFieldObject notNullFieldObject = NotNullFieldObject.builder()
                 .build();
@@ -203,7 +206,7 @@ public class ValidatorTest {
                 Validator.isCorrectField(notNullFieldObject, FIELD_NAME));
 
         verify(notNullValidator, times(1))
-                .getErrorMessage(eq(null), any(Annotation.class));
+                .isCorrect(eq(null), any(Annotation.class));
         verify(notNullValidator, times(1));
     }
 
@@ -211,10 +214,8 @@ public class ValidatorTest {
     public void incorrectSizeFieldWithMultipleConstraints() {
         String field = "abcd";
 
-        when(notNullValidator.getErrorMessage(any(Object.class), any(Annotation.class)))
-                .thenReturn(Optional.<String>absent());
-        when(sizeValidator.getErrorMessage(any(Object.class), any(Annotation.class)))
-                .thenReturn(Optional.of(SIZE_VALIDATOR_FORMATTED_MESSAGE));
+        when(notNullValidator.isCorrect(any(Object.class), any(Annotation.class)))
+                .thenReturn(true);
 
         assertFalse(
                 Validator.isCorrectField(
@@ -224,14 +225,14 @@ public class ValidatorTest {
                         FIELD_NAME));
 
         verify(notNullValidator, times(1))
-                .getErrorMessage(any(Object.class), any(Annotation.class));
+                .isCorrect(any(Object.class), any(Annotation.class));
         verify(sizeValidator, times(1))
-                .getErrorMessage(any(Object.class), any(Annotation.class));
+                .isCorrect(any(Object.class), any(Annotation.class));
     }
 
     @Test
     public void incorrectNullityFieldWithMultipleConstraints() {
-        mockValidatorsWithErrorMessages();
+        mockValidatorsRejectingValues();
 
         assertFalse(
                 Validator.isCorrectField(
@@ -240,8 +241,9 @@ public class ValidatorTest {
                         FIELD_NAME));
 
         verify(notNullValidator, times(1))
-            .getErrorMessage(any(Object.class), any(Annotation.class));
-        verify(sizeValidator, times(0));
+            .isCorrect(any(Object.class), any(Annotation.class));
+        verify(sizeValidator, never())
+            .isCorrect(any(Object.class), any(Annotation.class));
     }
 
     @Test(expected = NotExistingField.class)
@@ -256,10 +258,10 @@ public class ValidatorTest {
         WrongAnnotationFieldObject secObj = WrongAnnotationFieldObject.builder()
                 .build();
 
-        Validator.checkAnnotationConstraintError(
-                secObj,
+        new ConstrainedField(
                 firstObj.getClass().getDeclaredField(FIELD_NAME),
-                null);
+                Collections.<FieldConstraint>emptyList())
+                .getValue(secObj);
     }
 
     @Test
@@ -497,6 +499,24 @@ public class ValidatorTest {
                 .build();
     }
 
+    private void mockValidatorsAcceptingValues() {
+        when(notNullValidator.isCorrect(any(Object.class), any(Annotation.class)))
+                .thenReturn(true);
+        when(sizeValidator.isCorrect(any(Object.class), any(Annotation.class)))
+                .thenReturn(true);
+        when(emailValidator.isCorrect(any(Object.class), any(Annotation.class)))
+                .thenReturn(true);
+    }
+
+    private void mockValidatorsRejectingValues() {
+        when(notNullValidator.isCorrect(any(Object.class), any(Annotation.class)))
+                .thenReturn(false);
+        when(sizeValidator.isCorrect(any(Object.class), any(Annotation.class)))
+                .thenReturn(false);
+        when(emailValidator.isCorrect(any(Object.class), any(Annotation.class)))
+                .thenReturn(false);
+    }
+
     private void mockValidatorsWithErrorMessages() {
         when(notNullValidator.getErrorMessage(any(Object.class), any(Annotation.class)))
                 .thenReturn(Optional.of(NOT_NULL_VALIDATOR_FORMATTED_MESSAGE));
@@ -515,37 +535,31 @@ public class ValidatorTest {
                 .thenReturn(Optional.<String>absent());
     }
 
-    private void mockNotNullValidator() throws Exception {
+    private void mockNotNullValidator() {
         notNullValidator = mock(NotNullValidator.class);
 
-        whenNew(NotNullValidator.class)
-                .withAnyArguments()
-                .thenReturn(notNullValidator);
-
         when(notNullValidator.getAnnotationType())
                 .thenReturn(NotNull.class);
+
+        Validator.registerConstraintValidator(notNullValidator);
     }
 
-    private void mockEmailValidator() throws Exception {
+    private void mockEmailValidator() {
         emailValidator = mock(EmailValidator.class);
 
-        whenNew(EmailValidator.class)
-                .withAnyArguments()
-                .thenReturn(emailValidator);
-
         when(emailValidator.getAnnotationType())
                 .thenReturn(Email.class);
+
+        Validator.registerConstraintValidator(emailValidator);
     }
 
-    private void mockSizeValidator() throws Exception {
+    private void mockSizeValidator() {
         sizeValidator = mock(SizeValidator.class);
 
-        whenNew(SizeValidator.class)
-                .withAnyArguments()
-                .thenReturn(sizeValidator);
-
         when(sizeValidator.getAnnotationType())
                 .thenReturn(Size.class);
+
+        Validator.registerConstraintValidator(sizeValidator);
     }
 
     @Builder
@@ -0,0 +1,132 @@
+package org.bitbucket.pablo127.gpigvalidator.constraint;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.Lists;
+import org.bitbucket.pablo127.gpigvalidator.exception.WrongFieldTypeException;
+import org.hibernate.validator.constraints.Email;
+import org.junit.Test;
+
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Pattern;
+import javax.validation.constraints.Size;
+import java.lang.annotation.Annotation;
+import java.nio.CharBuffer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ConstraintChecksTest {
+
+    @Test
+    public void notNullCheck() {
+        ConstraintCheck check = compile(new NotNullValidator(), mock(NotNull.class));
+
+        assertTrue(check.isCorrect("a"));
+        assertFalse(check.isCorrect(null));
+    }
+
+    @Test
+    public void emailCheck() {
+        ConstraintCheck check = compile(new EmailValidator(), mock(Email.class));
+
+        assertTrue(check.isCorrect("a@as.pl"));
+        assertFalse(check.isCorrect("a@aspl"));
+        assertFalse(check.isCorrect(null));
+        assertFalse(check.isCorrect(2));
+    }
+
+    @Test
+    public void emailCheckOfCharSequences() {
+        ConstraintCheck check = compile(new EmailValidator(), mock(Email.class));
+
+        assertTrue(check.isCorrect(new StringBuilder("a@as.pl")));
+        assertFalse(check.isCorrect(CharBuffer.wrap("a@aspl")));
+        assertTrue(ConstraintChecks.isEmail(CharBuffer.wrap("<a@as.pl>").subSequence(1, 8)));
+    }
+
+    @Test
+    public void patternCheck() {
+        Pattern pattern = mock(Pattern.class);
+        when(pattern.regexp()).thenReturn("a+b");
+        when(pattern.flags()).thenReturn(new Pattern.Flag[0]);
+        ConstraintCheck check = compile(new PatternValidator(), pattern);
+
+        assertTrue(check.isCorrect("aab"));
+        assertTrue(check.isCorrect(new StringBuilder("ab")));
+        assertFalse(check.isCorrect("b"));
+        assertFalse(check.isCorrect(null));
+        assertFalse(check.isCorrect(2));
+    }
+
+    @Test
+    public void sizeCheck() {
+        ConstraintCheck check = compile(new SizeValidator(), mockSize(1, 2));
+
+        assertTrue(check.isCorrect("a"));
+        assertTrue(check.isCorrect(Lists.newArrayList(1, 2)));
+        assertFalse(check.isCorrect(""));
+        assertFalse(check.isCorrect(new Object[3]));
+        assertFalse(check.isCorrect(null));
+    }
+
+    @Test
+    public void sizeCheckOfPrimitiveArrays() {
+        ConstraintCheck check = compile(new SizeValidator(), mockSize(1, 2), Object.class);
+
+        assertTrue(check.isCorrect(new boolean[1]));
+        assertTrue(check.isCorrect(new float[2]));
+        assertFalse(check.isCorrect(new short[3]));
+        assertFalse(check.isCorrect(new long[0]));
+    }
+
+    @Test
+    public void sizeCheckSpecializedForFieldType() {
+        Size size = mockSize(1, 2);
+
+        assertTrue(compile(new SizeValidator(), size, byte[].class).isCorrect(new byte[2]));
+        assertFalse(compile(new SizeValidator(), size, int[].class).isCorrect(new int[3]));
+        assertTrue(compile(new SizeValidator(), size, String.class).isCorrect("ab"));
+        assertTrue(compile(new SizeValidator(), size, List.class).isCorrect(Lists.newArrayList(1)));
+        assertFalse(compile(new SizeValidator(), size, Map.class).isCorrect(new HashMap<>()));
+        assertTrue(compile(new SizeValidator(), size, Integer[].class).isCorrect(new Integer[1]));
+        assertFalse(compile(new SizeValidator(), size, char[].class).isCorrect(null));
+    }
+
+    @Test(expected = WrongFieldTypeException.class)
+    public void sizeCheckWithWrongFieldType() {
+        compile(new SizeValidator(), mockSize(1, 2)).isCorrect(2);
+    }
+
+    @Test
+    public void noCheckForNotMatchingAnnotation() {
+        assertFalse(ConstraintChecks.compile(new NotNullValidator(), mock(Size.class)).isPresent());
+    }
+
+    @Test
+    public void noCheckForOtherValidator() {
+        assertFalse(ConstraintChecks.compile(mock(NotNullValidator.class), mock(NotNull.class)).isPresent());
+    }
+
+    private ConstraintCheck compile(ConstraintValidator validator, Annotation annotation) {
+        Optional<ConstraintCheck> checkOpt = ConstraintChecks.compile(validator, annotation);
+        assertTrue(checkOpt.isPresent());
+        return checkOpt.get();
+    }
+
+    private ConstraintCheck compile(ConstraintValidator validator, Annotation annotation, Class<?> fieldType) {
+        Optional<ConstraintCheck> checkOpt = ConstraintChecks.compile(validator, annotation, fieldType);
+        assertTrue(checkOpt.isPresent());
+        return checkOpt.get();
+    }
+
+    private Size mockSize(int min, int max) {
+        Size size = mock(Size.class);
+        when(size.min()).thenReturn(min);
+        when(size.max()).thenReturn(max);
+        return size;
+    }
+}
@@ -0,0 +1,96 @@
+package org.bitbucket.pablo127.gpigvalidator.constraint;
+
+import org.junit.Test;
+
+import java.nio.CharBuffer;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.*;
+
+public class EmailMatcherTest {
+
+    private static final Pattern EMAIL_REGEX = Pattern.compile(EmailValidator.EMAIL_PATTERN);
+
+    private static final String ALPHABET = "aZz09_-+.@#\u0105";
+    private static final String[] FRAGMENTS = {"a", "Zb", "9", "_", "-", "+", ".", "..", "@", "pl", "com", "x1", "\n"};
+
+    private static final int RANDOM_INPUTS = 200000;
+    private static final int MAX_RANDOM_LENGTH = 14;
+
+    @Test
+    public void correctEmails() {
+        assertMatches("a@as.pl");
+        assertMatches("john+tag.smith@example.com");
+        assertMatches("a-b_c@sub-domain.example2.org");
+        assertMatches("a@b.c1.de");
+    }
+
+    @Test
+    public void wrongEmails() {
+        assertNotMatches("");
+        assertNotMatches("a@aspl");
+        assertNotMatches("aas@.pl");
+        assertNotMatches("@as.pl");
+        assertNotMatches("a.@as.pl");
+        assertNotMatches("a.+b@as.pl");
+        assertNotMatches("a@as.p");
+        assertNotMatches("a@as.pl1");
+        assertNotMatches("a@as..pl");
+        assertNotMatches("a@a_s.pl");
+        assertNotMatches("a@as.pl.");
+        assertNotMatches("a@b@as.pl");
+        assertNotMatches("a@as.pl\n");
+    }
+
+    @Test
+    public void sameResultAsRegexForRandomCharacters() {
+        Random random = new Random(127);
+        for (int i = 0; i < RANDOM_INPUTS; i++) {
+            StringBuilder value = new StringBuilder();
+            int length = random.nextInt(MAX_RANDOM_LENGTH);
+            for (int j = 0; j < length; j++)
+                value.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+
+            assertSameResultAsRegex(value.toString());
+        }
+    }
+
+    @Test
+    public void sameResultAsRegexForRandomFragments() {
+        Random random = new Random(721);
+        for (int i = 0; i < RANDOM_INPUTS; i++) {
+            StringBuilder value = new StringBuilder();
+            int fragments = random.nextInt(MAX_RANDOM_LENGTH / 2);
+            for (int j = 0; j < fragments; j++)
+                value.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+
+            assertSameResultAsRegex(value.toString());
+        }
+    }
+
+    @Test
+    public void sameResultForCharSequences() {
+        assertTrue(EmailMatcher.matches(new StringBuilder("john+tag.smith@example.com")));
+        assertFalse(EmailMatcher.matches(new StringBuilder("a@as..pl")));
+        assertTrue(EmailMatcher.matches(CharBuffer.wrap("x a@as.pl x").subSequence(2, 9)));
+        assertFalse(EmailMatcher.matches(CharBuffer.wrap("x a@as.pl x").subSequence(2, 10)));
+    }
+
+    private void assertSameResultAsRegex(String value) {
+        boolean expected = EMAIL_REGEX.matcher(value).matches();
+        assertEquals("Different result for '" + value + "'", expected, EmailMatcher.matches(value));
+        assertEquals("Different result for '" + value + "' in a buffer", expected,
+                EmailMatcher.matches(CharBuffer.wrap("#" + value + "#").subSequence(1, value.length() + 1)));
+    }
+
+    private void assertMatches(String value) {
+        assertTrue(EMAIL_REGEX.matcher(value).matches());
+        assertTrue(EmailMatcher.matches(value));
+    }
+
+    private void assertNotMatches(String value) {
+        assertFalse(EMAIL_REGEX.matcher(value).matches());
+        assertFalse(EmailMatcher.matches(value));
+    }
+}
@@ -12,6 +12,8 @@ import org.powermock.modules.junit4.PowerMockRunner;
 
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
 
 import static org.junit.Assert.*;
 import static org.mockito.Matchers.eq;
@@ -52,6 +54,20 @@ public class EmailValidatorTest {
                 emailValidator.isCorrect(CORRECT_EMAIL, emailAnnotation));
     }
 
+    @Test
+    public void emailInCharSequence() {
+        assertTrue(emailValidator.isCorrect(new StringBuilder(CORRECT_EMAIL), emailAnnotation));
+        assertFalse(emailValidator.isCorrect(CharBuffer.wrap("a@aspl"), emailAnnotation));
+    }
+
+    @Test
+    public void emailInUtf8Bytes() {
+        assertTrue(emailValidator.isCorrect(
+                Utf8Sequence.of(CORRECT_EMAIL.getBytes(StandardCharsets.UTF_8)), emailAnnotation));
+        assertFalse(emailValidator.isCorrect(
+                Utf8Sequence.of("\u017c@as.pl".getBytes(StandardCharsets.UTF_8)), emailAnnotation));
+    }
+
     @Test(expected = WrongFieldTypeException.class)
     public void wrongFieldType() {
         emailValidator.isCorrect(2, emailAnnotation);
@@ -101,7 +117,7 @@ public class EmailValidatorTest {
     private void mockTranslationConfig() {
         mockStatic(TranslationConfig.class);
 
-        when(TranslationConfig.getTranslation(eq(Message.EMAIL_ERROR_MESSAGE)))
-                .thenReturn(EMAIL_ERROR_FORMATTED_MESSAGE);
+        when(TranslationConfig.getTemplate(eq(Message.EMAIL_ERROR_MESSAGE)))
+                .thenReturn(MessageTemplate.parse(EMAIL_ERROR_FORMATTED_MESSAGE));
     }
 }
\ No newline at end of file
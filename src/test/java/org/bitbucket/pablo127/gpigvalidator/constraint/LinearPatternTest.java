@@ -0,0 +1,179 @@
+package org.bitbucket.pablo127.gpigvalidator.constraint;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Strings;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import static org.junit.Assert.*;
+
+public class LinearPatternTest {
+
+    private static final String[] SUPPORTED_PATTERNS = {
+            "",
+            "abc",
+            "a|b|",
+            "(a|ab)(c|bcd)(d*)",
+            "(?:a+b)*c?",
+            "(?<code>[A-Z]{2})-\\d{1,3}",
+            "[^a-c]+",
+            "[-a]|[a-]|[\\d\\s]x|[a-c-e]|[+--]",
+            "[\\w.+-]+@[\\w-]+\\.[a-z]{2,}",
+            "\\.\\*\\+\\?\\(\\)\\[\\]\\{\\}\\\\\\|\\^\\$",
+            "\\t\\n\\r\\f\\a\\e\\x41\\u0142",
+            "a.c",
+            "^(a*)*$",
+            "x{0}y{2,}z{1,3}?",
+            "\uD83D\uDE00+",
+            EmailValidator.EMAIL_PATTERN
+    };
+
+    private static final String[] UNSUPPORTED_PATTERNS = {
+            "(a)\\1",
+            "a(?=b)",
+            "a(?!b)",
+            "(?<=a)b",
+            "(?i)a",
+            "\\ba\\b",
+            "\\p{Lu}",
+            "\\Qa.b\\E",
+            "a*+",
+            "a++",
+            "(?>a)",
+            "[a[b]]",
+            "[a-z&&[^b]]",
+            "a^",
+            "$a",
+            "(^a)",
+            "(a$)",
+            "a{1,100000}",
+            "\\x{41}",
+            "\\0101"
+    };
+
+    private static final String ALPHABET = "aAbBcCdxXyz09_-+.@ \t\n\r\u0085\u2028\u0142\u0141";
+    private static final String[] ATOMS = {
+            "a", "b", "A", ".", "\\d", "\\W", "\\s", "[a-c]", "[^b]", "[A-Z_]", "[\\d.]", "\\.", "@", "(a|b)", "(?:ab|)"
+    };
+    private static final String[] QUANTIFIERS = {"", "", "", "*", "+", "?", "{2}", "{1,3}", "{2,}", "*?", "??"};
+
+    private static final int RANDOM_PATTERNS = 3000;
+    private static final int INPUTS_PER_PATTERN = 40;
+    private static final int MAX_RANDOM_LENGTH = 10;
+
+    @Test
+    public void supportedPatterns() {
+        for (String regexp : SUPPORTED_PATTERNS)
+            assertTrue(regexp, LinearPattern.compile(regexp, 0).isPresent());
+    }
+
+    @Test
+    public void unsupportedPatterns() {
+        for (String regexp : UNSUPPORTED_PATTERNS)
+            assertFalse(regexp, LinearPattern.compile(regexp, 0).isPresent());
+    }
+
+    @Test
+    public void unsupportedFlags() {
+        assertFalse(LinearPattern.compile("a", Pattern.UNICODE_CASE).isPresent());
+        assertFalse(LinearPattern.compile("a", Pattern.COMMENTS).isPresent());
+        assertFalse(LinearPattern.compile("^a", Pattern.MULTILINE).isPresent());
+        assertTrue(LinearPattern.compile("a", Pattern.CASE_INSENSITIVE | Pattern.DOTALL).isPresent());
+    }
+
+    @Test(expected = PatternSyntaxException.class)
+    public void wrongPattern() {
+        LinearPattern.compile("(a", 0);
+    }
+
+    @Test
+    public void wholeValueIsMatched() {
+        LinearPattern pattern = compile("[a-z]+\\d", 0);
+
+        assertTrue(pattern.matches("abc1"));
+        assertFalse(pattern.matches("abc1 "));
+        assertFalse(pattern.matches("abc"));
+        assertFalse(pattern.matches(""));
+    }
+
+    @Test
+    public void sameResultAsJdkForSupportedPatterns() {
+        Random random = new Random(127);
+        int[] flags = {0, Pattern.CASE_INSENSITIVE, Pattern.DOTALL, Pattern.UNIX_LINES};
+        for (String regexp : SUPPORTED_PATTERNS) {
+            for (int flag : flags)
+                assertSameResultAsJdk(regexp, flag, random);
+        }
+    }
+
+    @Test
+    public void sameResultAsJdkForRandomPatterns() {
+        Random random = new Random(721);
+        for (int i = 0; i < RANDOM_PATTERNS; i++) {
+            String regexp = createRandomPattern(random, 2);
+            int flags = random.nextBoolean() ? 0 : Pattern.CASE_INSENSITIVE;
+            assertSameResultAsJdk(regexp, flags, random);
+        }
+    }
+
+    @Test(timeout = 5000)
+    public void linearTimeForCatastrophicInput() {
+        LinearPattern pattern = compile("(a+)+b", 0);
+        String input = Strings.repeat("a", 100000);
+
+        assertFalse(pattern.matches(input));
+        assertTrue(pattern.matches(input + "b"));
+    }
+
+    private void assertSameResultAsJdk(String regexp, int flags, Random random) {
+        Pattern jdkPattern = Pattern.compile(regexp, flags);
+        LinearPattern linearPattern = compile(regexp, flags);
+        for (int i = 0; i < INPUTS_PER_PATTERN; i++) {
+            String input = createRandomInput(random, regexp);
+            assertEquals(
+                    "Different result for '" + regexp + "' (flags " + flags + ") on '" + input + "'",
+                    jdkPattern.matcher(input).matches(),
+                    linearPattern.matches(input));
+        }
+    }
+
+    private String createRandomPattern(Random random, int depth) {
+        StringBuilder regexp = new StringBuilder();
+        int atoms = 1 + random.nextInt(4);
+        for (int i = 0; i < atoms; i++) {
+            if (depth > 0 && random.nextInt(5) == 0)
+                regexp.append('(').append(createRandomPattern(random, depth - 1)).append(')');
+            else
+                regexp.append(ATOMS[random.nextInt(ATOMS.length)]);
+            regexp.append(QUANTIFIERS[random.nextInt(QUANTIFIERS.length)]);
+        }
+        if (random.nextInt(4) == 0)
+            regexp.append('|').append(createRandomPattern(random, depth - 1 < 0 ? 0 : depth - 1));
+        return regexp.toString();
+    }
+
+    /**
+     * @return random characters or a random sequence of literal characters of the pattern, which often matches
+     */
+    private String createRandomInput(Random random, String regexp) {
+        StringBuilder input = new StringBuilder();
+        int length = random.nextInt(MAX_RANDOM_LENGTH);
+        boolean fromPattern = random.nextBoolean();
+        for (int i = 0; i < length; i++) {
+            if (fromPattern && !regexp.isEmpty())
+                input.append(regexp.charAt(random.nextInt(regexp.length())));
+            else
+                input.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return input.toString();
+    }
+
+    private LinearPattern compile(String regexp, int flags) {
+        Optional<LinearPattern> patternOpt = LinearPattern.compile(regexp, flags);
+        assertTrue(regexp, patternOpt.isPresent());
+        return patternOpt.get();
+    }
+}
@@ -0,0 +1,80 @@
+package org.bitbucket.pablo127.gpigvalidator.constraint;
+
+import org.junit.Test;
+
+import java.util.Formattable;
+import java.util.Formatter;
+import java.util.Locale;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class MessageTemplateTest {
+
+    @Test
+    public void messageWithoutArguments() {
+        assertFormattedLikeStringFormat("is null but should be not null.");
+    }
+
+    @Test
+    public void messageWithStringArgument() {
+        assertFormattedLikeStringFormat("with value '%s' should be email but it is not.", "a@aspl");
+    }
+
+    @Test
+    public void messageWithNullArgument() {
+        assertFormattedLikeStringFormat("with value '%s' should be email but it is not.", (Object) null);
+    }
+
+    @Test
+    public void messageWithNumberArgument() {
+        assertFormattedLikeStringFormat("It should be at least %d char long.", 3);
+    }
+
+    @Test
+    public void messageWithArgumentsAtBounds() {
+        assertFormattedLikeStringFormat("%s and %d", "a", 2);
+    }
+
+    @Test
+    public void messageWithPercentSign() {
+        assertFormattedLikeStringFormat("%d%% of %s", 30, "rows");
+    }
+
+    @Test
+    public void messageWithOtherConversion() {
+        assertFormattedLikeStringFormat("%5d chars", 3);
+    }
+
+    @Test
+    public void messageWithNumberInLocaleWithOtherDigits() {
+        Locale formatLocale = Locale.getDefault(Locale.Category.FORMAT);
+        Locale.setDefault(Locale.Category.FORMAT, Locale.forLanguageTag("th-TH-u-nu-thai"));
+        try {
+            assertNotEquals("3 chars", String.format("%d chars", 3));
+            assertFormattedLikeStringFormat("It should be at least %d char long.", 3);
+            assertFormattedLikeStringFormat("%s has %d chars", "abc", 3);
+        } finally {
+            Locale.setDefault(Locale.Category.FORMAT, formatLocale);
+        }
+    }
+
+    @Test
+    public void messageWithFormattableArgument() {
+        assertFormattedLikeStringFormat("with value '%s' should be email but it is not.", new Formattable() {
+            @Override
+            public void formatTo(Formatter formatter, int flags, int width, int precision) {
+                formatter.format("formatted");
+            }
+        });
+    }
+
+    @Test
+    public void pattern() {
+        assertEquals("%d%%", MessageTemplate.parse("%d%%").getPattern());
+    }
+
+    private void assertFormattedLikeStringFormat(String pattern, Object... arguments) {
+        assertEquals(String.format(pattern, arguments), MessageTemplate.parse(pattern).format(arguments));
+    }
+}
@@ -0,0 +1,191 @@
+package org.bitbucket.pablo127.gpigvalidator.constraint;
+
+import com.google.common.base.Optional;
+import org.bitbucket.pablo127.gpigvalidator.exception.WrongAnnotationTypeException;
+import org.bitbucket.pablo127.gpigvalidator.exception.WrongFieldTypeException;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Pattern;
+import java.nio.CharBuffer;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.PatternSyntaxException;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.eq;
+import static org.powermock.api.mockito.PowerMockito.*;
+
+@RunWith(PowerMockRunner.class)
+@PrepareForTest(value = {PatternValidator.class, TranslationConfig.class})
+public class PatternValidatorTest {
+
+    private static final String PATTERN_ERROR_FORMATTED_MESSAGE =
+            "with value '%s' should match pattern '%s' but it does not.";
+
+    private static final String CODE_REGEXP = "[A-Z]{2}-\\d+";
+
+    private PatternValidator patternValidator;
+    private Pattern codeAnnotation;
+
+    @Before
+    public void setUp() throws Exception {
+        patternValidator = new PatternValidator();
+        codeAnnotation = mockPattern(CODE_REGEXP);
+        mockTranslationConfig();
+    }
+
+    @Test
+    public void getAnnotationType() {
+        assertEquals(Pattern.class, patternValidator.getAnnotationType());
+    }
+
+    @Test
+    public void matchingValue() {
+        assertTrue(patternValidator.isCorrect("PL-127", codeAnnotation));
+    }
+
+    @Test
+    public void notMatchingValue() {
+        assertFalse(patternValidator.isCorrect("pl-127", codeAnnotation));
+        assertFalse(patternValidator.isCorrect("PL-127 ", codeAnnotation));
+    }
+
+    @Test
+    public void valueInCharSequence() {
+        assertTrue(patternValidator.isCorrect(new StringBuilder("PL-127"), codeAnnotation));
+        assertFalse(patternValidator.isCorrect(CharBuffer.wrap("PL-"), codeAnnotation));
+    }
+
+    @Test
+    public void patternWithFlags() {
+        Pattern annotation = mockPattern(CODE_REGEXP, Pattern.Flag.CASE_INSENSITIVE);
+
+        assertTrue(patternValidator.isCorrect("pl-127", annotation));
+        assertFalse(patternValidator.isCorrect("pl-127", codeAnnotation));
+    }
+
+    @Test
+    public void patternCompiledOnce() {
+        CompiledPattern pattern = patternValidator.compile(codeAnnotation);
+
+        assertSame(pattern, new PatternValidator().compile(mockPattern(CODE_REGEXP)));
+        assertNotSame(pattern, patternValidator.compile(mockPattern(CODE_REGEXP, Pattern.Flag.MULTILINE)));
+        assertNotSame(pattern, PatternValidator.withLinearMatching(10).compile(codeAnnotation));
+    }
+
+    @Test
+    public void linearMatching() {
+        PatternValidator linearValidator = PatternValidator.withLinearMatching(10);
+
+        assertTrue(linearValidator.compile(codeAnnotation) instanceof LinearPattern);
+        assertTrue(linearValidator.isCorrect("PL-127", codeAnnotation));
+        assertFalse(linearValidator.isCorrect("PL127", codeAnnotation));
+        assertTrue(linearValidator.isCorrect("PL-1271271271271271271271271", codeAnnotation));
+    }
+
+    @Test
+    public void linearMatchingWithFallbackForLongerValue() {
+        PatternValidator linearValidator = PatternValidator.withLinearMatching(10);
+        Pattern backReference = mockPattern("(a+)-\\1");
+
+        assertTrue(linearValidator.compile(backReference) instanceof JdkPattern);
+        assertTrue(linearValidator.isCorrect("aaaa-aaaa", backReference));
+        assertFalse(linearValidator.isCorrect("aaaaa-aaaaa", backReference));
+        assertTrue(patternValidator.isCorrect("aaaaa-aaaaa", backReference));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeFallbackInputLength() {
+        PatternValidator.withLinearMatching(-1);
+    }
+
+    @Test
+    public void sameResultInParallel() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<Boolean> matching = executor.submit(createCheck("PL-127", true));
+            Future<Boolean> notMatching = executor.submit(createCheck("PL127", false));
+
+            assertTrue(matching.get());
+            assertTrue(notMatching.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void wrongRegexp() {
+        try {
+            patternValidator.isCorrect("a", mockPattern("[a"));
+            fail();
+        } catch (WrongAnnotationTypeException e) {
+            assertTrue(e.getCause() instanceof PatternSyntaxException);
+        }
+    }
+
+    @Test(expected = WrongAnnotationTypeException.class)
+    public void wrongRegexpWithLinearMatching() {
+        PatternValidator.withLinearMatching(10).isCorrect("a", mockPattern("[a"));
+    }
+
+    @Test(expected = WrongFieldTypeException.class)
+    public void wrongFieldType() {
+        patternValidator.isCorrect(2, codeAnnotation);
+    }
+
+    @Test
+    public void nullObject() {
+        assertFalse(patternValidator.isCorrect(null, codeAnnotation));
+    }
+
+    @Test(expected = WrongAnnotationTypeException.class)
+    public void wrongAnnotationType() {
+        patternValidator.isCorrect("PL-127", mock(NotNull.class));
+    }
+
+    @Test
+    public void correctErrorMessageForNotNullValue() {
+        Optional<String> errorOpt = patternValidator.getErrorMessage("PL127", codeAnnotation);
+        assertTrue(errorOpt.isPresent());
+        assertEquals(String.format(PATTERN_ERROR_FORMATTED_MESSAGE, "PL127", CODE_REGEXP), errorOpt.get());
+    }
+
+    @Test
+    public void emptyErrorMessageForCorrectValidation() {
+        assertFalse(patternValidator.getErrorMessage("PL-127", codeAnnotation).isPresent());
+    }
+
+    private Callable<Boolean> createCheck(final String value, final boolean expected) {
+        return new Callable<Boolean>() {
+            @Override
+            public Boolean call() {
+                for (int i = 0; i < 10000; i++) {
+                    if (patternValidator.isCorrect(value, codeAnnotation) != expected)
+                        return false;
+                }
+                return true;
+            }
+        };
+    }
+
+    private Pattern mockPattern(String regexp, Pattern.Flag... flags) {
+        Pattern pattern = mock(Pattern.class);
+        when(pattern.regexp()).thenReturn(regexp);
+        when(pattern.flags()).thenReturn(flags);
+        return pattern;
+    }
+
+    private void mockTranslationConfig() {
+        mockStatic(TranslationConfig.class);
+
+        when(TranslationConfig.getTemplate(eq(Message.PATTERN_ERROR_MESSAGE)))
+                .thenReturn(MessageTemplate.parse(PATTERN_ERROR_FORMATTED_MESSAGE));
+    }
+}
@@ -1,6 +1,7 @@
 package org.bitbucket.pablo127.gpigvalidator.constraint;
 
 import com.google.common.base.Optional;
+import com.google.common.collect.FluentIterable;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import org.bitbucket.pablo127.gpigvalidator.exception.WrongAnnotationTypeException;
@@ -14,7 +15,9 @@ import org.powermock.modules.junit4.PowerMockRunner;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
 import java.lang.annotation.Annotation;
+import java.nio.CharBuffer;
 import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import static org.junit.Assert.*;
 import static org.mockito.Matchers.eq;
@@ -59,14 +62,14 @@ public class SizeValidatorTest {
 
         when(TranslationConfig.getTranslation(eq(Message.SIZE_ERROR_NOT_PROPER_SIZE)))
                 .thenReturn(SIZE_ERROR_NOT_PROPER_SIZE);
-        when(TranslationConfig.getTranslation(eq(Message.SIZE_ERROR_FOR_STRING_TOO_SHORT_FORMATTED_MESSAGE)))
-                .thenReturn(SIZE_ERROR_FOR_STRING_TOO_SHORT_FORMATTED_MESSAGE);
-        when(TranslationConfig.getTranslation(eq(Message.SIZE_ERROR_FOR_STRING_TOO_LONG_FORMATTED_MESSAGE)))
-                .thenReturn(SIZE_ERROR_FOR_STRING_TOO_LONG_FORMATTED_MESSAGE);
-        when(TranslationConfig.getTranslation(eq(Message.SIZE_ERROR_FOR_COLLECTIONS_TOO_SHORT_FORMATTED_MESSAGE)))
-                .thenReturn(SIZE_ERROR_FOR_COLLECTIONS_TOO_SHORT_FORMATTED_MESSAGE);
-        when(TranslationConfig.getTranslation(eq(Message.SIZE_ERROR_FOR_COLLECTIONS_TOO_LONG_FORMATTED_MESSAGE)))
-                .thenReturn(SIZE_ERROR_FOR_COLLECTIONS_TOO_LONG_FORMATTED_MESSAGE);
+        when(TranslationConfig.getTemplate(eq(Message.SIZE_ERROR_FOR_STRING_TOO_SHORT_FORMATTED_MESSAGE)))
+                .thenReturn(MessageTemplate.parse(SIZE_ERROR_FOR_STRING_TOO_SHORT_FORMATTED_MESSAGE));
+        when(TranslationConfig.getTemplate(eq(Message.SIZE_ERROR_FOR_STRING_TOO_LONG_FORMATTED_MESSAGE)))
+                .thenReturn(MessageTemplate.parse(SIZE_ERROR_FOR_STRING_TOO_LONG_FORMATTED_MESSAGE));
+        when(TranslationConfig.getTemplate(eq(Message.SIZE_ERROR_FOR_COLLECTIONS_TOO_SHORT_FORMATTED_MESSAGE)))
+                .thenReturn(MessageTemplate.parse(SIZE_ERROR_FOR_COLLECTIONS_TOO_SHORT_FORMATTED_MESSAGE));
+        when(TranslationConfig.getTemplate(eq(Message.SIZE_ERROR_FOR_COLLECTIONS_TOO_LONG_FORMATTED_MESSAGE)))
+                .thenReturn(MessageTemplate.parse(SIZE_ERROR_FOR_COLLECTIONS_TOO_LONG_FORMATTED_MESSAGE));
     }
 
     @Test
@@ -103,6 +106,13 @@ public class SizeValidatorTest {
         assertFalse(sizeValidator.isCorrect("abcd", sizeWithMax));
     }
 
+    @Test
+    public void charSequenceSize() {
+        assertTrue(sizeValidator.isCorrect(new StringBuilder("ab"), sizeWithMinMax));
+        assertFalse(sizeValidator.isCorrect(new StringBuilder("abcd"), sizeWithMinMax));
+        assertFalse(sizeValidator.isCorrect(CharBuffer.wrap("abcd").subSequence(1, 1), sizeWithMin));
+    }
+
     @Test
     public void correctListSize() {
         List list = mock(ArrayList.class);
@@ -193,6 +203,43 @@ public class SizeValidatorTest {
         checkWrongSizeInUpperBoundary(new String[Collections.max(CORRECT_SIZES) + 1]);
     }
 
+    @Test
+    public void correctPrimitiveArraySize() {
+        for (Integer correctLength : CORRECT_SIZES) {
+            assertCorrectSize(new int[correctLength]);
+            assertCorrectSize(new byte[correctLength]);
+            assertCorrectSize(new double[correctLength]);
+        }
+    }
+
+    @Test
+    public void wrongPrimitiveArraySize() {
+        checkWrongSizeInLowerBoundary(new long[Collections.min(CORRECT_SIZES) - 1]);
+
+        checkWrongSizeInUpperBoundary(new char[Collections.max(CORRECT_SIZES) + 1]);
+    }
+
+    @Test
+    public void correctIterableSize() {
+        for (Integer correctSize : CORRECT_SIZES)
+            assertCorrectSize(FluentIterable.from(Collections.nCopies(correctSize, "a")));
+    }
+
+    @Test
+    public void wrongIterableSize() {
+        int tooSmallSize = Collections.min(CORRECT_SIZES) - 1;
+        checkWrongSizeInLowerBoundary(FluentIterable.from(Collections.nCopies(tooSmallSize, "a")));
+
+        int tooBigSize = Collections.max(CORRECT_SIZES) + 1;
+        checkWrongSizeInUpperBoundary(FluentIterable.from(Collections.nCopies(tooBigSize, "a")));
+    }
+
+    @Test
+    public void wrongConcurrentQueueSize() {
+        checkWrongSizeInUpperBoundary(new ConcurrentLinkedQueue<>(
+                Collections.nCopies(Collections.max(CORRECT_SIZES) + 1, "a")));
+    }
+
     @Test(expected = WrongFieldTypeException.class)
     public void wrongFieldType() {
         sizeValidator.isCorrect(2, sizeWithMinMax);
@@ -0,0 +1,155 @@
+package org.bitbucket.pablo127.gpigvalidator.constraint;
+
+import com.google.common.base.Predicate;
+import com.google.common.base.Predicates;
+import com.google.common.collect.Collections2;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.bitbucket.pablo127.gpigvalidator.exception.WrongFieldTypeException;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.junit.Assert.assertEquals;
+
+public class SizerTest {
+
+    @Test
+    public void sizerForDeclaredType() {
+        assertEquals(Sizer.CHAR_SEQUENCE, Sizer.forType(String.class));
+        assertEquals(Sizer.CHAR_SEQUENCE, Sizer.forType(StringBuilder.class));
+        assertEquals(Sizer.COLLECTION, Sizer.forType(Collection.class));
+        assertEquals(Sizer.COLLECTION, Sizer.forType(ArrayList.class));
+        assertEquals(Sizer.MAP, Sizer.forType(HashMap.class));
+        assertEquals(Sizer.OBJECT_ARRAY, Sizer.forType(String[].class));
+        assertEquals(Sizer.OBJECT_ARRAY, Sizer.forType(int[][].class));
+        assertEquals(Sizer.BOOLEAN_ARRAY, Sizer.forType(boolean[].class));
+        assertEquals(Sizer.BYTE_ARRAY, Sizer.forType(byte[].class));
+        assertEquals(Sizer.SHORT_ARRAY, Sizer.forType(short[].class));
+        assertEquals(Sizer.CHAR_ARRAY, Sizer.forType(char[].class));
+        assertEquals(Sizer.INT_ARRAY, Sizer.forType(int[].class));
+        assertEquals(Sizer.LONG_ARRAY, Sizer.forType(long[].class));
+        assertEquals(Sizer.FLOAT_ARRAY, Sizer.forType(float[].class));
+        assertEquals(Sizer.DOUBLE_ARRAY, Sizer.forType(double[].class));
+        assertEquals(Sizer.ANY, Sizer.forType(Object.class));
+        assertEquals(Sizer.ITERABLE, Sizer.forType(Iterable.class));
+    }
+
+    @Test
+    public void sizeOfValues() {
+        assertEquals(3, Sizer.CHAR_SEQUENCE.getSize("abc", 100));
+        assertEquals(2, Sizer.CHAR_SEQUENCE.getSize(new StringBuilder("ab"), 100));
+        assertEquals(2, Sizer.COLLECTION.getSize(Lists.newArrayList(1, 2), 100));
+        assertEquals(1, Sizer.MAP.getSize(ImmutableMap.of(1, 2), 100));
+        assertEquals(4, Sizer.OBJECT_ARRAY.getSize(new String[4], 100));
+        assertEquals(5, Sizer.BOOLEAN_ARRAY.getSize(new boolean[5], 100));
+        assertEquals(6, Sizer.BYTE_ARRAY.getSize(new byte[6], 100));
+        assertEquals(7, Sizer.SHORT_ARRAY.getSize(new short[7], 100));
+        assertEquals(8, Sizer.CHAR_ARRAY.getSize(new char[8], 100));
+        assertEquals(9, Sizer.INT_ARRAY.getSize(new int[9], 100));
+        assertEquals(10, Sizer.LONG_ARRAY.getSize(new long[10], 100));
+        assertEquals(11, Sizer.FLOAT_ARRAY.getSize(new float[11], 100));
+        assertEquals(12, Sizer.DOUBLE_ARRAY.getSize(new double[12], 100));
+    }
+
+    @Test
+    public void sizeOfAnyValue() {
+        List<Object> values = Lists.<Object>newArrayList("ab", Lists.newArrayList(1, 2), new long[2], new Object[2]);
+        for (Object value : values)
+            assertEquals(2, Sizer.ANY.getSize(value, 100));
+    }
+
+    @Test
+    public void sizeOfIterableCountedUpToMaxAndOne() {
+        CountingIterable iterable = new CountingIterable(10000000);
+
+        assertEquals(101, Sizer.ITERABLE.getSize(iterable, 100));
+        assertEquals(101, iterable.returnedElements);
+        assertEquals(5, Sizer.ITERABLE.getSize(new CountingIterable(5), 100));
+    }
+
+    @Test
+    public void sizeOfIterableWithoutMax() {
+        assertEquals(5, Sizer.ITERABLE.getSize(new CountingIterable(5), Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void sizeOfCollectionWithLinearSizeCounted() {
+        ConcurrentLinkedQueue<Integer> queue = new ConcurrentLinkedQueue<>(Collections.nCopies(1000, 1));
+
+        assertEquals(11, Sizer.COLLECTION.getSize(queue, 10));
+        assertEquals(1000, Sizer.COLLECTION.getSize(queue, 1000));
+        assertEquals(3, Sizer.ANY.getSize(new ConcurrentLinkedDeque<>(Arrays.asList(1, 2, 3, 4)), 2));
+    }
+
+    @Test
+    public void sizeOfFilteredViewCounted() {
+        Collection<Integer> evenNumbers = Collections2.filter(Collections.nCopies(1000, 2), new Predicate<Integer>() {
+            @Override
+            public boolean apply(Integer number) {
+                return number % 2 == 0;
+            }
+        });
+        Map<Integer, Integer> map =
+                Maps.filterKeys(ImmutableMap.of(1, 1, 2, 2, 3, 3), Predicates.<Integer>alwaysTrue());
+
+        assertEquals(11, Sizer.COLLECTION.getSize(evenNumbers, 10));
+        assertEquals(2, Sizer.MAP.getSize(map, 1));
+        assertEquals(3, Sizer.MAP.getSize(map, 5));
+    }
+
+    @Test
+    public void sizeOfCollectionWithCheapSizeNotCounted() {
+        List<Integer> list = new ArrayList<>(Collections.nCopies(1000, 1));
+
+        assertEquals(1000, Sizer.COLLECTION.getSize(list, 10));
+    }
+
+    @Test(expected = WrongFieldTypeException.class)
+    public void sizeOfValueWithoutSize() {
+        Sizer.ANY.getSize(2, 100);
+    }
+
+    private static class CountingIterable implements Iterable<Integer> {
+
+        private final int size;
+        private int returnedElements;
+
+        CountingIterable(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public Iterator<Integer> iterator() {
+            return new Iterator<Integer>() {
+                private int index;
+
+                @Override
+                public boolean hasNext() {
+                    return index < size;
+                }
+
+                @Override
+                public Integer next() {
+                    returnedElements++;
+                    return index++;
+                }
+
+                @Override
+                public void remove() {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+    }
+}
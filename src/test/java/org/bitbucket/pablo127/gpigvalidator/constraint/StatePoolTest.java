@@ -0,0 +1,104 @@
+package org.bitbucket.pablo127.gpigvalidator.constraint;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.*;
+
+public class StatePoolTest {
+
+    @Test
+    public void releasedStateIsReused() {
+        CountingPool pool = new CountingPool(2);
+
+        Object state = pool.acquire();
+        pool.release(state);
+
+        assertSame(state, pool.acquire());
+        assertEquals(1, pool.created);
+    }
+
+    @Test
+    public void acquiredStateIsNotShared() {
+        CountingPool pool = new CountingPool(2);
+
+        Object first = pool.acquire();
+        Object second = pool.acquire();
+
+        assertNotSame(first, second);
+        assertEquals(2, pool.created);
+    }
+
+    @Test
+    public void statesAboveSizeAreDropped() {
+        CountingPool pool = new CountingPool(2);
+        List<Object> states = new ArrayList<>();
+        for (int i = 0; i < 3; i++)
+            states.add(pool.acquire());
+        for (Object state : states)
+            pool.release(state);
+
+        for (int i = 0; i < 3; i++)
+            pool.acquire();
+
+        assertEquals(4, pool.created);
+    }
+
+    @Test
+    public void concurrentMatchesUseOwnStates() throws Exception {
+        final StatePool<StringBuilder> pool = new StatePool<StringBuilder>(2) {
+            @Override
+            protected StringBuilder create() {
+                return new StringBuilder();
+            }
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                final String text = String.valueOf(i);
+                results.add(executor.submit(new Callable<Boolean>() {
+                    @Override
+                    public Boolean call() {
+                        for (int j = 0; j < 10000; j++) {
+                            StringBuilder state = pool.acquire();
+                            state.append(text);
+                            boolean own = state.toString().equals(text);
+                            state.setLength(0);
+                            pool.release(state);
+                            if (!own)
+                                return false;
+                        }
+                        return true;
+                    }
+                }));
+            }
+
+            for (Future<Boolean> result : results)
+                assertTrue(result.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static class CountingPool extends StatePool<Object> {
+
+        private int created;
+
+        CountingPool(int size) {
+            super(size);
+        }
+
+        @Override
+        protected Object create() {
+            created++;
+            return new Object();
+        }
+    }
+}
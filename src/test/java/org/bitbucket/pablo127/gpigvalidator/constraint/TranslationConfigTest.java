@@ -46,6 +46,34 @@ public class TranslationConfigTest {
         assertLanguage(ENGLISH);
     }
 
+    @Test
+    public void preloadedLocale() {
+        TranslationConfig.preload(new Locale("pl", "PL"), new Locale("en", "US"));
+        TranslationConfig.changeLocale(new Locale("pl", "PL"));
+        assertLanguage("polski");
+    }
+
+    @Test
+    public void templateOfLocale() {
+        TranslationConfig.changeLocale(new Locale("en", "US"));
+        assertEquals(
+                "It should be at least 3 char long.",
+                TranslationConfig.getTemplate(Message.SIZE_ERROR_FOR_STRING_TOO_SHORT_FORMATTED_MESSAGE).format(3));
+    }
+
+    @Test
+    public void scopedLocale() {
+        TranslationConfig.changeLocale(new Locale("en", "US"));
+
+        try (TranslationConfig.LocaleScope ignored = TranslationConfig.useLocale(new Locale("pl", "PL"))) {
+            assertLanguage("polski");
+            try (TranslationConfig.LocaleScope ignoredInner = TranslationConfig.useLocale(null)) {
+                assertLanguage("polski");
+            }
+        }
+        assertLanguage(ENGLISH);
+    }
+
     private void assertLanguage(String expectedLanguage) {
         assertEquals(expectedLanguage, TranslationConfig.getTranslation(Message.LANGUAGE));
     }
@@ -0,0 +1,91 @@
+package org.bitbucket.pablo127.gpigvalidator.constraint;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class Utf8SequenceTest {
+
+    private static final int RANDOM_INPUTS = 100000;
+    private static final int MAX_RANDOM_LENGTH = 12;
+    private static final byte[] INTERESTING_BYTES = {
+            'a', '@', '.', 0x7F, (byte) 0x80, (byte) 0xBF, (byte) 0xC0, (byte) 0xC2, (byte) 0xDF, (byte) 0xE0,
+            (byte) 0xA0, (byte) 0xED, (byte) 0x9F, (byte) 0xEF, (byte) 0xF0, (byte) 0x90, (byte) 0xF4,
+            (byte) 0x8F, (byte) 0xF5, (byte) 0xFF};
+
+    @Test
+    public void asciiText() {
+        Utf8Sequence text = Utf8Sequence.of(bytes("a@as.pl"));
+
+        assertTrue(text.isAscii());
+        assertEquals(7, text.length());
+        assertEquals('@', text.charAt(1));
+        assertEquals("as", text.subSequence(2, 4).toString());
+        assertEquals("a@as.pl", text.toString());
+    }
+
+    @Test
+    public void textWithOtherCharacters() {
+        String value = "za\u017c\u00f3\u0142\u0107 \ud83d\ude00 \u20ac";
+        Utf8Sequence text = Utf8Sequence.of(bytes(value));
+
+        assertFalse(text.isAscii());
+        assertEquals(value.length(), text.length());
+        assertEquals('\u017c', text.charAt(2));
+        assertEquals(value.subSequence(7, 9), text.subSequence(7, 9));
+        assertEquals(value, text.toString());
+    }
+
+    @Test
+    public void remainingBytesOfBuffer() {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes("[a@as.pl]"));
+        buffer.position(1);
+        buffer.limit(8);
+
+        Utf8Sequence text = Utf8Sequence.of(buffer.slice());
+
+        assertEquals("a@as.pl", text.toString());
+        assertEquals("a@as.pl", Utf8Sequence.of(buffer).toString());
+        assertEquals(1, buffer.position());
+    }
+
+    @Test
+    public void directBuffer() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(16);
+        buffer.put(bytes("\u0142\u00f3d\u017a"));
+        buffer.flip();
+
+        Utf8Sequence text = Utf8Sequence.of(buffer);
+
+        assertEquals(4, text.length());
+        assertEquals("\u0142\u00f3d\u017a", text.toString());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void charAfterEnd() {
+        Utf8Sequence.of(bytes("ab")).charAt(2);
+    }
+
+    @Test
+    public void sameLengthAsDecodedStringForRandomBytes() {
+        Random random = new Random(127);
+        for (int i = 0; i < RANDOM_INPUTS; i++) {
+            byte[] bytes = new byte[random.nextInt(MAX_RANDOM_LENGTH)];
+            for (int j = 0; j < bytes.length; j++)
+                bytes[j] = INTERESTING_BYTES[random.nextInt(INTERESTING_BYTES.length)];
+
+            String decoded = new String(bytes, StandardCharsets.UTF_8);
+            Utf8Sequence text = Utf8Sequence.of(bytes);
+            assertEquals("Different length of " + decoded, decoded.length(), text.length());
+            assertEquals(decoded, text.toString());
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,57 @@
+package org.bitbucket.pablo127.gpigvalidator.exception;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ValidationExceptionConfigTest {
+
+    @After
+    public void tearDown() {
+        ValidationExceptionConfig.changeStackless(false);
+    }
+
+    @Test
+    public void stackTraceByDefault() {
+        assertFalse(ValidationExceptionConfig.isStackless(ValidationException.class));
+        assertTrue(new ValidationException("message").getStackTrace().length > 0);
+    }
+
+    @Test
+    public void stacklessClass() {
+        assertTrue(ValidationExceptionConfig.isStackless(StacklessValidationException.class));
+        assertEquals(0, new StacklessValidationException("message").getStackTrace().length);
+    }
+
+    @Test
+    public void stacklessSubclass() {
+        assertEquals(0, new StacklessSubclassValidationException("message").getStackTrace().length);
+    }
+
+    @Test
+    public void allStackless() {
+        ValidationExceptionConfig.changeStackless(true);
+
+        assertTrue(ValidationExceptionConfig.isStackless(ValidationException.class));
+        assertEquals(0, new ValidationException("message").getStackTrace().length);
+    }
+
+    @Test
+    public void messageOfStacklessException() {
+        assertEquals("message", new StacklessValidationException("message").getMessage());
+    }
+
+    @Stackless
+    private static class StacklessValidationException extends ValidationException {
+        StacklessValidationException(String message) {
+            super(message);
+        }
+    }
+
+    private static class StacklessSubclassValidationException extends StacklessValidationException {
+        StacklessSubclassValidationException(String message) {
+            super(message);
+        }
+    }
+}